@@ -2,8 +2,12 @@ package com.ricardo.minhasfinancas;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// o R2DBC é só do caminho reativo: um ConnectionFactory automático tiraria o DataSource do JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class MinhasfinancasApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(MinhasfinancasApplication.class, args);
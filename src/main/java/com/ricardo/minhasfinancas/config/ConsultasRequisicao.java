@@ -0,0 +1,68 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Comandos SQL de uma requisição: quantos foram, o tempo de execução somado e
+ * o mais lento. No modo de diagnóstico guarda também quantas vezes cada comando
+ * se repetiu, o que denuncia um N+1 (o mesmo select disparado para cada item
+ * de uma lista).
+ */
+public class ConsultasRequisicao {
+	// null fora do modo de diagnóstico: guardar o texto de cada comando tem custo
+	private final Map<String, Integer> repeticoes;
+	private int comandos;
+	private long nanos;
+	private String ultimo;
+	private String maisLento;
+	private long nanosMaisLento;
+
+	ConsultasRequisicao(boolean detalhada) {
+		this.repeticoes = detalhada ? new HashMap<>() : null;
+	}
+
+	void registrar(String sql) {
+		comandos++;
+		ultimo = sql;
+		if (repeticoes != null)
+			repeticoes.merge(sql, 1, Integer::sum);
+	}
+
+	void registrarExecucao(long duracao) {
+		nanos += duracao;
+		if (duracao > nanosMaisLento) {
+			nanosMaisLento = duracao;
+			maisLento = ultimo;
+		}
+	}
+
+	public int getComandos() {
+		return comandos;
+	}
+
+	public Duration getTempo() {
+		return Duration.ofNanos(nanos);
+	}
+
+	public Duration getTempoMaisLento() {
+		return Duration.ofNanos(nanosMaisLento);
+	}
+
+	public String getMaisLento() {
+		return maisLento;
+	}
+
+	public Optional<Map.Entry<String, Integer>> obterMaisRepetido() {
+		if (repeticoes == null)
+			return Optional.empty();
+		return repeticoes.entrySet().stream().max(Map.Entry.comparingByValue());
+	}
+
+	public Map<String, Integer> getRepeticoes() {
+		return repeticoes == null ? Collections.emptyMap() : Collections.unmodifiableMap(repeticoes);
+	}
+}
@@ -0,0 +1,47 @@
+package com.ricardo.minhasfinancas.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registra os comandos SQL preparados pelo Hibernate na thread atual, entre
+ * {@link #iniciar()} e {@link #encerrar()}. Fora desse intervalo (jobs, fila de
+ * status, exportação em outra thread) não registra nada.
+ */
+public class ContadorSql implements StatementInspector {
+	private static final long serialVersionUID = 1L;
+
+	// estático: o TempoExecucaoSql é criado pelo Hibernate a cada sessão, sem acesso a este bean
+	private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+
+	private final boolean detalhado;
+
+	public ContadorSql(boolean detalhado) {
+		this.detalhado = detalhado;
+	}
+
+	public ConsultasRequisicao iniciar() {
+		ConsultasRequisicao consultas = new ConsultasRequisicao(detalhado);
+		ATUAL.set(consultas);
+		return consultas;
+	}
+
+	public ConsultasRequisicao encerrar() {
+		ConsultasRequisicao consultas = ATUAL.get();
+		ATUAL.remove();
+		return consultas == null ? new ConsultasRequisicao(false) : consultas;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		ConsultasRequisicao consultas = ATUAL.get();
+		if (consultas != null)
+			consultas.registrar(sql);
+		return sql;
+	}
+
+	static void registrarExecucao(long nanos) {
+		ConsultasRequisicao consultas = ATUAL.get();
+		if (consultas != null)
+			consultas.registrarExecucao(nanos);
+	}
+}
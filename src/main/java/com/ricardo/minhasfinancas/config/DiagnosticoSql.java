@@ -0,0 +1,97 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.ricardo.minhasfinancas.rest.dto.OcorrenciaSqlDTO;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Confere os comandos SQL de cada requisição contra o orçamento configurado:
+ * total de comandos, tempo somado, repetições do mesmo comando (N+1) e o
+ * comando mais lento. Cada estouro vira log, contador
+ * {@code minhasfinancas.sql.excessos} e uma entrada na lista das últimas
+ * ocorrências.
+ */
+@Slf4j
+public class DiagnosticoSql {
+	static final String COMANDOS = "comandos";
+	static final String TEMPO = "tempo";
+	static final String N_MAIS_UM = "n-mais-um";
+	static final String COMANDO_LENTO = "comando-lento";
+	private static final int MAXIMO_OCORRENCIAS = 100;
+
+	private final MeterRegistry registry;
+	private final int maximoComandos;
+	private final Duration tempoMaximo;
+	private final int maximoRepeticoes;
+	private final Duration comandoLento;
+	private final Deque<OcorrenciaSqlDTO> ocorrencias = new ArrayDeque<>();
+
+	public DiagnosticoSql(MeterRegistry registry, int maximoComandos, Duration tempoMaximo, int maximoRepeticoes,
+			Duration comandoLento) {
+		this.registry = registry;
+		this.maximoComandos = maximoComandos;
+		this.tempoMaximo = tempoMaximo;
+		this.maximoRepeticoes = maximoRepeticoes;
+		this.comandoLento = comandoLento;
+	}
+
+	public void registrar(String metodo, String uri, ConsultasRequisicao consultas) {
+		DistributionSummary.builder("minhasfinancas.sql.requisicao").description("Comandos SQL executados por requisição")
+				.baseUnit("comandos").tags("method", metodo, "uri", uri)
+				.serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100).register(registry).record(consultas.getComandos());
+		Timer.builder("minhasfinancas.sql.tempo.requisicao").description("Tempo de SQL somado por requisição")
+				.tags("method", metodo, "uri", uri).register(registry).record(consultas.getTempo());
+
+		Optional<Map.Entry<String, Integer>> maisRepetido = consultas.obterMaisRepetido();
+		List<String> motivos = new ArrayList<>();
+		if (consultas.getComandos() > maximoComandos)
+			motivos.add(COMANDOS);
+		if (consultas.getTempo().compareTo(tempoMaximo) > 0)
+			motivos.add(TEMPO);
+		if (maisRepetido.isPresent() && maisRepetido.get().getValue() > maximoRepeticoes)
+			motivos.add(N_MAIS_UM);
+		if (consultas.getTempoMaisLento().compareTo(comandoLento) > 0)
+			motivos.add(COMANDO_LENTO);
+
+		if (motivos.isEmpty())
+			return;
+
+		for (String motivo : motivos)
+			registry.counter("minhasfinancas.sql.excessos", "method", metodo, "uri", uri, "motivo", motivo).increment();
+
+		OcorrenciaSqlDTO ocorrencia = OcorrenciaSqlDTO.builder().instante(Instant.now()).metodo(metodo).uri(uri)
+				.motivos(motivos).comandos(consultas.getComandos()).tempoMs(consultas.getTempo().toMillis())
+				.comandoMaisRepetido(maisRepetido.map(Map.Entry::getKey).orElse(null))
+				.repeticoes(maisRepetido.map(Map.Entry::getValue).orElse(0))
+				.comandoMaisLento(consultas.getMaisLento()).tempoMaisLentoMs(consultas.getTempoMaisLento().toMillis())
+				.build();
+		log.warn("Orçamento de SQL excedido em {} {} ({}): {} comandos em {} ms; mais repetido {}x: {}", metodo, uri,
+				motivos, ocorrencia.getComandos(), ocorrencia.getTempoMs(), ocorrencia.getRepeticoes(),
+				ocorrencia.getComandoMaisRepetido());
+
+		synchronized (ocorrencias) {
+			if (ocorrencias.size() == MAXIMO_OCORRENCIAS)
+				ocorrencias.removeLast();
+			ocorrencias.addFirst(ocorrencia);
+		}
+	}
+
+	/** As últimas ocorrências, da mais recente para a mais antiga. */
+	public List<OcorrenciaSqlDTO> obterOcorrencias() {
+		synchronized (ocorrencias) {
+			return new ArrayList<>(ocorrencias);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Acompanha os comandos SQL de cada requisição e entrega ao
+ * {@link DiagnosticoSql}, por método e padrão de URI (o mesmo {@code uri} de
+ * {@code http.server.requests}). O resultado fica no atributo
+ * {@link #CONSULTAS} da requisição.
+ */
+public class FiltroContagemSql extends OncePerRequestFilter {
+	public static final String CONSULTAS = "minhasfinancas.consultas";
+
+	private final ContadorSql contadorSql;
+	private final DiagnosticoSql diagnosticoSql;
+
+	public FiltroContagemSql(ContadorSql contadorSql, DiagnosticoSql diagnosticoSql) {
+		this.contadorSql = contadorSql;
+		this.diagnosticoSql = diagnosticoSql;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		contadorSql.iniciar();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ConsultasRequisicao consultas = contadorSql.encerrar();
+			request.setAttribute(CONSULTAS, consultas);
+			Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			diagnosticoSql.registrar(request.getMethod(), padrao == null ? "UNKNOWN" : padrao.toString(), consultas);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limita as requisições da API em andamento. Com threads virtuais o Tomcat não
+ * limita mais nada e todas disputariam as conexões do pool até estourar o
+ * tempo de espera do Hikari; aqui o excesso espera numa fila justa e, passado
+ * o limite, recebe 503 com {@code Retry-After} na hora.
+ */
+public class FiltroLimiteConcorrencia extends OncePerRequestFilter {
+	private final Semaphore vagas;
+	private final int limite;
+	private final Duration esperaMaxima;
+	private final LongAdder recusadas = new LongAdder();
+
+	public FiltroLimiteConcorrencia(int limite, Duration esperaMaxima) {
+		this.vagas = new Semaphore(limite, true);
+		this.limite = limite;
+		this.esperaMaxima = esperaMaxima;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		boolean admitida;
+		try {
+			admitida = vagas.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			admitida = false;
+		}
+
+		if (!admitida) {
+			recusadas.increment();
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+					"Servidor ocupado, tente novamente em instantes.");
+			return;
+		}
+
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			vagas.release();
+		}
+	}
+
+	public int getLimite() {
+		return limite;
+	}
+
+	public int getEmAndamento() {
+		return limite - vagas.availablePermits();
+	}
+
+	public int getAguardando() {
+		return vagas.getQueueLength();
+	}
+
+	public long getRecusadas() {
+		return recusadas.sum();
+	}
+}
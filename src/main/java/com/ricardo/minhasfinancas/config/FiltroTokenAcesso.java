@@ -0,0 +1,87 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
+
+/**
+ * Valida o token do cabeçalho {@code Authorization: Bearer} sem acessar a base
+ * e deixa o id do usuário no atributo {@link #USUARIO} e em
+ * {@link UsuarioAutenticado}. Token inválido ou expirado é recusado com 401,
+ * e também a falta dele fora das rotas públicas. Com
+ * {@code minhasfinancas.token.obrigatorio} desligado, só para a migração de
+ * clientes antigos, a requisição sem token segue e o parâmetro usuario das
+ * rotas não é conferido.
+ */
+@Component
+public class FiltroTokenAcesso extends OncePerRequestFilter {
+	public static final String USUARIO = "minhasfinancas.usuario";
+	private static final String BEARER = "Bearer ";
+
+	private final TokenAcesso tokenAcesso;
+	private final boolean obrigatorio;
+
+	public FiltroTokenAcesso(TokenAcesso tokenAcesso,
+			@Value("${minhasfinancas.token.obrigatorio:true}") boolean obrigatorio) {
+		this.tokenAcesso = tokenAcesso;
+		this.obrigatorio = obrigatorio;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (autorizacao == null || !autorizacao.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+			if (obrigatorio && !publica(request)) {
+				recusar(response, "Bearer");
+				return;
+			}
+			chain.doFilter(request, response);
+			return;
+		}
+
+		Optional<Long> usuario = tokenAcesso.validar(autorizacao.substring(BEARER.length()).trim());
+		if (!usuario.isPresent()) {
+			recusar(response, "Bearer error=\"invalid_token\"");
+			return;
+		}
+
+		request.setAttribute(USUARIO, usuario.get());
+		UsuarioAutenticado.definir(usuario.get());
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			UsuarioAutenticado.limpar();
+		}
+	}
+
+	/** Cadastro, login, o preflight do CORS e a coleta de métricas não têm token. */
+	private static boolean publica(HttpServletRequest request) {
+		if (HttpMethod.OPTIONS.matches(request.getMethod()))
+			return true;
+
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		if (HttpMethod.GET.matches(request.getMethod()) && caminho.startsWith("/actuator/"))
+			return true;
+		return HttpMethod.POST.matches(request.getMethod())
+				&& (caminho.equals("/api/usuarios") || caminho.equals("/api/usuarios/autenticar"));
+	}
+
+	private static void recusar(HttpServletResponse response, String desafio) throws IOException {
+		response.setHeader(HttpHeaders.WWW_AUTHENTICATE, desafio);
+		response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token de acesso inválido ou ausente.");
+	}
+}
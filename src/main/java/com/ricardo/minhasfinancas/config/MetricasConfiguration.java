@@ -0,0 +1,77 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+import com.ricardo.minhasfinancas.service.seguranca.CodificadorSenha;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Métricas próprias, expostas junto com as do Spring Boot em
+ * {@code /actuator/prometheus}. Latência por endpoint, pool de conexões e cache
+ * de segundo nível já vêm do Boot ({@code http.server.requests},
+ * {@code hikaricp.*}, {@code hibernate.*}).
+ */
+@Configuration
+public class MetricasConfiguration {
+	@Bean
+	public ContadorSql contadorSql(@Value("${minhasfinancas.sql.diagnostico:false}") boolean diagnostico) {
+		return new ContadorSql(diagnostico);
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer inspetorSql(ContadorSql contadorSql,
+			@Value("${minhasfinancas.sql.diagnostico:false}") boolean diagnostico) {
+		return propriedades -> {
+			propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorSql);
+			if (diagnostico)
+				propriedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TempoExecucaoSql.class.getName());
+		};
+	}
+
+	@Bean
+	public DiagnosticoSql diagnosticoSql(MeterRegistry registry,
+			@Value("${minhasfinancas.sql.orcamento.comandos:20}") int maximoComandos,
+			@Value("${minhasfinancas.sql.orcamento.tempo:500ms}") Duration tempoMaximo,
+			@Value("${minhasfinancas.sql.orcamento.repeticoes:5}") int maximoRepeticoes,
+			@Value("${minhasfinancas.sql.orcamento.comando-lento:200ms}") Duration comandoLento) {
+		return new DiagnosticoSql(registry, maximoComandos, tempoMaximo, maximoRepeticoes, comandoLento);
+	}
+
+	@Bean
+	public FilterRegistrationBean<FiltroContagemSql> filtroContagemSql(ContadorSql contadorSql,
+			DiagnosticoSql diagnosticoSql) {
+		FilterRegistrationBean<FiltroContagemSql> registro = new FilterRegistrationBean<>(
+				new FiltroContagemSql(contadorSql, diagnosticoSql));
+		registro.addUrlPatterns("/api/*");
+		return registro;
+	}
+
+	@Bean
+	public MetricasServicos metricasServicos(MeterRegistry registry) {
+		return new MetricasServicos(registry);
+	}
+
+	@Bean
+	public MeterBinder metricasCacheSaldo(SaldoCache saldoCache) {
+		return registry -> CaffeineCacheMetrics.monitor(registry, saldoCache.getCache(), "saldo-usuario");
+	}
+
+	@Bean
+	public MeterBinder metricasVerificacaoSenha(CodificadorSenha codificadorSenha) {
+		return registry -> new ExecutorServiceMetrics(codificadorSenha.getExecutor(), "verificacao-senha",
+				Tags.empty()).bindTo(registry);
+	}
+}
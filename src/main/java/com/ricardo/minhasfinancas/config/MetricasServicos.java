@@ -0,0 +1,43 @@
+package com.ricardo.minhasfinancas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Tempo e contagem de chamadas de cada método de {@code LancamentoService} e
+ * {@code UsuarioService}, com a exceção lançada como tag. O {@code TimedAspect}
+ * do Micrometer só atende {@code @Timed} em método, e anotar um a um deixaria
+ * métodos novos de fora.
+ */
+@Aspect
+public class MetricasServicos {
+	static final String METRICA = "minhasfinancas.servico";
+
+	private final MeterRegistry registry;
+
+	public MetricasServicos(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("execution(* com.ricardo.minhasfinancas.service.LancamentoService.*(..)) "
+			+ "|| execution(* com.ricardo.minhasfinancas.service.UsuarioService.*(..))")
+	public Object medir(ProceedingJoinPoint chamada) throws Throwable {
+		Timer.Sample amostra = Timer.start(registry);
+		String excecao = "none";
+		try {
+			return chamada.proceed();
+		} catch (Throwable e) {
+			excecao = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			amostra.stop(Timer.builder(METRICA).description("Chamadas aos serviços de lançamento e usuário")
+					.tags("class", chamada.getSignature().getDeclaringType().getSimpleName(), "method",
+							chamada.getSignature().getName(), "exception", excecao)
+					.register(registry));
+		}
+	}
+}
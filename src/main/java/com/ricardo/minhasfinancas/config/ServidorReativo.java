@@ -0,0 +1,56 @@
+package com.ricardo.minhasfinancas.config;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Reactor Netty numa porta própria, ao lado do Tomcat, com poucas threads de
+ * event loop. As métricas saem como {@code reactor.netty.http.server.*}, com
+ * os ids do caminho trocados por {@code {id}}.
+ */
+@Slf4j
+public class ServidorReativo implements SmartLifecycle {
+	private final HttpHandler handler;
+	private final int porta;
+	private final int threads;
+	private LoopResources loops;
+	private volatile DisposableServer servidor;
+
+	public ServidorReativo(HttpHandler handler, int porta, int threads) {
+		this.handler = handler;
+		this.porta = porta;
+		this.threads = threads;
+	}
+
+	@Override
+	public void start() {
+		loops = LoopResources.create("minhasfinancas-reativo", threads, true);
+		servidor = HttpServer.create().port(porta).runOn(loops).compress(2048)
+				.metrics(true, uri -> uri.replaceAll("/\\d+", "/{id}")).handle(new ReactorHttpHandlerAdapter(handler))
+				.bindNow();
+		log.info("Servidor reativo na porta {} com {} threads de event loop", servidor.port(), threads);
+	}
+
+	@Override
+	public void stop() {
+		servidor.disposeNow();
+		loops.disposeLater().block();
+		servidor = null;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return servidor != null;
+	}
+
+	/** A porta de fato, útil quando a configurada é 0. */
+	public int getPorta() {
+		return servidor.port();
+	}
+}
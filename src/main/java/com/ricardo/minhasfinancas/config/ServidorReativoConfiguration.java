@@ -0,0 +1,85 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ricardo.minhasfinancas.model.repository.IndiceLancamentos;
+import com.ricardo.minhasfinancas.model.repository.LeituraReativaRepository;
+import com.ricardo.minhasfinancas.rest.reativo.FiltroTokenReativo;
+import com.ricardo.minhasfinancas.rest.reativo.LeituraReativaControler;
+import com.ricardo.minhasfinancas.service.LancamentoService;
+import com.ricardo.minhasfinancas.service.SaldoUsuarioService;
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+import com.ricardo.minhasfinancas.service.cache.UsuariosCadastrados;
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * Caminho de leitura reativo (WebFlux + R2DBC) para saldo, resumo do usuário e
+ * listagem de lançamentos, ligado quando {@code minhasfinancas.reativo.porta}
+ * não é negativa. A aplicação continua servlet: as rotas funcionais rodam num
+ * {@link ServidorReativo} à parte, com o mesmo {@link ObjectMapper} e a mesma
+ * validação de token.
+ */
+@Configuration
+@ConditionalOnExpression("${minhasfinancas.reativo.porta:-1} >= 0")
+public class ServidorReativoConfiguration {
+	@Bean
+	public LeituraReativaRepository leituraReativaRepository(@Value("${minhasfinancas.reativo.r2dbc.url}") String url,
+			@Value("${minhasfinancas.reativo.r2dbc.username:}") String usuario,
+			@Value("${minhasfinancas.reativo.r2dbc.password:}") String senha,
+			@Value("${minhasfinancas.reativo.r2dbc.pool.tamanho-maximo:20}") int tamanhoMaximo,
+			@Value("${minhasfinancas.reativo.r2dbc.pool.espera-maxima:3s}") Duration esperaMaxima,
+			IndiceLancamentos indiceLancamentos) {
+		ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(url).mutate()
+				.option(ConnectionFactoryOptions.USER, usuario).option(ConnectionFactoryOptions.PASSWORD, senha).build();
+		return new LeituraReativaRepository(ConnectionFactories.get(opcoes), tamanhoMaximo, esperaMaxima,
+				indiceLancamentos);
+	}
+
+	@Bean
+	public MeterBinder metricasPoolReativo(LeituraReativaRepository leituraReativaRepository) {
+		PoolMetrics pool = leituraReativaRepository.obterMetricasPool();
+		return registry -> {
+			Gauge.builder("minhasfinancas.r2dbc.conexoes.em.uso", pool, PoolMetrics::acquiredSize).register(registry);
+			Gauge.builder("minhasfinancas.r2dbc.conexoes.ociosas", pool, PoolMetrics::idleSize).register(registry);
+			Gauge.builder("minhasfinancas.r2dbc.conexoes.aguardando", pool, PoolMetrics::pendingAcquireSize)
+					.register(registry);
+		};
+	}
+
+	@Bean
+	public ServidorReativo servidorReativo(LeituraReativaRepository leituraReativaRepository,
+			UsuariosCadastrados usuariosCadastrados, SaldoCache saldoCache, SaldoUsuarioService saldoUsuarioService,
+			LancamentoService lancamentoService, TokenAcesso tokenAcesso, ObjectMapper objectMapper,
+			@Value("${minhasfinancas.reativo.porta}") int porta,
+			@Value("${minhasfinancas.reativo.threads:0}") int threads,
+			@Value("${minhasfinancas.token.obrigatorio:true}") boolean tokenObrigatorio,
+			@Value("${minhasfinancas.lancamentos.tamanho-maximo-pagina:500}") int tamanhoMaximoPagina) {
+		LeituraReativaControler controler = new LeituraReativaControler(leituraReativaRepository, usuariosCadastrados,
+				saldoCache, saldoUsuarioService, lancamentoService, tamanhoMaximoPagina);
+		HandlerStrategies estrategias = HandlerStrategies.builder().codecs(codecs -> {
+			codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+			codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+		}).build();
+
+		return new ServidorReativo(
+				RouterFunctions.toHttpHandler(controler.rotas(new FiltroTokenReativo(tokenAcesso, tokenObrigatorio)),
+						estrategias),
+				porta, threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+	}
+}
@@ -0,0 +1,34 @@
+package com.ricardo.minhasfinancas.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Mede a execução de cada comando na sessão e soma na requisição em andamento.
+ * Registrado só no modo de diagnóstico, pelo nome da classe: o Hibernate cria
+ * uma instância por sessão, então o início pode ficar num campo simples.
+ */
+public class TempoExecucaoSql extends BaseSessionEventListener {
+	private static final long serialVersionUID = 1L;
+
+	private long inicio;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		inicio = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		ContadorSql.registrarExecucao(System.nanoTime() - inicio);
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		inicio = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		ContadorSql.registrarExecucao(System.nanoTime() - inicio);
+	}
+}
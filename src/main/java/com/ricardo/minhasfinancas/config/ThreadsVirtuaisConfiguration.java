@@ -0,0 +1,53 @@
+package com.ricardo.minhasfinancas.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Modo de threads virtuais ({@code spring.threads.virtual.enabled=true}, ligado
+ * pelo perfil {@code virtual}). A concorrência passa a ser limitada pelo pool de
+ * conexões, então as requisições admitidas são proporcionais a ele:
+ * {@code minhasfinancas.concorrencia.requisicoes-por-conexao} por conexão.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfiguration {
+	@Bean
+	public FilterRegistrationBean<FiltroLimiteConcorrencia> filtroLimiteConcorrencia(
+			@Value("${spring.datasource.hikari.maximum-pool-size:10}") int conexoes,
+			@Value("${minhasfinancas.concorrencia.requisicoes-por-conexao:4}") int requisicoesPorConexao,
+			@Value("${minhasfinancas.concorrencia.espera-maxima:1s}") Duration esperaMaxima) {
+		FilterRegistrationBean<FiltroLimiteConcorrencia> registro = new FilterRegistrationBean<>(
+				new FiltroLimiteConcorrencia(conexoes * requisicoesPorConexao, esperaMaxima));
+		registro.addUrlPatterns("/api/*");
+		// antes dos demais filtros: uma requisição recusada não deve custar nada
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registro;
+	}
+
+	@Bean
+	public MeterBinder metricasLimiteConcorrencia(FilterRegistrationBean<FiltroLimiteConcorrencia> registro) {
+		FiltroLimiteConcorrencia filtro = registro.getFilter();
+		return registry -> {
+			Gauge.builder("minhasfinancas.concorrencia.limite", filtro, FiltroLimiteConcorrencia::getLimite)
+					.register(registry);
+			Gauge.builder("minhasfinancas.concorrencia.em.andamento", filtro, FiltroLimiteConcorrencia::getEmAndamento)
+					.register(registry);
+			Gauge.builder("minhasfinancas.concorrencia.aguardando", filtro, FiltroLimiteConcorrencia::getAguardando)
+					.register(registry);
+			FunctionCounter.builder("minhasfinancas.concorrencia.recusadas", filtro,
+					FiltroLimiteConcorrencia::getRecusadas).register(registry);
+		};
+	}
+}
@@ -1,15 +1,19 @@
 package com.ricardo.minhasfinancas.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.ricardo.minhasfinancas.rest.LancamentoControler;
+
 @EnableWebMvc
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
-		registry.addMapping("/**").allowedMethods("GET", "POST", "DELETE", "PUT", "OPTIONS");
+		registry.addMapping("/**").allowedMethods("GET", "POST", "DELETE", "PUT", "PATCH", "OPTIONS").exposedHeaders(
+				LancamentoControler.PROXIMO_CURSOR, HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER);
 	}
 }
@@ -0,0 +1,9 @@
+package com.ricardo.minhasfinancas.exception;
+
+public class AcessoNegadoException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public AcessoNegadoException(String msg) {
+		super(msg);
+	}
+}
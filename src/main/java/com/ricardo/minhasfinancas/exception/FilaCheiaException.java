@@ -0,0 +1,9 @@
+package com.ricardo.minhasfinancas.exception;
+
+public class FilaCheiaException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public FilaCheiaException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,52 @@
+package com.ricardo.minhasfinancas.job;
+
+import java.time.Year;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * No PostgreSQL, garante as partições de financas.lancamento do ano corrente
+ * e do seguinte, para que os lançamentos novos não se acumulem na partição
+ * padrão. No H2 a tabela não é particionada e não há o que fazer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParticaoLancamentoJob {
+	private final JdbcTemplate jdbcTemplate;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void criarAoIniciar() {
+		criarParticoes();
+	}
+
+	@Scheduled(cron = "${minhasfinancas.particoes.cron:-}")
+	public void agendado() {
+		criarParticoes();
+	}
+
+	public void criarParticoes() {
+		if (!postgres())
+			return;
+
+		int atual = Year.now().getValue();
+		for (int ano = atual; ano <= atual + 1; ano++) {
+			jdbcTemplate.execute("select financas.criar_particao_lancamento(" + ano + ")");
+		}
+		log.info("Partições de lançamentos garantidas até {}.", atual + 1);
+	}
+
+	private boolean postgres() {
+		String banco = jdbcTemplate
+				.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+		return "PostgreSQL".equalsIgnoreCase(banco);
+	}
+}
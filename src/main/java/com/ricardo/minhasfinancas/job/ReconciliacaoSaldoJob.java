@@ -0,0 +1,70 @@
+package com.ricardo.minhasfinancas.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
+import com.ricardo.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.rest.dto.DivergenciaSaldoDTO;
+import com.ricardo.minhasfinancas.service.SaldoUsuarioService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reconstrói a tabela saldo_usuario a partir dos lançamentos. Na subida, se
+ * ela estiver vazia, a reconstrução roda antes de os servidores começarem a
+ * aceitar requisições: gravações concorrentes acumulariam sobre um saldo que
+ * ainda está sendo refeito.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliacaoSaldoJob implements SmartInitializingSingleton {
+	private final SaldoUsuarioService saldoUsuarioService;
+	private final UsuarioRepository usuarioRepository;
+	private final SaldoUsuarioRepository saldoUsuarioRepository;
+	private final LancamentoRepository lancamentoRepository;
+
+	@Value("${minhasfinancas.saldo.reconstruir-na-subida:true}")
+	private boolean reconstruirNaSubida;
+
+	// depois de todos os beans prontos e antes do início dos servidores (SmartLifecycle)
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (reconstruirNaSubida)
+			reconstruirSeVazio();
+	}
+
+	public void reconstruirSeVazio() {
+		if (saldoUsuarioRepository.count() == 0 && lancamentoRepository.count() > 0) {
+			log.info("Tabela saldo_usuario vazia, reconstruindo a partir dos lançamentos.");
+			reconciliar();
+		}
+	}
+
+	@Scheduled(cron = "${minhasfinancas.saldo.reconciliacao.cron:-}")
+	public void agendado() {
+		reconciliar();
+	}
+
+	public List<DivergenciaSaldoDTO> reconciliar() {
+		List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+		for (Long idUsuario : usuarioRepository.obterIds()) {
+			divergencias.addAll(saldoUsuarioService.reconciliar(idUsuario));
+		}
+
+		if (divergencias.isEmpty()) {
+			log.info("Reconciliação de saldos concluída sem divergências.");
+		} else {
+			log.warn("Reconciliação de saldos corrigiu {} divergência(s): {}", divergencias.size(), divergencias);
+		}
+		return divergencias;
+	}
+}
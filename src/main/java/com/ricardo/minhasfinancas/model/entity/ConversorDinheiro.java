@@ -0,0 +1,21 @@
+package com.ricardo.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** Grava o {@link Dinheiro} na coluna {@code numeric(18, 2)}, com as duas casas. */
+@Converter
+public class ConversorDinheiro implements AttributeConverter<Dinheiro, BigDecimal> {
+
+	@Override
+	public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+		return valor == null ? null : valor.toBigDecimal();
+	}
+
+	@Override
+	public Dinheiro convertToEntityAttribute(BigDecimal valor) {
+		return Dinheiro.de(valor);
+	}
+}
@@ -0,0 +1,100 @@
+package com.ricardo.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Valor monetário em centavos num {@code long}, para as agregações em memória:
+ * somar é uma adição de inteiros, sem alocar um {@link BigDecimal} a cada
+ * parcela. Nas pontas (banco e JSON) continua sendo um decimal de duas casas;
+ * a coluna {@code numeric(18, 2)} cabe inteira num {@code long} de centavos.
+ * Não é um {@link Number}: os conversores de {@code Number} truncariam os
+ * centavos; o valor sai só como centavos ou como {@link BigDecimal}.
+ */
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public static final Dinheiro ZERO = new Dinheiro(0);
+
+	private final long centavos;
+
+	private Dinheiro(long centavos) {
+		this.centavos = centavos;
+	}
+
+	public static Dinheiro deCentavos(long centavos) {
+		return centavos == 0 ? ZERO : new Dinheiro(centavos);
+	}
+
+	@JsonCreator
+	public static Dinheiro de(BigDecimal valor) {
+		return valor == null ? null : deCentavos(centavos(valor));
+	}
+
+	/**
+	 * Centavos do valor, arredondando como o banco ao gravar numa coluna de duas
+	 * casas. Com até duas casas e até 13 dígitos inteiros (o que vem do banco) o
+	 * {@code doubleValue} é exato o bastante para voltar aos centavos sem erro e
+	 * não aloca; fora disso passa pelo {@code setScale}.
+	 */
+	public static long centavos(BigDecimal valor) {
+		int escala = valor.scale();
+		if (escala >= 0 && escala <= 2 && valor.precision() - escala <= 13)
+			return Math.round(valor.doubleValue() * 100);
+		return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+	public static BigDecimal decimal(long centavos) {
+		return BigDecimal.valueOf(centavos, 2);
+	}
+
+	public long getCentavos() {
+		return centavos;
+	}
+
+	public Dinheiro mais(Dinheiro outro) {
+		return deCentavos(Math.addExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro menos(Dinheiro outro) {
+		return deCentavos(Math.subtractExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro negativo() {
+		return deCentavos(Math.negateExact(centavos));
+	}
+
+	/**
+	 * No JSON sai como o {@link BigDecimal} de duas casas que a API sempre
+	 * devolveu. O nome segue a convenção de conversão do Spring, usada pelas
+	 * projeções de repositório que declaram {@code BigDecimal}.
+	 */
+	@JsonValue
+	public BigDecimal toBigDecimal() {
+		return decimal(centavos);
+	}
+
+	@Override
+	public int compareTo(Dinheiro outro) {
+		return Long.compare(centavos, outro.centavos);
+	}
+
+	@Override
+	public boolean equals(Object outro) {
+		return outro instanceof Dinheiro && ((Dinheiro) outro).centavos == centavos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(centavos);
+	}
+
+	@Override
+	public String toString() {
+		return toBigDecimal().toPlainString();
+	}
+}
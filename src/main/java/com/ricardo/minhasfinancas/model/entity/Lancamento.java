@@ -3,22 +3,28 @@ package com.ricardo.minhasfinancas.model.entity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
-import javax.persistence.Column;
-import javax.persistence.Convert;
-import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-import javax.persistence.FetchType;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.ManyToOne;
-import javax.persistence.Table;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
 
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
 import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
 
@@ -28,18 +34,27 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_usuario_tipo_status", columnList = "id_usuario, tipo, status"),
+		@Index(name = "idx_lancamento_usuario_periodo", columnList = "id_usuario, periodo, id") })
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Lancamento {
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+	@SequenceGenerator(name = "lancamento_seq", sequenceName = "hibernate_sequence", allocationSize = 50)
 	private Long id;
 	private String descricao;
-	private Integer mes;
-	private Integer ano;
+
+	/** Ano e mês em {@code aaaamm}; o JSON continua com mes e ano, derivados daqui. */
+	@JsonIgnore
+	@Column(name = "periodo")
+	private Integer periodo;
+
+	@Column(name = "valor", precision = 18, scale = 2)
 	private BigDecimal valor;
 	@Column(name = "data_cadastro")
 	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
@@ -58,4 +73,34 @@ public class Lancamento {
 	@JoinColumn(name = "id_usuario")
 	private Usuario usuario;
 
+	@Version
+	private Long versao;
+
+	public Integer getMes() {
+		return Periodo.mesDe(periodo);
+	}
+
+	public void setMes(Integer mes) {
+		periodo = Periodo.comMes(periodo, mes);
+	}
+
+	public Integer getAno() {
+		return Periodo.anoDe(periodo);
+	}
+
+	public void setAno(Integer ano) {
+		periodo = Periodo.comAno(periodo, ano);
+	}
+
+	public static class LancamentoBuilder {
+		public LancamentoBuilder mes(Integer mes) {
+			periodo = Periodo.comMes(periodo, mes);
+			return this;
+		}
+
+		public LancamentoBuilder ano(Integer ano) {
+			periodo = Periodo.comAno(periodo, ano);
+			return this;
+		}
+	}
 }
@@ -0,0 +1,58 @@
+package com.ricardo.minhasfinancas.model.entity;
+
+/**
+ * Mês e ano de um lançamento num só inteiro {@code aaaamm}: a ordem numérica
+ * é a ordem cronológica, então ordenar e comparar faixas usa uma coluna só.
+ * Uma parte ausente fica zero, também quando faltam as duas: é o mesmo valor
+ * que as migrações gravam para os lançamentos antigos nos dois bancos. O que
+ * não cabe nos dígitos da parte vira um valor que a validação recusa, em vez
+ * de transbordar para a outra.
+ */
+public final class Periodo {
+	private static final int MES_FORA_DA_FAIXA = 99;
+	private static final int ANO_MAXIMO = Integer.MAX_VALUE / 100 - 1;
+
+	private Periodo() {
+	}
+
+	public static Integer de(Integer ano, Integer mes) {
+		int parteAno = ano == null || ano < 0 || ano > ANO_MAXIMO ? 0 : ano;
+		int parteMes = mes == null ? 0 : mes < 0 || mes > MES_FORA_DA_FAIXA ? MES_FORA_DA_FAIXA : mes;
+		return parteAno * 100 + parteMes;
+	}
+
+	public static Integer comAno(Integer periodo, Integer ano) {
+		return de(ano, mesDe(periodo));
+	}
+
+	public static Integer comMes(Integer periodo, Integer mes) {
+		return de(anoDe(periodo), mes);
+	}
+
+	/** O ano do período, ou nulo quando ausente. */
+	public static Integer anoDe(Integer periodo) {
+		return periodo == null || ano(periodo) == 0 ? null : ano(periodo);
+	}
+
+	/** O mês do período, ou nulo quando ausente. */
+	public static Integer mesDe(Integer periodo) {
+		return periodo == null || mes(periodo) == 0 ? null : mes(periodo);
+	}
+
+	public static int ano(int periodo) {
+		return periodo / 100;
+	}
+
+	public static int mes(int periodo) {
+		return periodo % 100;
+	}
+
+	/** Primeiro e último período do ano, para buscar o ano como faixa. */
+	public static int inicioDoAno(int ano) {
+		return ano * 100 + 1;
+	}
+
+	public static int fimDoAno(int ano) {
+		return ano * 100 + 12;
+	}
+}
@@ -0,0 +1,55 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Periodo;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Posição da página no período {@code aaaamm} e no id, a mesma ordenação da
+ * busca. Um lançamento sem período leva zero, o valor que {@link Periodo} e as
+ * migrações gravam para ele.
+ */
+@Data
+@AllArgsConstructor
+public class CursorLancamento {
+	private Integer periodo;
+	private Long id;
+
+	public static CursorLancamento de(Lancamento lancamento) {
+		return new CursorLancamento(lancamento.getPeriodo() == null ? 0 : lancamento.getPeriodo(), lancamento.getId());
+	}
+
+	public static CursorLancamento de(LancamentoDTO lancamento) {
+		return new CursorLancamento(Periodo.de(lancamento.getAno(), lancamento.getMes()), lancamento.getId());
+	}
+
+	public String codificar() {
+		String valor = periodo + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static CursorLancamento decodificar(String token) {
+		try {
+			String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+			// ano:mes:id é o formato anterior, de cursores emitidos antes do período compactado
+			if (partes.length == 3)
+				return new CursorLancamento(Periodo.de(parte(partes[0]), parte(partes[1])), Long.valueOf(partes[2]));
+			if (partes.length != 2)
+				throw new IllegalArgumentException();
+			return new CursorLancamento(Integer.valueOf(partes[0]), Long.valueOf(partes[1]));
+		} catch (IllegalArgumentException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
+	}
+
+	private static Integer parte(String valor) {
+		return "null".equals(valor) ? null : Integer.valueOf(valor);
+	}
+}
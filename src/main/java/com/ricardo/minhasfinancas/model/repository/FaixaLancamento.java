@@ -0,0 +1,41 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Faixas do filtro de lançamentos: período de ano/mês a ano/mês e valor
+ * mínimo e máximo, com as duas pontas inclusivas. Qualquer ponta pode faltar;
+ * sem o mês, o período começa em janeiro e termina em dezembro.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaixaLancamento {
+	private Integer anoInicial;
+	private Integer mesInicial;
+	private Integer anoFinal;
+	private Integer mesFinal;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+
+	/** A ponta inicial como {@code aaaamm}, ou nulo sem ano inicial. */
+	public Integer getPeriodoInicial() {
+		return anoInicial == null ? null : anoInicial * 100 + (mesInicial == null ? 1 : mesInicial);
+	}
+
+	/** A ponta final como {@code aaaamm}, ou nulo sem ano final. */
+	public Integer getPeriodoFinal() {
+		return anoFinal == null ? null : anoFinal * 100 + (mesFinal == null ? 12 : mesFinal);
+	}
+
+	public boolean isVazia() {
+		return anoInicial == null && mesInicial == null && anoFinal == null && mesFinal == null && valorMinimo == null
+				&& valorMaximo == null;
+	}
+}
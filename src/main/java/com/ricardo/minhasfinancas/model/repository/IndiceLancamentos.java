@@ -0,0 +1,546 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Periodo;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice invertido (Lucene) das descrições dos lançamentos, para o filtro por
+ * descrição não depender de um {@code LIKE '%...%'}. Cada documento leva o
+ * usuário como termo e toda busca filtra por ele, então o custo acompanha os
+ * lançamentos do usuário que casam, não o tamanho da tabela. A descrição é
+ * quebrada em palavras, em minúsculas e sem acento ("Lançamento" e
+ * "lancamento" são o mesmo termo), e cada palavra buscada vale como prefixo.
+ * Os demais filtros da listagem também estão no documento, para que a página
+ * saia pronta daqui; o status é um doc value, atualizável sem reindexar o
+ * lançamento, porque muda em lote.
+ * <p>
+ * As gravações entram depois do commit e ficam visíveis na próxima busca, que
+ * reabre o leitor uma vez para todas as gravações acumuladas; o commit em disco
+ * é periódico. Ao iniciar, o índice é reconstruído a partir da base em segundo
+ * plano; até terminar, {@link #buscar} devolve vazio e a consulta volta ao
+ * {@code LIKE}.
+ */
+@Slf4j
+@Component
+public class IndiceLancamentos implements DisposableBean {
+	private static final String CHAVE = "chave";
+	private static final String USUARIO = "usuario";
+	private static final String ID = "id";
+	private static final String PERIODO = "periodo";
+	private static final String ANO = "ano";
+	private static final String MES = "mes";
+	private static final String DESCRICAO = "descricao";
+	private static final String TIPO = "tipo";
+	private static final String STATUS = "status";
+	private static final String VALOR = "valor";
+	private static final long SEM_STATUS = -1;
+	private static final int RELEITURA = 1000;
+	private static final String CONSULTA = "select l.id, l.usuario.id, l.descricao, l.periodo, l.tipo, l.status, l.valor from Lancamento l";
+
+	private final Analyzer analisador = new AnalisadorDescricao();
+	private final boolean habilitado;
+	private final Directory diretorio;
+	private final IndexWriter escritor;
+	private final SearcherManager buscadores;
+	private final TransactionTemplate leitura;
+	private volatile boolean disponivel;
+
+	// travas em vez de synchronized: seguram E/S do Lucene, e uma thread virtual
+	// parada num monitor prenderia a thread de plataforma que a carrega
+	private final ReentrantLock reconstrucao = new ReentrantLock();
+	// gravações do serviço e da reconstrução passam por esta trava, uma a uma
+	private final ReentrantLock gravacoes = new ReentrantLock();
+	private final ReentrantLock atualizacao = new ReentrantLock();
+	// ids gravados pelo serviço durante a reconstrução, que ela não pode sobrescrever; null fora dela
+	private Set<Long> tocados;
+	private final AtomicLong gravadas = new AtomicLong();
+	private volatile long visiveis;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public IndiceLancamentos(@Value("${minhasfinancas.busca.habilitada:true}") boolean habilitado,
+			@Value("${minhasfinancas.busca.diretorio:}") String diretorio,
+			PlatformTransactionManager transactionManager) throws IOException {
+		this.habilitado = habilitado;
+		// sem diretório o índice fica em memória e é refeito a cada subida
+		this.diretorio = diretorio.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Paths.get(diretorio));
+		this.escritor = new IndexWriter(this.diretorio,
+				new IndexWriterConfig(analisador).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+		this.buscadores = new SearcherManager(escritor, null);
+		this.leitura = new TransactionTemplate(transactionManager);
+		this.leitura.setReadOnly(true);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruirAoIniciar() {
+		if (!habilitado)
+			return;
+
+		Thread.ofPlatform().name("indice-lancamentos").daemon().start(() -> {
+			try {
+				reconstruir();
+			} catch (RuntimeException e) {
+				log.error("Falha ao reconstruir o índice de lançamentos; a busca por descrição segue pelo banco.", e);
+			}
+		});
+	}
+
+	/**
+	 * Refaz o índice a partir da tabela sem perder as gravações concorrentes: o
+	 * que o serviço grava depois de limpar o índice vale sobre a linha lida, e
+	 * esses ids são relidos da base ao fim, até nenhum ter sido tocado durante a
+	 * releitura. Uma reconstrução por vez: a segunda espera e relê a tabela.
+	 */
+	public void reconstruir() {
+		reconstrucao.lock();
+		try {
+			reconstruirTravado();
+		} finally {
+			reconstrucao.unlock();
+		}
+	}
+
+	private void reconstruirTravado() {
+		long inicio = System.nanoTime();
+		disponivel = false;
+		long total;
+		try {
+			gravacoes.lock();
+			try {
+				tocados = new HashSet<>();
+				escritor.deleteAll();
+			} finally {
+				gravacoes.unlock();
+			}
+			total = leitura.execute(status -> {
+				try (Stream<Object[]> linhas = entityManager.createQuery(CONSULTA, Object[].class)
+						.setHint("org.hibernate.fetchSize", 1000).setHint("org.hibernate.readOnly", true)
+						.getResultStream()) {
+					long lidos = 0;
+					for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+						regravar(linha);
+						lidos++;
+					}
+					return lidos;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			for (Set<Long> relidos = trocarTocados(); !relidos.isEmpty(); relidos = trocarTocados())
+				reler(relidos);
+			escritor.commit();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			gravacoes.lock();
+			try {
+				tocados = null;
+			} finally {
+				gravacoes.unlock();
+			}
+		}
+		gravadas.incrementAndGet();
+		atualizarBuscadores();
+		disponivel = true;
+		log.info("Índice de lançamentos reconstruído com {} lançamento(s) em {} ms.", total,
+				(System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	/** A linha lida só vale se o serviço não gravou o lançamento depois da limpeza. */
+	private void regravar(Object[] linha) throws IOException {
+		Long id = (Long) linha[0];
+		Document documento = documento(id, (Long) linha[1], (String) linha[2], (Integer) linha[3],
+				(TipoLancamento) linha[4], (StatusLancamento) linha[5], (BigDecimal) linha[6]);
+		gravacoes.lock();
+		try {
+			if (!tocados.contains(id))
+				escritor.updateDocument(new Term(CHAVE, id.toString()), documento);
+		} finally {
+			gravacoes.unlock();
+		}
+	}
+
+	/** Entrega os ids tocados até aqui e passa a anotar os próximos num conjunto novo. */
+	private Set<Long> trocarTocados() {
+		gravacoes.lock();
+		try {
+			Set<Long> anteriores = tocados;
+			tocados = new HashSet<>();
+			return anteriores;
+		} finally {
+			gravacoes.unlock();
+		}
+	}
+
+	/**
+	 * Relê da base os lançamentos tocados durante a reconstrução: uma alteração
+	 * de status pode ter chegado antes do documento, e uma remoção não deixa
+	 * linha para a leitura. O que for tocado de novo fica para a próxima volta.
+	 */
+	private void reler(Set<Long> ids) {
+		List<Long> pendentes = new ArrayList<>(ids);
+		for (int inicio = 0; inicio < pendentes.size(); inicio += RELEITURA) {
+			List<Long> bloco = pendentes.subList(inicio, Math.min(inicio + RELEITURA, pendentes.size()));
+			leitura.executeWithoutResult(status -> {
+				Set<Long> removidos = new HashSet<>(bloco);
+				try {
+					for (Object[] linha : entityManager.createQuery(CONSULTA + " where l.id in :ids", Object[].class)
+							.setParameter("ids", bloco).getResultList()) {
+						removidos.remove(linha[0]);
+						regravar(linha);
+					}
+					gravacoes.lock();
+					try {
+						for (Long id : removidos) {
+							if (!tocados.contains(id))
+								escritor.deleteDocuments(new Term(CHAVE, id.toString()));
+						}
+					} finally {
+						gravacoes.unlock();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+	}
+
+	/** Grava em disco o que entrou desde o último commit; a reconstrução faz o seu. */
+	@Scheduled(fixedDelayString = "${minhasfinancas.busca.intervalo-commit:60000}")
+	public void gravarEmDisco() {
+		if (!isDisponivel() || !escritor.hasUncommittedChanges())
+			return;
+
+		try {
+			escritor.commit();
+		} catch (IOException e) {
+			log.error("Falha ao gravar o índice de lançamentos em disco.", e);
+		}
+	}
+
+	public boolean isDisponivel() {
+		return habilitado && disponivel;
+	}
+
+	public void indexar(Lancamento lancamento) {
+		indexarTodos(Collections.singletonList(lancamento));
+	}
+
+	public void indexarTodos(Collection<Lancamento> lancamentos) {
+		if (!habilitado)
+			return;
+
+		// copia agora: depois do commit a entidade pode já ter sido desanexada ou alterada
+		List<Document> documentos = new ArrayList<>(lancamentos.size());
+		for (Lancamento lancamento : lancamentos) {
+			if (lancamento.getId() != null && lancamento.getUsuario() != null && lancamento.getUsuario().getId() != null)
+				documentos.add(documento(lancamento.getId(), lancamento.getUsuario().getId(), lancamento.getDescricao(),
+						lancamento.getPeriodo(), lancamento.getTipo(), lancamento.getStatus(), lancamento.getValor()));
+		}
+		if (documentos.isEmpty())
+			return;
+
+		List<Long> ids = new ArrayList<>(documentos.size());
+		for (Document documento : documentos)
+			ids.add(Long.valueOf(documento.get(CHAVE)));
+		aposCommit(ids, () -> {
+			for (Document documento : documentos)
+				escritor.updateDocument(new Term(CHAVE, documento.get(CHAVE)), documento);
+		});
+	}
+
+	public void remover(Long id) {
+		if (!habilitado || id == null)
+			return;
+
+		aposCommit(Collections.singletonList(id), () -> escritor.deleteDocuments(new Term(CHAVE, id.toString())));
+	}
+
+	/** Para a atualização de status em lote, que não passa pelas entidades. */
+	public void alterarStatus(Collection<Long> ids, StatusLancamento status) {
+		if (!habilitado || ids.isEmpty())
+			return;
+
+		List<Long> copia = new ArrayList<>(ids);
+		aposCommit(copia, () -> {
+			for (Long id : copia)
+				escritor.updateNumericDocValue(new Term(CHAVE, id.toString()), STATUS, ordinal(status));
+		});
+	}
+
+	/**
+	 * Ids dos lançamentos do usuário cuja descrição contém todas as palavras do
+	 * filtro (como prefixo), já com os demais filtros, as faixas e o cursor
+	 * aplicados e na ordem da listagem, no máximo {@code limite}. Vazio quando o
+	 * índice ainda não está pronto ou o filtro não tem palavras: quem chama usa
+	 * o {@code LIKE}.
+	 */
+	public Optional<List<Long>> buscar(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor, int limite,
+			Direction direcao) {
+		if (!isDisponivel())
+			return Optional.empty();
+
+		List<String> palavras = palavras(filtro.getDescricao());
+		if (palavras.isEmpty())
+			return Optional.empty();
+
+		atualizarBuscadores();
+		BooleanQuery.Builder consulta = new BooleanQuery.Builder()
+				.add(new TermQuery(new Term(USUARIO, filtro.getUsuario().getId().toString())), Occur.FILTER);
+		for (String palavra : palavras)
+			consulta.add(new PrefixQuery(new Term(DESCRICAO, palavra)), Occur.FILTER);
+		if (filtro.getAno() != null)
+			consulta.add(IntPoint.newExactQuery(ANO, filtro.getAno()), Occur.FILTER);
+		if (filtro.getMes() != null)
+			consulta.add(IntPoint.newExactQuery(MES, filtro.getMes()), Occur.FILTER);
+		if (filtro.getTipo() != null)
+			consulta.add(new TermQuery(new Term(TIPO, filtro.getTipo().name())), Occur.FILTER);
+		if (filtro.getStatus() != null)
+			consulta.add(NumericDocValuesField.newSlowExactQuery(STATUS, ordinal(filtro.getStatus())), Occur.FILTER);
+		if (faixa != null)
+			dentroDaFaixa(consulta, faixa);
+		if (cursor != null)
+			consulta.add(depoisDoCursor(cursor, direcao.isAscending()), Occur.FILTER);
+
+		boolean decrescente = direcao.isDescending();
+		Sort ordem = new Sort(new SortField(PERIODO, SortField.Type.LONG, decrescente),
+				new SortField(ID, SortField.Type.LONG, decrescente));
+		try {
+			IndexSearcher buscador = buscadores.acquire();
+			try {
+				ScoreDoc[] encontrados = buscador.search(consulta.build(), limite, ordem, false).scoreDocs;
+				List<Long> ids = new ArrayList<>(encontrados.length);
+				for (ScoreDoc encontrado : encontrados)
+					ids.add((Long) ((FieldDoc) encontrado).fields[1]);
+				return Optional.of(ids);
+			} finally {
+				buscadores.release(buscador);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		buscadores.close();
+		escritor.close();
+		diretorio.close();
+	}
+
+	private static void dentroDaFaixa(BooleanQuery.Builder consulta, FaixaLancamento faixa) {
+		if (faixa.getPeriodoInicial() != null || faixa.getPeriodoFinal() != null)
+			consulta.add(LongPoint.newRangeQuery(PERIODO,
+					faixa.getPeriodoInicial() == null ? Long.MIN_VALUE : faixa.getPeriodoInicial(),
+					faixa.getPeriodoFinal() == null ? Long.MAX_VALUE : faixa.getPeriodoFinal()), Occur.FILTER);
+		if (faixa.getValorMinimo() != null || faixa.getValorMaximo() != null)
+			consulta.add(LongPoint.newRangeQuery(VALOR,
+					faixa.getValorMinimo() == null ? Long.MIN_VALUE : centavos(faixa.getValorMinimo(), RoundingMode.CEILING),
+					faixa.getValorMaximo() == null ? Long.MAX_VALUE : centavos(faixa.getValorMaximo(), RoundingMode.FLOOR)),
+					Occur.FILTER);
+	}
+
+	private static long centavos(BigDecimal valor, RoundingMode arredondamento) {
+		return valor.movePointRight(2).setScale(0, arredondamento).longValueExact();
+	}
+
+	private static long ordinal(StatusLancamento status) {
+		return status == null ? SEM_STATUS : status.ordinal();
+	}
+
+	private static Query depoisDoCursor(CursorLancamento cursor, boolean crescente) {
+		long periodo = cursor.getPeriodo();
+		Query mesmoPeriodo = LongPoint.newExactQuery(PERIODO, periodo);
+		Query outroPeriodo = crescente ? LongPoint.newRangeQuery(PERIODO, periodo + 1, Long.MAX_VALUE)
+				: LongPoint.newRangeQuery(PERIODO, Long.MIN_VALUE, periodo - 1);
+		Query outroId = crescente ? LongPoint.newRangeQuery(ID, cursor.getId() + 1, Long.MAX_VALUE)
+				: LongPoint.newRangeQuery(ID, Long.MIN_VALUE, cursor.getId() - 1);
+		return new BooleanQuery.Builder().add(outroPeriodo, Occur.SHOULD)
+				.add(new BooleanQuery.Builder().add(mesmoPeriodo, Occur.FILTER).add(outroId, Occur.FILTER).build(),
+						Occur.SHOULD)
+				.build();
+	}
+
+	private static Document documento(Long id, Long idUsuario, String descricao, Integer periodo,
+			TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+		Integer ano = Periodo.anoDe(periodo);
+		Integer mes = Periodo.mesDe(periodo);
+		Document documento = new Document();
+		documento.add(new StringField(CHAVE, id.toString(), Field.Store.YES));
+		documento.add(new StringField(USUARIO, idUsuario.toString(), Field.Store.NO));
+		documento.add(new LongPoint(ID, id));
+		documento.add(new NumericDocValuesField(ID, id));
+		// o período aaaamm já é a chave da ordenação (período, id)
+		documento.add(new LongPoint(PERIODO, periodo == null ? 0 : periodo));
+		documento.add(new NumericDocValuesField(PERIODO, periodo == null ? 0 : periodo));
+		if (ano != null)
+			documento.add(new IntPoint(ANO, ano));
+		if (mes != null)
+			documento.add(new IntPoint(MES, mes));
+		if (descricao != null)
+			documento.add(new TextField(DESCRICAO, descricao, Field.Store.NO));
+		if (tipo != null)
+			documento.add(new StringField(TIPO, tipo.name(), Field.Store.NO));
+		// sempre presente: só um doc value que já existe pode ser atualizado no lugar
+		documento.add(new NumericDocValuesField(STATUS, ordinal(status)));
+		if (valor != null)
+			documento.add(new LongPoint(VALOR, centavos(valor, RoundingMode.HALF_UP)));
+		return documento;
+	}
+
+	private List<String> palavras(String texto) {
+		if (texto == null || texto.isBlank())
+			return Collections.emptyList();
+
+		List<String> palavras = new ArrayList<>();
+		try (TokenStream tokens = analisador.tokenStream(DESCRICAO, texto)) {
+			CharTermAttribute termo = tokens.addAttribute(CharTermAttribute.class);
+			tokens.reset();
+			while (tokens.incrementToken())
+				palavras.add(termo.toString());
+			tokens.end();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return palavras;
+	}
+
+	/**
+	 * Só depois do commit, como o saldo em cache: um lançamento desfeito não pode
+	 * aparecer na busca. Falhar aqui não desfaz nada, então só registra; a próxima
+	 * reconstrução corrige o índice. Os ids ficam anotados para uma reconstrução
+	 * em andamento não os sobrescrever com a linha que leu antes.
+	 */
+	private void aposCommit(Collection<Long> ids, Gravacao gravacao) {
+		Runnable gravar = () -> {
+			try {
+				gravacoes.lock();
+				try {
+					if (tocados != null)
+						tocados.addAll(ids);
+					gravacao.executar();
+				} finally {
+					gravacoes.unlock();
+				}
+				gravadas.incrementAndGet();
+			} catch (IOException | RuntimeException e) {
+				log.error("Falha ao atualizar o índice de lançamentos.", e);
+			}
+		};
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					gravar.run();
+				}
+			});
+		} else {
+			gravar.run();
+		}
+	}
+
+	/**
+	 * Reabre o leitor só se houve gravação desde a última reabertura: uma busca
+	 * vê tudo que foi gravado antes dela, e várias gravações custam uma reabertura.
+	 */
+	private void atualizarBuscadores() {
+		long alvo = gravadas.get();
+		if (visiveis >= alvo)
+			return;
+
+		atualizacao.lock();
+		try {
+			if (visiveis >= alvo)
+				return;
+			buscadores.maybeRefreshBlocking();
+			visiveis = alvo;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			atualizacao.unlock();
+		}
+	}
+
+	@FunctionalInterface
+	private interface Gravacao {
+		void executar() throws IOException;
+	}
+
+	/** Palavras da descrição em minúsculas e sem acentos. */
+	private static class AnalisadorDescricao extends Analyzer {
+		@Override
+		protected TokenStreamComponents createComponents(String campo) {
+			Tokenizer tokenizer = new StandardTokenizer();
+			TokenStream tokens = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+			return new TokenStreamComponents(tokenizer, tokens);
+		}
+	}
+}
@@ -1,17 +1,55 @@
 package com.ricardo.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.ricardo.minhasfinancas.model.entity.Lancamento;
 import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
-import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
+
+	// flush em COMMIT: lê o que está gravado, ignorando alterações ainda pendentes na entidade
+	@QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+	@Query(value = "select l.usuario.id as idUsuario, l.periodo / 100 as ano, mod(l.periodo, 100) as mes, l.tipo as tipo, l.status as status, l.valor as valor from Lancamento l where l.id = :id")
+	Optional<MovimentoSaldo> obterMovimentoPersistido(@Param("id") Long id);
+
+	// ano e mês saem do período aaaamm; o do ano vira faixa de período, que o índice percorre
+	@Query(value = "select l.usuario.id as idUsuario, l.periodo / 100 as ano, mod(l.periodo, 100) as mes, l.tipo as tipo, l.status as status, sum(l.valor) as valor from Lancamento l where l.usuario.id = :idusuario group by l.usuario.id, l.periodo, l.tipo, l.status")
+	List<MovimentoSaldo> obterMovimentosAgrupadosPorUsuario(@Param("idusuario") Long idusuario);
+
+	@Query(value = "select l.usuario.id as idUsuario, l.periodo / 100 as ano, mod(l.periodo, 100) as mes, l.tipo as tipo, l.status as status, sum(l.valor) as valor from Lancamento l where l.usuario.id = :idusuario and l.periodo between :ano * 100 + 1 and :ano * 100 + 12 group by l.usuario.id, l.periodo, l.tipo, l.status")
+	List<MovimentoSaldo> obterMovimentosAgrupadosPorUsuarioEAno(@Param("idusuario") Long idusuario,
+			@Param("ano") Integer ano);
+
+	// cursor somente para frente: as linhas chegam do banco em blocos do fetch size
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true") })
+	@Query(value = "select l from Lancamento l where l.usuario.id = :idusuario order by l.periodo, l.id")
+	Stream<Lancamento> percorrerPorUsuario(@Param("idusuario") Long idusuario);
+
+	// select ... for update: o status lido é o que o update vai trocar, sem outra mudança de status no meio;
+	// em ordem de id para que dois lotes sobrepostos travem as linhas na mesma sequência
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select l.id as id, l.usuario.id as idUsuario, l.periodo / 100 as ano, mod(l.periodo, 100) as mes, l.tipo as tipo, l.status as status, l.valor as valor from Lancamento l where l.id in :ids and l.status <> :status order by l.id")
+	List<MovimentoLancamento> obterMovimentosComStatusDiferente(@Param("ids") Collection<Long> ids,
+			@Param("status") StatusLancamento status);
+
+	@Query(value = "select count(l) from Lancamento l where l.id in :ids and l.usuario.id <> :idusuario")
+	long contarDeOutroUsuario(@Param("ids") Collection<Long> ids, @Param("idusuario") Long idusuario);
 
-	@Query(value = "select sum(l.valor) from Lancamento l join l.usuario u where u.id = :idusuario and l.tipo = :tipo and l.status = :status")
-	BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatus(@Param("idusuario") Long idusuario, @Param("tipo") TipoLancamento tipo, @Param("status")  StatusLancamento status);
+	@Modifying
+	@Query(value = "update Lancamento l set l.status = :status, l.versao = l.versao + 1 where l.id in :ids")
+	int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusLancamento status);
 }
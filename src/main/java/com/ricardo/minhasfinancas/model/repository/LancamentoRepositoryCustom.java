@@ -0,0 +1,15 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+public interface LancamentoRepositoryCustom {
+	Slice<Lancamento> buscarPorUsuario(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor,
+			int tamanho, Sort.Direction direcao);
+
+	Slice<LancamentoDTO> listarPorUsuario(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor,
+			int tamanho, Sort.Direction direcao);
+}
@@ -0,0 +1,156 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Periodo;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	// ausente nos testes de repositório (@DataJpaTest): a descrição fica no LIKE
+	@Autowired(required = false)
+	private IndiceLancamentos indiceLancamentos;
+
+	@Override
+	public Slice<Lancamento> buscarPorUsuario(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor,
+			int tamanho, Sort.Direction direcao) {
+		return buscar(Lancamento.class, (cb, lancamento) -> lancamento, filtro, faixa, cursor, tamanho, direcao);
+	}
+
+	@Override
+	public Slice<LancamentoDTO> listarPorUsuario(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor,
+			int tamanho, Sort.Direction direcao) {
+		// monta o DTO na consulta: sem entidades gerenciadas, proxies de usuário ou dirty checking
+		return buscar(LancamentoDTO.class,
+				(cb, lancamento) -> cb.construct(LancamentoDTO.class, lancamento.get("id"), lancamento.get("descricao"),
+						lancamento.get("periodo"), lancamento.get("valor"),
+						lancamento.get("usuario").get("id"), lancamento.get("tipo"), lancamento.get("status"),
+						lancamento.get("dataCadastro"), lancamento.get("versao")),
+				filtro, faixa, cursor, tamanho, direcao);
+	}
+
+	private <T> Slice<T> buscar(Class<T> tipo,
+			BiFunction<CriteriaBuilder, Root<Lancamento>, Selection<? extends T>> selecao, Lancamento filtro,
+			FaixaLancamento faixa, CursorLancamento cursor, int tamanho, Sort.Direction direcao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<T> query = cb.createQuery(tipo);
+		Root<Lancamento> lancamento = query.from(Lancamento.class);
+		Path<Integer> periodo = lancamento.get("periodo");
+		Path<Long> id = lancamento.get("id");
+
+		// id_usuario primeiro, para que o índice (id_usuario, periodo) conduza a busca
+		List<Predicate> predicados = new ArrayList<>();
+		predicados.add(cb.equal(lancamento.get("usuario").get("id"), filtro.getUsuario().getId()));
+		Optional<List<Long>> pelaDescricao = buscarNoIndice(filtro, faixa, cursor, tamanho, direcao);
+		if (pelaDescricao.isPresent()) {
+			if (pelaDescricao.get().isEmpty())
+				return new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, tamanho, Sort.by(direcao, "ano", "mes", "id")),
+						false);
+			// o índice já aplicou todos os filtros e o cursor: o banco só lê a página pela chave
+			predicados.add(id.in(pelaDescricao.get()));
+		} else {
+			predicados.addAll(noPeriodo(cb, periodo, filtro));
+			if (filtro.getTipo() != null)
+				predicados.add(cb.equal(lancamento.get("tipo"), filtro.getTipo()));
+			if (filtro.getStatus() != null)
+				predicados.add(cb.equal(lancamento.get("status"), filtro.getStatus()));
+			if (faixa != null)
+				predicados.addAll(dentroDaFaixa(cb, periodo, lancamento.get("valor"), faixa));
+			if (filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty())
+				predicados.add(cb.like(cb.lower(lancamento.get("descricao")),
+						"%" + escaparLike(filtro.getDescricao().trim().toLowerCase()) + "%", '\\'));
+			if (cursor != null)
+				predicados.add(direcao.isAscending() ? aposCursor(cb, periodo, id, cursor)
+						: antesDoCursor(cb, periodo, id, cursor));
+		}
+
+		query.select(selecao.apply(cb, lancamento)).where(predicados.toArray(new Predicate[0]));
+		if (direcao.isAscending())
+			query.orderBy(cb.asc(periodo), cb.asc(id));
+		else
+			query.orderBy(cb.desc(periodo), cb.desc(id));
+
+		List<T> resultado = entityManager.createQuery(query).setMaxResults(tamanho + 1).getResultList();
+		boolean temProxima = resultado.size() > tamanho;
+		if (temProxima)
+			resultado = resultado.subList(0, tamanho);
+
+		return new SliceImpl<>(resultado, PageRequest.of(0, tamanho, Sort.by(direcao, "ano", "mes", "id")),
+				temProxima);
+	}
+
+	private Optional<List<Long>> buscarNoIndice(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor,
+			int tamanho, Sort.Direction direcao) {
+		if (indiceLancamentos == null || filtro.getDescricao() == null || filtro.getDescricao().trim().isEmpty())
+			return Optional.empty();
+		return indiceLancamentos.buscar(filtro, faixa, cursor, tamanho + 1, direcao);
+	}
+
+	/**
+	 * Ano e mês juntos são um período só; o ano sozinho é a faixa de janeiro a
+	 * dezembro, para que o índice (id_usuario, periodo) conduza a busca. Só o
+	 * mês, sem ano, não tem faixa e fica no resto da divisão.
+	 */
+	private static List<Predicate> noPeriodo(CriteriaBuilder cb, Path<Integer> periodo, Lancamento filtro) {
+		List<Predicate> predicados = new ArrayList<>();
+		if (filtro.getAno() != null && filtro.getMes() != null)
+			predicados.add(cb.equal(periodo, filtro.getPeriodo()));
+		else if (filtro.getAno() != null)
+			predicados.add(cb.between(periodo, Periodo.inicioDoAno(filtro.getAno()), Periodo.fimDoAno(filtro.getAno())));
+		else if (filtro.getMes() != null)
+			predicados.add(cb.equal(cb.mod(periodo, 100), filtro.getMes()));
+		return predicados;
+	}
+
+	private static List<Predicate> dentroDaFaixa(CriteriaBuilder cb, Path<Integer> periodo, Path<BigDecimal> valor,
+			FaixaLancamento faixa) {
+		List<Predicate> predicados = new ArrayList<>();
+		if (faixa.getPeriodoInicial() != null)
+			predicados.add(cb.greaterThanOrEqualTo(periodo, faixa.getPeriodoInicial()));
+		if (faixa.getPeriodoFinal() != null)
+			predicados.add(cb.lessThanOrEqualTo(periodo, faixa.getPeriodoFinal()));
+		if (faixa.getValorMinimo() != null)
+			predicados.add(cb.greaterThanOrEqualTo(valor, faixa.getValorMinimo()));
+		if (faixa.getValorMaximo() != null)
+			predicados.add(cb.lessThanOrEqualTo(valor, faixa.getValorMaximo()));
+		return predicados;
+	}
+
+	private static Predicate aposCursor(CriteriaBuilder cb, Path<Integer> periodo, Path<Long> id,
+			CursorLancamento cursor) {
+		return cb.or(cb.greaterThan(periodo, cursor.getPeriodo()),
+				cb.and(cb.equal(periodo, cursor.getPeriodo()), cb.greaterThan(id, cursor.getId())));
+	}
+
+	private static Predicate antesDoCursor(CriteriaBuilder cb, Path<Integer> periodo, Path<Long> id,
+			CursorLancamento cursor) {
+		return cb.or(cb.lessThan(periodo, cursor.getPeriodo()),
+				cb.and(cb.equal(periodo, cursor.getPeriodo()), cb.lessThan(id, cursor.getId())));
+	}
+
+	private static String escaparLike(String valor) {
+		return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
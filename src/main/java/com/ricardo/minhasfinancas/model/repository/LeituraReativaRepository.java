@@ -0,0 +1,262 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Periodo;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Readable;
+import lombok.Value;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * As leituras do caminho reativo em R2DBC, com a mesma semântica de
+ * {@link LancamentoRepositoryImpl#listarPorUsuario}, de
+ * {@link UsuarioRepository#obterResumo} e de
+ * {@link SaldoUsuarioRepository#obterSaldosPorTipoEStatus}. O pool de conexões
+ * fica aqui dentro e não vira bean: um {@link ConnectionFactory} no contexto
+ * faria o Spring Boot desistir do {@code DataSource} do JPA.
+ */
+public class LeituraReativaRepository implements DisposableBean {
+	private static final String COLUNAS_LANCAMENTO = "id, descricao, periodo, valor, id_usuario, tipo, status, data_cadastro, versao";
+
+	private final ConnectionPool pool;
+	private final DatabaseClient cliente;
+	private final boolean bloqueante;
+	private final IndiceLancamentos indiceLancamentos;
+
+	public LeituraReativaRepository(ConnectionFactory conexoes, int tamanhoMaximo, Duration esperaMaxima,
+			IndiceLancamentos indiceLancamentos) {
+		this.indiceLancamentos = indiceLancamentos;
+		this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(conexoes).name("minhasfinancas-r2dbc")
+				.initialSize(Math.min(tamanhoMaximo, 10)).maxSize(tamanhoMaximo).maxAcquireTime(esperaMaxima).build());
+		// o driver do H2 executa o comando na thread que recebe a conexão; o do PostgreSQL não bloqueia
+		this.bloqueante = "H2".equalsIgnoreCase(conexoes.getMetadata().getName());
+		this.cliente = DatabaseClient.create(bloqueante ? new ConexaoForaDoEventLoop(pool) : pool);
+	}
+
+	public Mono<Boolean> existeUsuario(Long id) {
+		return cliente.sql("select id from financas.usuario where id = :id").bind("id", id)
+				.map(linha -> linha.get("id", Long.class)).first().hasElement();
+	}
+
+	public Mono<UsuarioResumo> obterResumo(Long id) {
+		return cliente.sql("select id, nome, email, data_cadastro from financas.usuario where id = :id").bind("id", id)
+				.map(LeituraReativaRepository::paraResumo).first();
+	}
+
+	public Flux<SaldoPorTipoEStatus> obterSaldosPorTipoEStatus(Long idUsuario) {
+		return cliente.sql(
+				"select tipo, status, sum(valor) as total from financas.saldo_usuario where id_usuario = :usuario group by tipo, status")
+				.bind("usuario", idUsuario).map(LeituraReativaRepository::paraSaldo).all();
+	}
+
+	public Mono<Slice<LancamentoDTO>> listarPorUsuario(Lancamento filtro, FaixaLancamento faixa,
+			CursorLancamento cursor, int tamanho, Sort.Direction direcao) {
+		boolean porDescricao = filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty();
+		if (!porDescricao || indiceLancamentos == null)
+			return listarPorUsuario(filtro, faixa, cursor, tamanho, direcao, porDescricao, Optional.empty());
+
+		// a busca no índice pode esperar a atualização dos leitores, e com diretório em disco reabri-lo:
+		// sai do event loop como as conexões do H2
+		return Mono.fromCallable(() -> indiceLancamentos.buscar(filtro, faixa, cursor, tamanho + 1, direcao))
+				.subscribeOn(Schedulers.boundedElastic()).flatMap(pelaDescricao -> listarPorUsuario(filtro, faixa,
+						cursor, tamanho, direcao, porDescricao, pelaDescricao));
+	}
+
+	private Mono<Slice<LancamentoDTO>> listarPorUsuario(Lancamento filtro, FaixaLancamento faixa,
+			CursorLancamento cursor, int tamanho, Sort.Direction direcao, boolean porDescricao,
+			Optional<List<Long>> pelaDescricao) {
+		// id_usuario primeiro, para que o índice (id_usuario, periodo) conduza a busca
+		StringBuilder sql = new StringBuilder("select ").append(COLUNAS_LANCAMENTO)
+				.append(" from financas.lancamento where id_usuario = :usuario");
+		if (pelaDescricao.isPresent() && pelaDescricao.get().isEmpty())
+			return Mono.just(fatiar(new ArrayList<>(), tamanho, direcao));
+
+		// o índice já aplicou todos os filtros e o cursor: o banco só lê a página pela chave
+		boolean peloIndice = pelaDescricao.isPresent();
+		boolean porPeriodo = filtro.getAno() != null && filtro.getMes() != null && !peloIndice;
+		boolean porAno = filtro.getAno() != null && filtro.getMes() == null && !peloIndice;
+		boolean porMes = filtro.getAno() == null && filtro.getMes() != null && !peloIndice;
+		boolean porTipo = filtro.getTipo() != null && !peloIndice;
+		boolean porStatus = filtro.getStatus() != null && !peloIndice;
+		FaixaLancamento faixaNoBanco = faixa == null || peloIndice ? new FaixaLancamento() : faixa;
+		boolean porLike = porDescricao && !peloIndice;
+		boolean aposCursor = cursor != null && !peloIndice;
+		if (peloIndice)
+			sql.append(" and id in (:ids)");
+		// como em LancamentoRepositoryImpl: o ano sozinho vira faixa de período
+		if (porPeriodo)
+			sql.append(" and periodo = :periodo");
+		if (porAno)
+			sql.append(" and periodo between :inicioDoAno and :fimDoAno");
+		if (porMes)
+			sql.append(" and mod(periodo, 100) = :mes");
+		if (porTipo)
+			sql.append(" and tipo = :tipo");
+		if (porStatus)
+			sql.append(" and status = :status");
+		if (faixaNoBanco.getPeriodoInicial() != null)
+			sql.append(" and periodo >= :periodoInicial");
+		if (faixaNoBanco.getPeriodoFinal() != null)
+			sql.append(" and periodo <= :periodoFinal");
+		if (faixaNoBanco.getValorMinimo() != null)
+			sql.append(" and valor >= :valorMinimo");
+		if (faixaNoBanco.getValorMaximo() != null)
+			sql.append(" and valor <= :valorMaximo");
+		if (porLike)
+			sql.append(" and lower(descricao) like :descricao escape '\\'");
+		String comparacao = direcao.isAscending() ? ">" : "<";
+		if (aposCursor)
+			sql.append(" and (periodo ").append(comparacao).append(" :cursorPeriodo or (periodo = :cursorPeriodo and id ")
+					.append(comparacao).append(" :cursorId))");
+		String ordem = direcao.isAscending() ? "asc" : "desc";
+		sql.append(" order by periodo ").append(ordem).append(", id ").append(ordem)
+				.append(" limit :limite");
+
+		DatabaseClient.GenericExecuteSpec consulta = cliente.sql(sql.toString())
+				.bind("usuario", filtro.getUsuario().getId()).bind("limite", tamanho + 1);
+		if (peloIndice)
+			consulta = consulta.bind("ids", pelaDescricao.get());
+		if (porPeriodo)
+			consulta = consulta.bind("periodo", filtro.getPeriodo());
+		if (porAno)
+			consulta = consulta.bind("inicioDoAno", Periodo.inicioDoAno(filtro.getAno())).bind("fimDoAno",
+					Periodo.fimDoAno(filtro.getAno()));
+		if (porMes)
+			consulta = consulta.bind("mes", filtro.getMes());
+		if (porTipo)
+			consulta = consulta.bind("tipo", filtro.getTipo().name());
+		if (porStatus)
+			consulta = consulta.bind("status", filtro.getStatus().name());
+		if (faixaNoBanco.getPeriodoInicial() != null)
+			consulta = consulta.bind("periodoInicial", faixaNoBanco.getPeriodoInicial());
+		if (faixaNoBanco.getPeriodoFinal() != null)
+			consulta = consulta.bind("periodoFinal", faixaNoBanco.getPeriodoFinal());
+		if (faixaNoBanco.getValorMinimo() != null)
+			consulta = consulta.bind("valorMinimo", faixaNoBanco.getValorMinimo());
+		if (faixaNoBanco.getValorMaximo() != null)
+			consulta = consulta.bind("valorMaximo", faixaNoBanco.getValorMaximo());
+		if (porLike)
+			consulta = consulta.bind("descricao",
+					"%" + escaparLike(filtro.getDescricao().trim().toLowerCase()) + "%");
+		if (aposCursor)
+			consulta = consulta.bind("cursorPeriodo", cursor.getPeriodo()).bind("cursorId", cursor.getId());
+
+		return consulta.map(LeituraReativaRepository::paraLancamento).all().collectList()
+				.map(resultado -> fatiar(resultado, tamanho, direcao));
+	}
+
+	/** Conexões em uso, ociosas e pedidos na fila do pool, para as métricas. */
+	public PoolMetrics obterMetricasPool() {
+		return pool.getMetrics().orElseThrow();
+	}
+
+	@Override
+	public void destroy() {
+		pool.dispose();
+	}
+
+	private static Slice<LancamentoDTO> fatiar(List<LancamentoDTO> resultado, int tamanho, Sort.Direction direcao) {
+		boolean temProxima = resultado.size() > tamanho;
+		if (temProxima)
+			resultado = resultado.subList(0, tamanho);
+
+		return new SliceImpl<>(resultado, PageRequest.of(0, tamanho, Sort.by(direcao, "ano", "mes", "id")),
+				temProxima);
+	}
+
+	private static LancamentoDTO paraLancamento(Readable linha) {
+		LocalDateTime dataCadastro = linha.get("data_cadastro", LocalDateTime.class);
+		Integer periodo = linha.get("periodo", Integer.class);
+		return LancamentoDTO.builder().id(linha.get("id", Long.class)).descricao(linha.get("descricao", String.class))
+				.mes(Periodo.mesDe(periodo)).ano(Periodo.anoDe(periodo))
+				.valor(linha.get("valor", BigDecimal.class)).usuario(linha.get("id_usuario", Long.class))
+				.tipo(linha.get("tipo", String.class)).status(linha.get("status", String.class))
+				.dataCadastro(dataCadastro == null ? null : dataCadastro.toLocalDate())
+				.versao(linha.get("versao", Long.class)).build();
+	}
+
+	private static UsuarioResumo paraResumo(Readable linha) {
+		LocalDate dataCadastro = linha.get("data_cadastro", LocalDate.class);
+		return new ResumoLido(linha.get("id", Long.class), linha.get("nome", String.class),
+				linha.get("email", String.class),
+				dataCadastro == null ? null : Date.from(dataCadastro.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+	}
+
+	private static SaldoPorTipoEStatus paraSaldo(Readable linha) {
+		String tipo = linha.get("tipo", String.class);
+		String status = linha.get("status", String.class);
+		return new SaldoLido(tipo == null ? null : TipoLancamento.valueOf(tipo),
+				status == null ? null : StatusLancamento.valueOf(status), linha.get("total", BigDecimal.class));
+	}
+
+	private static String escaparLike(String valor) {
+		return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	/**
+	 * Entrega cada conexão do pool numa thread do {@code boundedElastic}. O pool
+	 * repassa a conexão devolvida ao próximo da fila na thread de quem devolveu,
+	 * que pode ser o event loop; com um driver que bloqueia, o comando seguinte
+	 * rodaria ali.
+	 */
+	private static class ConexaoForaDoEventLoop implements ConnectionFactory {
+		private final ConnectionFactory pool;
+
+		ConexaoForaDoEventLoop(ConnectionFactory pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		public Mono<Connection> create() {
+			return Mono.<Connection>from(pool.create()).publishOn(Schedulers.boundedElastic());
+		}
+
+		@Override
+		public ConnectionFactoryMetadata getMetadata() {
+			return pool.getMetadata();
+		}
+	}
+
+	@Value
+	static class ResumoLido implements UsuarioResumo {
+		Long id;
+		String nome;
+		String email;
+		Date dataCadastro;
+	}
+
+	@Value
+	static class SaldoLido implements SaldoPorTipoEStatus {
+		TipoLancamento tipo;
+		StatusLancamento status;
+		BigDecimal total;
+	}
+}
@@ -0,0 +1,5 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+public interface MovimentoLancamento extends MovimentoSaldo {
+	Long getId();
+}
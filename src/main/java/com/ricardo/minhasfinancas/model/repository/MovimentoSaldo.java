@@ -0,0 +1,20 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+
+public interface MovimentoSaldo {
+	Long getIdUsuario();
+
+	Integer getAno();
+
+	Integer getMes();
+
+	TipoLancamento getTipo();
+
+	StatusLancamento getStatus();
+
+	BigDecimal getValor();
+}
@@ -0,0 +1,14 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+
+public interface SaldoPorTipoEStatus {
+	TipoLancamento getTipo();
+
+	StatusLancamento getStatus();
+
+	BigDecimal getTotal();
+}
@@ -0,0 +1,26 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ricardo.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long>, SaldoUsuarioRepositoryCustom {
+
+	@Query(value = "select s.tipo as tipo, s.status as status, sum(s.valor) as total from SaldoUsuario s where s.idUsuario = :idusuario group by s.tipo, s.status")
+	List<SaldoPorTipoEStatus> obterSaldosPorTipoEStatus(@Param("idusuario") Long idusuario);
+
+	List<SaldoUsuario> findByIdUsuario(Long idUsuario);
+
+	// valor sai como a coluna decimal: a projeção é compartilhada com as consultas de lançamento, que declaram BigDecimal
+	@Query(value = "select s.idUsuario as idUsuario, s.ano as ano, s.mes as mes, s.tipo as tipo, s.status as status, cast(s.valor as BigDecimal) as valor from SaldoUsuario s where s.idUsuario = :idusuario and s.ano = :ano")
+	List<MovimentoSaldo> obterMovimentosPorAno(@Param("idusuario") Long idusuario, @Param("ano") Integer ano);
+
+	@Modifying
+	@Query(value = "delete from SaldoUsuario s where s.idUsuario = :idusuario")
+	void removerPorUsuario(@Param("idusuario") Long idusuario);
+}
@@ -0,0 +1,10 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+
+public interface SaldoUsuarioRepositoryCustom {
+	void acumular(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			Dinheiro valor);
+}
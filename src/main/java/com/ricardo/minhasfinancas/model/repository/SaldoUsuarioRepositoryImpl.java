@@ -0,0 +1,57 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+import com.ricardo.minhasfinancas.model.entity.SaldoUsuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+
+public class SaldoUsuarioRepositoryImpl implements SaldoUsuarioRepositoryCustom {
+	// no PostgreSQL o conflito na chave única vira o update na mesma instrução, mesmo com inserções concorrentes
+	private static final String UPSERT_POSTGRES = "insert into financas.saldo_usuario (id_usuario, ano, mes, tipo, status, valor) "
+			+ "values (:idusuario, :ano, :mes, :tipo, :status, :valor) "
+			+ "on conflict on constraint uk_saldo_usuario_chave do update set valor = financas.saldo_usuario.valor + excluded.valor";
+
+	private static final String MERGE = "merge into financas.saldo_usuario s using (select cast(:idusuario as bigint) id_usuario, "
+			+ "cast(:ano as integer) ano, cast(:mes as integer) mes, cast(:tipo as varchar(255)) tipo, "
+			+ "cast(:status as varchar(255)) status, cast(:valor as numeric(18, 2)) valor) v "
+			+ "on s.id_usuario = v.id_usuario and s.ano = v.ano and s.mes = v.mes and s.tipo = v.tipo and s.status = v.status "
+			+ "when matched then update set valor = s.valor + v.valor "
+			+ "when not matched then insert (id_usuario, ano, mes, tipo, status, valor) "
+			+ "values (v.id_usuario, v.ano, v.mes, v.tipo, v.status, v.valor)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private volatile String comando;
+
+	/**
+	 * Soma o valor na chave (usuário, ano, mês, tipo, status), criando-a se
+	 * ainda não existe, numa única instrução: duas transações que criam a mesma
+	 * chave ao mesmo tempo não disputam um insert. Ano ou mês ausente entra
+	 * como zero, o valor que o periodo usa: nulo nunca casaria com a chave.
+	 */
+	@Override
+	public void acumular(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			Dinheiro valor) {
+		entityManager.createNativeQuery(comando()).unwrap(NativeQuery.class)
+				// só o saldo é tocado: as demais regiões do cache de segundo nível continuam válidas
+				.addSynchronizedEntityClass(SaldoUsuario.class).setParameter("idusuario", idUsuario)
+				.setParameter("ano", ano == null ? 0 : ano).setParameter("mes", mes == null ? 0 : mes).setParameter("tipo", tipo.name())
+				.setParameter("status", status.name()).setParameter("valor", valor.toBigDecimal()).executeUpdate();
+	}
+
+	private String comando() {
+		if (comando == null) {
+			String banco = entityManager.unwrap(Session.class)
+					.doReturningWork(conexao -> conexao.getMetaData().getDatabaseProductName());
+			comando = "PostgreSQL".equalsIgnoreCase(banco) ? UPSERT_POSTGRES : MERGE;
+		}
+		return comando;
+	}
+}
@@ -1,14 +1,39 @@
 package com.ricardo.minhasfinancas.model.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.ricardo.minhasfinancas.model.entity.Usuario;
 
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
 	boolean existsByEmail(String email);
 
 	Optional<Usuario> findByEmail(String email);
 
+	@Query(value = "select u.id from Usuario u order by u.id")
+	List<Long> obterIds();
+
+	// trava compartilhada por quem grava no saldo do usuário; a reconciliação pede a exclusiva e espera por elas
+	@Lock(LockModeType.PESSIMISTIC_READ)
+	@Query(value = "select u.id from Usuario u where u.id in :ids order by u.id")
+	List<Long> travarParaGravarSaldo(@Param("ids") Collection<Long> ids);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select u.id from Usuario u where u.id = :id")
+	List<Long> travarParaReconciliarSaldo(@Param("id") Long id);
+
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	@Query(value = "select u.id as id, u.nome as nome, u.email as email, u.data_cadastro as dataCadastro from Usuario u where u.id = :id")
+	Optional<UsuarioResumo> obterResumo(@Param("id") Long id);
+
 }
@@ -0,0 +1,9 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+
+public interface UsuarioRepositoryCustom {
+	Optional<Usuario> obterPorEmail(String email);
+}
@@ -0,0 +1,23 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+
+public class UsuarioRepositoryImpl implements UsuarioRepositoryCustom {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Usuario> obterPorEmail(String email) {
+		// busca pelo id natural: resolvida pelo cache de segundo nível quando o email já foi consultado
+		return entityManager.unwrap(Session.class).bySimpleNaturalId(Usuario.class).loadOptional(email);
+	}
+}
@@ -0,0 +1,16 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public interface UsuarioResumo {
+	Long getId();
+
+	String getNome();
+
+	String getEmail();
+
+	@JsonProperty("data_cadastro")
+	Date getDataCadastro();
+}
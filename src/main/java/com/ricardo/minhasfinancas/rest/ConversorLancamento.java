@@ -0,0 +1,83 @@
+package com.ricardo.minhasfinancas.rest;
+
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ConversorLancamento {
+	private final UsuarioService usuarioService;
+
+	public LancamentoDTO paraDTO(Lancamento lancamento) {
+		return LancamentoDTO.builder().id(lancamento.getId()).descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes()).valor(lancamento.getValor()).status(lancamento.getStatus().name())
+				.tipo(lancamento.getTipo().name()).usuario(lancamento.getUsuario().getId()).ano(lancamento.getAno())
+				.dataCadastro(lancamento.getDataCadastro()).versao(lancamento.getVersao()).build();
+	}
+
+	public Lancamento paraEntidade(LancamentoDTO dto) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setId(dto.getId());
+		lancamento.setDescricao(dto.getDescricao());
+		lancamento.setAno(dto.getAno());
+		lancamento.setMes(dto.getMes());
+		lancamento.setValor(dto.getValor());
+		lancamento.setUsuario(usuarioService.obterReferencia(dto.getUsuario()));
+		lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+		if (dto.getStatus() != null)
+			lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus()));
+		// a versão só vale para um lançamento já gravado; num novo faria o save tentar um merge
+		if (dto.getId() != null)
+			lancamento.setVersao(dto.getVersao());
+
+		return lancamento;
+	}
+
+	/**
+	 * Alterações de um PATCH: só os campos presentes no DTO são aplicados ao
+	 * lançamento carregado. Tipo, status e usuário são resolvidos aqui, antes da
+	 * transação que aplica as alterações.
+	 */
+	public Consumer<Lancamento> paraAlteracoes(LancamentoDTO dto) {
+		TipoLancamento tipo = dto.getTipo() == null ? null : converter(TipoLancamento.class, dto.getTipo(), "tipo");
+		StatusLancamento status = dto.getStatus() == null ? null
+				: converter(StatusLancamento.class, dto.getStatus(), "status");
+		Usuario usuario = dto.getUsuario() == null ? null : usuarioService.obterReferencia(dto.getUsuario());
+
+		return lancamento -> {
+			if (dto.getDescricao() != null)
+				lancamento.setDescricao(dto.getDescricao());
+			if (dto.getMes() != null)
+				lancamento.setMes(dto.getMes());
+			if (dto.getAno() != null)
+				lancamento.setAno(dto.getAno());
+			if (dto.getValor() != null)
+				lancamento.setValor(dto.getValor());
+			if (tipo != null)
+				lancamento.setTipo(tipo);
+			if (status != null)
+				lancamento.setStatus(status);
+			if (usuario != null)
+				lancamento.setUsuario(usuario);
+		};
+	}
+
+	public static <E extends Enum<E>> E converter(Class<E> tipo, String valor, String campo) {
+		try {
+			return Enum.valueOf(tipo, valor);
+		} catch (IllegalArgumentException e) {
+			throw new RegraNegocioException("Informe um " + campo + " de lançamento válido");
+		}
+	}
+}
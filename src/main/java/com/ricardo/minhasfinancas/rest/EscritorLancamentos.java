@@ -0,0 +1,122 @@
+package com.ricardo.minhasfinancas.rest;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+/**
+ * Escreve lançamentos um a um na saída, em NDJSON ou em CSV com as mesmas
+ * colunas aceitas pela importação de extratos.
+ */
+public abstract class EscritorLancamentos implements Closeable {
+	public static final String CSV = "text/csv";
+
+	public static EscritorLancamentos de(String formato, ObjectMapper objectMapper, OutputStream saida) {
+		if ("ndjson".equalsIgnoreCase(formato))
+			return new EscritorNdjson(objectMapper, saida);
+		if ("csv".equalsIgnoreCase(formato))
+			return new EscritorCsv(saida);
+
+		throw new RegraNegocioException("Formato de exportação inválido, informe ndjson ou csv.");
+	}
+
+	public static String tipoDeConteudo(String formato) {
+		return "csv".equalsIgnoreCase(formato) ? CSV : LeitorLancamentos.NDJSON;
+	}
+
+	public abstract void escrever(LancamentoDTO lancamento);
+
+	private static class EscritorNdjson extends EscritorLancamentos {
+		private final ObjectWriter writer;
+		private final JsonGenerator gerador;
+
+		EscritorNdjson(ObjectMapper objectMapper, OutputStream saida) {
+			// sem flush por linha: o gerador já bufferiza e só descarrega quando o buffer enche ou no close
+			this.writer = objectMapper.writerFor(LancamentoDTO.class)
+					.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			try {
+				// o separador padrão entre valores raiz é um espaço; a quebra de linha já separa as linhas
+				this.gerador = objectMapper.getFactory().createGenerator(saida).setRootValueSeparator(null);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public void escrever(LancamentoDTO lancamento) {
+			try {
+				writer.writeValue(gerador, lancamento);
+				gerador.writeRaw('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			gerador.close();
+		}
+	}
+
+	private static class EscritorCsv extends EscritorLancamentos {
+		private final Writer saida;
+
+		EscritorCsv(OutputStream saida) {
+			this.saida = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 16 * 1024);
+			try {
+				this.saida.write("id;descricao;mes;ano;valor;tipo;status;usuario\n");
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public void escrever(LancamentoDTO lancamento) {
+			try {
+				saida.write(String.valueOf(lancamento.getId()));
+				saida.write(';');
+				saida.write(texto(lancamento.getDescricao()));
+				saida.write(';');
+				saida.write(String.valueOf(lancamento.getMes()));
+				saida.write(';');
+				saida.write(String.valueOf(lancamento.getAno()));
+				saida.write(';');
+				saida.write(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString());
+				saida.write(';');
+				saida.write(lancamento.getTipo());
+				saida.write(';');
+				saida.write(lancamento.getStatus());
+				saida.write(';');
+				saida.write(String.valueOf(lancamento.getUsuario()));
+				saida.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private static String texto(String valor) {
+			if (valor == null)
+				return "";
+			if (valor.indexOf(';') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0)
+				return valor;
+			return '"' + valor.replace("\"", "\"\"") + '"';
+		}
+
+		@Override
+		public void close() throws IOException {
+			saida.close();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.ricardo.minhasfinancas.rest;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ricardo.minhasfinancas.config.DiagnosticoSql;
+import com.ricardo.minhasfinancas.rest.dto.EstatisticasCacheDTO;
+import com.ricardo.minhasfinancas.rest.dto.EstatisticasExecutorDTO;
+import com.ricardo.minhasfinancas.rest.dto.OcorrenciaSqlDTO;
+import com.ricardo.minhasfinancas.service.cache.EstatisticasSegundoNivel;
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+import com.ricardo.minhasfinancas.service.seguranca.CodificadorSenha;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/estatisticas")
+@RequiredArgsConstructor
+public class EstatisticasControler {
+	private final SaldoCache saldoCache;
+	private final EstatisticasSegundoNivel estatisticasSegundoNivel;
+	private final CodificadorSenha codificadorSenha;
+	private final DiagnosticoSql diagnosticoSql;
+
+	@GetMapping("saldo-cache")
+	public ResponseEntity<EstatisticasCacheDTO> obterEstatisticasSaldoCache() {
+		return ResponseEntity.ok(saldoCache.obterEstatisticas());
+	}
+
+	@GetMapping("cache-segundo-nivel")
+	public ResponseEntity<Map<String, EstatisticasCacheDTO>> obterEstatisticasCacheSegundoNivel() {
+		return ResponseEntity.ok(estatisticasSegundoNivel.obter());
+	}
+
+	@GetMapping("verificacao-senha")
+	public ResponseEntity<EstatisticasExecutorDTO> obterEstatisticasVerificacaoSenha() {
+		return ResponseEntity.ok(codificadorSenha.obterEstatisticas());
+	}
+
+	@GetMapping("orcamento-sql")
+	public ResponseEntity<List<OcorrenciaSqlDTO>> obterExcessosDeSql() {
+		return ResponseEntity.ok(diagnosticoSql.obterOcorrencias());
+	}
+}
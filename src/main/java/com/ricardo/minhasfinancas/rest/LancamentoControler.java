@@ -1,25 +1,49 @@
 package com.ricardo.minhasfinancas.rest;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ricardo.minhasfinancas.exception.FilaCheiaException;
 import com.ricardo.minhasfinancas.exception.RegraNegocioException;
 import com.ricardo.minhasfinancas.model.entity.Lancamento;
-import com.ricardo.minhasfinancas.model.entity.Usuario;
 import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
 import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.CursorLancamento;
+import com.ricardo.minhasfinancas.model.repository.FaixaLancamento;
+import com.ricardo.minhasfinancas.rest.dto.AtualizacaoStatusLoteDTO;
 import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoAtualizacaoStatusDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoImportacaoDTO;
+import com.ricardo.minhasfinancas.service.AtualizacaoStatusService;
+import com.ricardo.minhasfinancas.service.ImportacaoLancamentoService;
 import com.ricardo.minhasfinancas.service.LancamentoService;
 import com.ricardo.minhasfinancas.service.UsuarioService;
 
@@ -29,36 +53,136 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/lancamentos")
 @RequiredArgsConstructor
 public class LancamentoControler {
+	public static final String PROXIMO_CURSOR = "X-Proximo-Cursor";
+
 	private final LancamentoService lancamentoService;
 	private final UsuarioService usuarioService;
+	private final ImportacaoLancamentoService importacaoLancamentoService;
+	private final ObjectMapper objectMapper;
+	private final ConversorLancamento conversorLancamento;
+	private final AtualizacaoStatusService atualizacaoStatusService;
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@PostMapping
 	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
 		try {
-			Lancamento lancamentoSalvo = lancamentoService.salvar(converter(dto));
+			Lancamento lancamentoSalvo = lancamentoService.salvar(conversorLancamento.paraEntidade(dto));
 			return new ResponseEntity(lancamentoSalvo, HttpStatus.CREATED);
 		} catch (RegraNegocioException salvarLancamento) {
 			return ResponseEntity.badRequest().body(salvarLancamento.getMessage());
 		}
 	}
 
+	@PostMapping(value = "lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ResultadoImportacaoDTO> salvarLote(InputStream corpo) throws IOException {
+		return ResponseEntity.ok(importacaoLancamentoService.importar(LeitorLancamentos.json(objectMapper, corpo), true));
+	}
+
+	@PostMapping(value = "lote", consumes = LeitorLancamentos.NDJSON)
+	public ResponseEntity<ResultadoImportacaoDTO> salvarLoteNdjson(InputStream corpo) {
+		return ResponseEntity.ok(importacaoLancamentoService.importar(LeitorLancamentos.ndjson(objectMapper, corpo), true));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@PostMapping(value = "importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity importarExtrato(@RequestParam("usuario") Long idUsuario,
+			@RequestParam("formato") String formato, @RequestParam(value = "colunas", required = false) String colunas,
+			@RequestParam(value = "charset", defaultValue = "UTF-8") String charset,
+			@RequestPart("arquivo") MultipartFile arquivo) throws IOException {
+		try (InputStream entrada = arquivo.getInputStream()) {
+			return importarExtrato(idUsuario, formato, colunas, charset, entrada);
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	@PostMapping(value = "importacao", consumes = { "text/csv", "application/x-ofx", MediaType.TEXT_PLAIN_VALUE,
+			MediaType.APPLICATION_OCTET_STREAM_VALUE })
+	public ResponseEntity importarExtrato(@RequestParam("usuario") Long idUsuario,
+			@RequestParam("formato") String formato, @RequestParam(value = "colunas", required = false) String colunas,
+			@RequestParam(value = "charset", defaultValue = "UTF-8") String charset, InputStream corpo)
+			throws IOException {
+		if (!usuarioService.existe(idUsuario))
+			return ResponseEntity.badRequest().body("Usuário não encontrado para o ID informado.");
+
+		try {
+			LeitorExtrato leitor = LeitorExtrato.de(formato, corpo, Charset.forName(charset), idUsuario, colunas);
+			return ResponseEntity.ok(importacaoLancamentoService.importar(leitor, false));
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			return ResponseEntity.badRequest().body("Charset inválido: " + charset);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping("export")
+	public ResponseEntity<StreamingResponseBody> exportar(@RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "formato", defaultValue = "ndjson") String formato) {
+		if (!"ndjson".equalsIgnoreCase(formato) && !"csv".equalsIgnoreCase(formato))
+			return erroDeExportacao("Formato de exportação inválido, informe ndjson ou csv.");
+		if (!usuarioService.existe(idUsuario))
+			return erroDeExportacao("Usuário não encontrado para o ID informado.");
+
+		// gravado depois que o controller retorna, em outra thread e com sua própria transação
+		StreamingResponseBody corpo = saida -> {
+			try (EscritorLancamentos escritor = EscritorLancamentos.de(formato, objectMapper, saida)) {
+				lancamentoService.percorrerPorUsuario(idUsuario, lancamento -> escritor.escrever(conversorLancamento.paraDTO(lancamento)));
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(EscritorLancamentos.tipoDeConteudo(formato)))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"lancamentos." + formato.toLowerCase() + "\"")
+				.body(corpo);
+	}
+
 	@SuppressWarnings("rawtypes")
 	@GetMapping
 	public ResponseEntity find(@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
-			@RequestParam(value = "ano", required = false) Integer ano, @RequestParam("usuario") Long idUsuario) {
+			@RequestParam(value = "ano", required = false) Integer ano, @RequestParam("usuario") Long idUsuario,
+			@RequestParam(value = "tipo", required = false) String tipo,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "anoInicial", required = false) Integer anoInicial,
+			@RequestParam(value = "mesInicial", required = false) Integer mesInicial,
+			@RequestParam(value = "anoFinal", required = false) Integer anoFinal,
+			@RequestParam(value = "mesFinal", required = false) Integer mesFinal,
+			@RequestParam(value = "valorMinimo", required = false) BigDecimal valorMinimo,
+			@RequestParam(value = "valorMaximo", required = false) BigDecimal valorMaximo,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", defaultValue = "50") int tamanho,
+			@RequestParam(value = "ordem", defaultValue = "asc") String ordem) {
 		Lancamento lancamentoFiltro = new Lancamento();
 		lancamentoFiltro.setDescricao(descricao);
 		lancamentoFiltro.setMes(mes);
 		lancamentoFiltro.setAno(ano);
-		Optional<Usuario> usuario = usuarioService.findById(idUsuario);
-		if (!usuario.isPresent()) {
+		if (!usuarioService.existe(idUsuario)) {
 			return ResponseEntity.badRequest().body("Usuário não encontrado para o ID informado.");
 		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
+			lancamentoFiltro.setUsuario(usuarioService.obterReferencia(idUsuario));
+		}
+
+		FaixaLancamento faixa = FaixaLancamento.builder().anoInicial(anoInicial).mesInicial(mesInicial)
+				.anoFinal(anoFinal).mesFinal(mesFinal).valorMinimo(valorMinimo).valorMaximo(valorMaximo).build();
+		try {
+			if (tipo != null)
+				lancamentoFiltro.setTipo(ConversorLancamento.converter(TipoLancamento.class, tipo, "tipo"));
+			if (status != null)
+				lancamentoFiltro.setStatus(ConversorLancamento.converter(StatusLancamento.class, status, "status"));
+			Sort.Direction direcao = Sort.Direction.fromString(ordem);
+			CursorLancamento cursorAtual = cursor == null ? null : CursorLancamento.decodificar(cursor);
+			Slice<LancamentoDTO> pagina = lancamentoService.listar(lancamentoFiltro, faixa.isVazia() ? null : faixa,
+					cursorAtual, tamanho, direcao);
+
+			ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+			if (pagina.hasNext()) {
+				LancamentoDTO ultimo = pagina.getContent().get(pagina.getNumberOfElements() - 1);
+				resposta.header(PROXIMO_CURSOR, CursorLancamento.de(ultimo).codificar());
+			}
+			return resposta.body(pagina.getContent());
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Ordem inválida, informe asc ou desc.");
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
 		}
-		return ResponseEntity.ok(lancamentoService.buscar(lancamentoFiltro));
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
@@ -66,16 +190,34 @@ public class LancamentoControler {
 	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO lancamentoDTO) {
 		return lancamentoService.findById(id).map(entitiy -> {
 			try {
-				Lancamento lancamento = converter(lancamentoDTO);
+				Lancamento lancamento = conversorLancamento.paraEntidade(lancamentoDTO);
 				lancamento.setId(entitiy.getId());
-				lancamentoService.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				// sem versão no corpo vale a gravada, como antes do controle de concorrência
+				if (lancamentoDTO.getVersao() == null)
+					lancamento.setVersao(entitiy.getVersao());
+				return ResponseEntity.ok(lancamentoService.atualizar(lancamento));
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
+			} catch (ObjectOptimisticLockingFailureException e) {
+				return conflito();
 			}
 		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
 	}
 
+	@SuppressWarnings("rawtypes")
+	@PatchMapping("{id}")
+	public ResponseEntity alterar(@PathVariable("id") Long id, @RequestBody LancamentoDTO alteracoes) {
+		try {
+			Lancamento lancamento = lancamentoService.alterar(id, alteracoes.getVersao(),
+					conversorLancamento.paraAlteracoes(alteracoes));
+			return ResponseEntity.ok(conversorLancamento.paraDTO(lancamento));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (ObjectOptimisticLockingFailureException e) {
+			return conflito();
+		}
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@PutMapping("{id}/atualiza-status")
 	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody String status) {
@@ -91,10 +233,51 @@ public class LancamentoControler {
 				return ResponseEntity.ok(lancamento);
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
+			} catch (ObjectOptimisticLockingFailureException e) {
+				return conflito();
 			}
 		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de Dados", HttpStatus.BAD_REQUEST));
 	}
 
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@PutMapping("atualiza-status")
+	public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizacaoStatusLoteDTO dto,
+			@RequestParam(value = "assincrono", defaultValue = "false") boolean assincrono) {
+		StatusLancamento status;
+		try {
+			status = StatusLancamento.valueOf(String.valueOf(dto.getStatus()));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest()
+					.body("Não foi possível atualizar o status dos lançamentos, envie um status válido.");
+		}
+
+		if (dto.getIds() == null || dto.getIds().isEmpty()) {
+			return ResponseEntity.badRequest().body("Informe os lançamentos a atualizar.");
+		}
+
+		// conferido aqui porque a fila processa fora da requisição, já sem o usuário do token
+		lancamentoService.conferirAcesso(dto.getIds());
+
+		if (!assincrono) {
+			return ResponseEntity.ok(atualizacaoStatusService.atualizar(dto.getIds(), status));
+		}
+
+		try {
+			ResultadoAtualizacaoStatusDTO tarefa = atualizacaoStatusService.enfileirar(dto.getIds(), status);
+			return ResponseEntity.accepted().location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+					.path("/tarefas/{tarefa}").buildAndExpand(tarefa.getTarefa()).toUri()).body(tarefa);
+		} catch (FilaCheiaException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+					.body(e.getMessage());
+		}
+	}
+
+	@GetMapping("atualiza-status/tarefas/{tarefa}")
+	public ResponseEntity<ResultadoAtualizacaoStatusDTO> obterTarefaDeStatus(@PathVariable("tarefa") String tarefa) {
+		return atualizacaoStatusService.obterTarefa(tarefa).map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@DeleteMapping("{id}")
 	public ResponseEntity deletar(@PathVariable("id") Long id) {
@@ -109,30 +292,18 @@ public class LancamentoControler {
 	@GetMapping("{id}")
 	public ResponseEntity obterPorId(@PathVariable("id") Long id) {
 		return lancamentoService.findById(id).map(lancamento -> {
-			return ResponseEntity.ok(converter(lancamento));
+			return ResponseEntity.ok(conversorLancamento.paraDTO(lancamento));
 		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
 	}
 
-	private LancamentoDTO converter(Lancamento lancamento) {
-		return LancamentoDTO.builder().id(lancamento.getId()).descricao(lancamento.getDescricao())
-				.mes(lancamento.getMes()).valor(lancamento.getValor()).status(lancamento.getStatus().name())
-				.tipo(lancamento.getTipo().name()).usuario(lancamento.getUsuario().getId()).ano(lancamento.getAno()).build();
+	private static ResponseEntity<String> conflito() {
+		return ResponseEntity.status(HttpStatus.CONFLICT)
+				.body("O lançamento foi alterado por outra requisição, recarregue-o e tente novamente.");
 	}
 
-	private Lancamento converter(LancamentoDTO dto) {
-		Lancamento lancamento = new Lancamento();
-		lancamento.setId(dto.getId());
-		lancamento.setDescricao(dto.getDescricao());
-		lancamento.setAno(dto.getAno());
-		lancamento.setMes(dto.getMes());
-		lancamento.setValor(dto.getValor());
-		lancamento.setUsuario(usuarioService.findById(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o id informado.")));
-		lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
-		if (dto.getStatus() != null)
-			lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus()));
-
-		return lancamento;
+	private static ResponseEntity<StreamingResponseBody> erroDeExportacao(String mensagem) {
+		return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+				.body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
 	}
 
 }
@@ -0,0 +1,105 @@
+package com.ricardo.minhasfinancas.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+public abstract class LeitorExtrato implements Iterator<LancamentoDTO> {
+	protected final BufferedReader leitor;
+	protected final Long usuario;
+	private LancamentoDTO proximo;
+	private RegraNegocioException erro;
+	private boolean encerrado;
+
+	protected LeitorExtrato(InputStream entrada, Charset charset, Long usuario) {
+		this.leitor = new BufferedReader(new InputStreamReader(entrada, charset), 64 * 1024);
+		this.usuario = usuario;
+	}
+
+	public static LeitorExtrato de(String formato, InputStream entrada, Charset charset, Long usuario,
+			String colunas) throws IOException {
+		if ("csv".equalsIgnoreCase(formato))
+			return new LeitorExtratoCsv(entrada, charset, usuario, colunas);
+		if ("ofx".equalsIgnoreCase(formato))
+			return new LeitorExtratoOfx(entrada, charset, usuario);
+
+		throw new RegraNegocioException("Formato de extrato inválido, informe csv ou ofx.");
+	}
+
+	/**
+	 * Lê o próximo lançamento do extrato, ou retorna null no fim do arquivo. Erros
+	 * de uma linha devem ser lançados como {@link RegraNegocioException} depois
+	 * de consumi-la, para que a leitura continue na linha seguinte.
+	 */
+	protected abstract LancamentoDTO ler() throws IOException;
+
+	@Override
+	public boolean hasNext() {
+		if (proximo != null || erro != null)
+			return true;
+		if (encerrado)
+			return false;
+
+		try {
+			proximo = ler();
+			encerrado = proximo == null;
+		} catch (RegraNegocioException e) {
+			erro = e;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return proximo != null || erro != null;
+	}
+
+	@Override
+	public LancamentoDTO next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		if (erro != null) {
+			RegraNegocioException lancado = erro;
+			erro = null;
+			throw lancado;
+		}
+
+		LancamentoDTO lancamento = proximo;
+		proximo = null;
+		return lancamento;
+	}
+
+	/**
+	 * O último separador, ponto ou vírgula, é o decimal e o outro é o de
+	 * milhar: "1.234,56" e "1,234.56" valem o mesmo. Um separador de milhar
+	 * depois do decimal deixa o valor inválido.
+	 */
+	protected static BigDecimal converterValor(String valor) {
+		String normalizado = valor.trim().replace(" ", "");
+		if (normalizado.lastIndexOf(',') > normalizado.lastIndexOf('.'))
+			normalizado = normalizado.replace(".", "").replace(',', '.');
+		else
+			normalizado = normalizado.replace(",", "");
+		try {
+			return new BigDecimal(normalizado);
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException("Informe um valor válido");
+		}
+	}
+
+	protected LancamentoDTO criarLancamento(String descricao, Integer mes, Integer ano, BigDecimal valor,
+			TipoLancamento tipo) {
+		TipoLancamento tipoLancamento = tipo != null ? tipo
+				: valor.signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA;
+		return LancamentoDTO.builder().descricao(descricao).mes(mes).ano(ano).valor(valor.abs()).usuario(usuario)
+				.tipo(tipoLancamento.name()).build();
+	}
+}
@@ -0,0 +1,162 @@
+package com.ricardo.minhasfinancas.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+/**
+ * Lê um extrato CSV linha a linha. A primeira linha é o cabeçalho e o
+ * separador (";" ou ",") é detectado a partir dela. Por padrão as colunas têm
+ * o nome dos campos (descricao, mes, ano, valor, tipo); "data" pode substituir
+ * mes e ano e, sem a coluna tipo, o sinal do valor define receita ou despesa.
+ * Nomes diferentes são informados como "campo:Cabeçalho,campo:Cabeçalho".
+ */
+public class LeitorExtratoCsv extends LeitorExtrato {
+	private static final String[] CAMPOS = { "descricao", "mes", "ano", "valor", "tipo", "data" };
+
+	private final char separador;
+	private final Map<String, Integer> indices = new HashMap<>();
+
+	LeitorExtratoCsv(InputStream entrada, Charset charset, Long usuario, String colunas) throws IOException {
+		super(entrada, charset, usuario);
+		String cabecalho = leitor.readLine();
+		if (cabecalho == null)
+			throw new RegraNegocioException("Extrato CSV vazio.");
+
+		cabecalho = cabecalho.replace("\uFEFF", "");
+		separador = contar(cabecalho, ';') >= contar(cabecalho, ',') ? ';' : ',';
+
+		Map<String, String> nomes = new HashMap<>();
+		for (String campo : CAMPOS)
+			nomes.put(campo, campo);
+		if (colunas != null && !colunas.trim().isEmpty()) {
+			for (String mapeamento : colunas.split(",")) {
+				String[] partes = mapeamento.split(":", 2);
+				if (partes.length != 2)
+					throw new RegraNegocioException("Mapeamento de colunas inválido: " + mapeamento);
+				nomes.put(partes[0].trim().toLowerCase(), partes[1].trim());
+			}
+		}
+
+		List<String> titulos = dividir(cabecalho);
+		for (String campo : CAMPOS) {
+			for (int i = 0; i < titulos.size(); i++) {
+				if (titulos.get(i).trim().equalsIgnoreCase(nomes.get(campo)))
+					indices.put(campo, i);
+			}
+		}
+
+		if (!indices.containsKey("descricao") || !indices.containsKey("valor")
+				|| !(indices.containsKey("data") || indices.containsKey("mes") && indices.containsKey("ano")))
+			throw new RegraNegocioException("O extrato CSV deve ter as colunas descricao, valor e data (ou mes e ano).");
+	}
+
+	@Override
+	protected LancamentoDTO ler() throws IOException {
+		String linha;
+		do {
+			linha = leitor.readLine();
+			if (linha == null)
+				return null;
+		} while (linha.trim().isEmpty());
+
+		List<String> valores = dividir(linha);
+		Integer mes;
+		Integer ano;
+		if (indices.containsKey("data")) {
+			String data = campo(valores, "data");
+			try {
+				if (data.matches("\\d{4}-\\d{2}-\\d{2}.*")) {
+					ano = Integer.valueOf(data.substring(0, 4));
+					mes = Integer.valueOf(data.substring(5, 7));
+				} else if (data.matches("\\d{2}/\\d{2}/\\d{4}")) {
+					mes = Integer.valueOf(data.substring(3, 5));
+					ano = Integer.valueOf(data.substring(6, 10));
+				} else {
+					throw new RegraNegocioException("Data inválida: " + data);
+				}
+			} catch (NumberFormatException e) {
+				throw new RegraNegocioException("Data inválida: " + data);
+			}
+		} else {
+			mes = inteiro(campo(valores, "mes"), "Informe um mês válido");
+			ano = inteiro(campo(valores, "ano"), "Informe um ano válido");
+		}
+
+		BigDecimal valor = converterValor(campo(valores, "valor"));
+		TipoLancamento tipo = indices.containsKey("tipo") ? tipo(campo(valores, "tipo")) : null;
+		return criarLancamento(campo(valores, "descricao"), mes, ano, valor, tipo);
+	}
+
+	private String campo(List<String> valores, String campo) {
+		int indice = indices.get(campo);
+		if (indice >= valores.size())
+			throw new RegraNegocioException("Linha sem a coluna " + campo);
+		return valores.get(indice).trim();
+	}
+
+	private static Integer inteiro(String valor, String mensagem) {
+		try {
+			return Integer.valueOf(valor);
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException(mensagem);
+		}
+	}
+
+	private static TipoLancamento tipo(String valor) {
+		switch (valor.toUpperCase()) {
+		case "RECEITA":
+		case "CREDITO":
+		case "C":
+			return TipoLancamento.RECEITA;
+		case "DESPESA":
+		case "DEBITO":
+		case "D":
+			return TipoLancamento.DESPESA;
+		default:
+			throw new RegraNegocioException("Informe um tipo de lançamento válido");
+		}
+	}
+
+	private List<String> dividir(String linha) {
+		List<String> valores = new ArrayList<>();
+		StringBuilder atual = new StringBuilder();
+		boolean entreAspas = false;
+		for (int i = 0; i < linha.length(); i++) {
+			char c = linha.charAt(i);
+			if (c == '"') {
+				if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+					atual.append('"');
+					i++;
+				} else {
+					entreAspas = !entreAspas;
+				}
+			} else if (c == separador && !entreAspas) {
+				valores.add(atual.toString());
+				atual.setLength(0);
+			} else {
+				atual.append(c);
+			}
+		}
+		valores.add(atual.toString());
+		return valores;
+	}
+
+	private static int contar(String texto, char caractere) {
+		int total = 0;
+		for (int i = 0; i < texto.length(); i++) {
+			if (texto.charAt(i) == caractere)
+				total++;
+		}
+		return total;
+	}
+}
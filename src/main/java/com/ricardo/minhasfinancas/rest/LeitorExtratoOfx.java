@@ -0,0 +1,93 @@
+package com.ricardo.minhasfinancas.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+/**
+ * Lê as transações (STMTTRN) de um extrato OFX, tanto no formato SGML (1.x,
+ * sem fechamento dos elementos simples) quanto XML (2.x), sem carregar o
+ * arquivo inteiro.
+ */
+public class LeitorExtratoOfx extends LeitorExtrato {
+	private final StringBuilder texto = new StringBuilder();
+	private final StringBuilder tag = new StringBuilder();
+
+	LeitorExtratoOfx(InputStream entrada, Charset charset, Long usuario) {
+		super(entrada, charset, usuario);
+	}
+
+	@Override
+	protected LancamentoDTO ler() throws IOException {
+		String atual;
+		do {
+			atual = proximaTag();
+			if (atual == null)
+				return null;
+		} while (!atual.equals("STMTTRN"));
+
+		Map<String, String> campos = new HashMap<>();
+		String aberta = null;
+		while ((atual = proximaTag()) != null) {
+			String valor = texto.toString().trim();
+			if (aberta != null && !valor.isEmpty())
+				campos.putIfAbsent(aberta, decodificar(valor));
+			if (atual.equals("/STMTTRN"))
+				return converter(campos);
+			aberta = atual.startsWith("/") ? null : atual;
+		}
+		throw new RegraNegocioException("Transação OFX incompleta no fim do arquivo.");
+	}
+
+	private LancamentoDTO converter(Map<String, String> campos) {
+		String data = campos.get("DTPOSTED");
+		String valor = campos.get("TRNAMT");
+		if (data == null || data.length() < 8 || valor == null)
+			throw new RegraNegocioException("Transação OFX sem DTPOSTED ou TRNAMT.");
+
+		String descricao = campos.containsKey("MEMO") ? campos.get("MEMO") : campos.get("NAME");
+		BigDecimal quantia = converterValor(valor);
+		TipoLancamento tipo = null;
+		if ("CREDIT".equals(campos.get("TRNTYPE")))
+			tipo = TipoLancamento.RECEITA;
+		else if ("DEBIT".equals(campos.get("TRNTYPE")))
+			tipo = TipoLancamento.DESPESA;
+
+		try {
+			return criarLancamento(descricao, Integer.valueOf(data.substring(4, 6)),
+					Integer.valueOf(data.substring(0, 4)), quantia, tipo);
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException("Data inválida: " + data);
+		}
+	}
+
+	// lê até o próximo "<...>", deixando em texto o conteúdo que o precede
+	private String proximaTag() throws IOException {
+		texto.setLength(0);
+		int c;
+		while ((c = leitor.read()) != '<') {
+			if (c == -1)
+				return null;
+			texto.append((char) c);
+		}
+
+		tag.setLength(0);
+		while ((c = leitor.read()) != '>') {
+			if (c == -1)
+				return null;
+			tag.append((char) c);
+		}
+		return tag.toString().trim().toUpperCase();
+	}
+
+	private static String decodificar(String valor) {
+		return valor.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+	}
+}
@@ -0,0 +1,121 @@
+package com.ricardo.minhasfinancas.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+public final class LeitorLancamentos {
+	public static final String NDJSON = "application/x-ndjson";
+
+	private LeitorLancamentos() {
+	}
+
+	public static Iterator<LancamentoDTO> json(ObjectMapper objectMapper, InputStream entrada) throws IOException {
+		return new IteradorJson(objectMapper.readerFor(LancamentoDTO.class).readValues(entrada));
+	}
+
+	public static Iterator<LancamentoDTO> ndjson(ObjectMapper objectMapper, InputStream entrada) {
+		return new IteradorNdjson(objectMapper,
+				new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+	}
+
+	private static class IteradorJson implements Iterator<LancamentoDTO> {
+		private final MappingIterator<LancamentoDTO> valores;
+		private RegraNegocioException erroDeSintaxe;
+		private boolean encerrado;
+
+		IteradorJson(MappingIterator<LancamentoDTO> valores) {
+			this.valores = valores;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (encerrado)
+				return false;
+			try {
+				return erroDeSintaxe != null || valores.hasNextValue();
+			} catch (IOException e) {
+				erroDeSintaxe = new RegraNegocioException("JSON inválido: " + mensagem(e));
+				return true;
+			}
+		}
+
+		@Override
+		public LancamentoDTO next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			if (erroDeSintaxe != null) {
+				encerrado = true;
+				throw erroDeSintaxe;
+			}
+
+			try {
+				return valores.nextValue();
+			} catch (JsonParseException e) {
+				// erro de sintaxe não permite localizar o próximo elemento do array
+				encerrado = true;
+				throw new RegraNegocioException("JSON inválido: " + mensagem(e));
+			} catch (IOException e) {
+				throw new RegraNegocioException("Lançamento inválido: " + mensagem(e));
+			}
+		}
+	}
+
+	private static class IteradorNdjson implements Iterator<LancamentoDTO> {
+		private final ObjectMapper objectMapper;
+		private final BufferedReader leitor;
+		private String proximaLinha;
+
+		IteradorNdjson(ObjectMapper objectMapper, BufferedReader leitor) {
+			this.objectMapper = objectMapper;
+			this.leitor = leitor;
+		}
+
+		@Override
+		public boolean hasNext() {
+			try {
+				while (proximaLinha == null) {
+					String linha = leitor.readLine();
+					if (linha == null)
+						return false;
+					if (!linha.trim().isEmpty())
+						proximaLinha = linha;
+				}
+				return true;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public LancamentoDTO next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			String linha = proximaLinha;
+			proximaLinha = null;
+			try {
+				return objectMapper.readValue(linha, LancamentoDTO.class);
+			} catch (JsonProcessingException e) {
+				throw new RegraNegocioException("Lançamento inválido: " + mensagem(e));
+			}
+		}
+	}
+
+	private static String mensagem(IOException e) {
+		return e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage()
+				: e.getMessage();
+	}
+}
@@ -0,0 +1,22 @@
+package com.ricardo.minhasfinancas.rest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
+
+/**
+ * Responde 403 quando o token da requisição é de outro usuário, venha a
+ * recusa do controlador, do conversor ou do serviço.
+ */
+@RestControllerAdvice
+public class TratadorAcessoNegado {
+
+	@ExceptionHandler(AcessoNegadoException.class)
+	public ResponseEntity<String> acessoNegado(AcessoNegadoException e) {
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+	}
+}
@@ -1,9 +1,10 @@
 package com.ricardo.minhasfinancas.rest;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.LocalDate;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,13 +12,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ricardo.minhasfinancas.exception.ErroAutenticacao;
+import com.ricardo.minhasfinancas.exception.FilaCheiaException;
 import com.ricardo.minhasfinancas.exception.RegraNegocioException;
 import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.rest.dto.ResumoAnualDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
+import com.ricardo.minhasfinancas.rest.dto.SessaoUsuarioDTO;
 import com.ricardo.minhasfinancas.service.LancamentoService;
 import com.ricardo.minhasfinancas.service.UsuarioService;
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -26,6 +33,8 @@ public class UsuarioControler {
 	private UsuarioService usuarioService;
 	@Autowired
 	private LancamentoService lancamentoService;
+	@Autowired
+	private TokenAcesso tokenAcesso;
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@PostMapping
@@ -35,6 +44,8 @@ public class UsuarioControler {
 			return new ResponseEntity(usuarioSalvo, HttpStatus.CREATED);
 		} catch (RegraNegocioException salvarUsuarioException) {
 			return ResponseEntity.badRequest().body(salvarUsuarioException.getMessage());
+		} catch (FilaCheiaException e) {
+			return indisponivel(e);
 		}
 	}
 
@@ -43,29 +54,59 @@ public class UsuarioControler {
 	public ResponseEntity autenticar(@RequestBody Usuario usuario) {
 		try {
 			Usuario usuarioAutenticado = usuarioService.autenticar(usuario.getEmail(), usuario.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
+			String token = tokenAcesso.emitir(usuarioAutenticado.getId());
+			return ResponseEntity.ok(SessaoUsuarioDTO.builder().id(usuarioAutenticado.getId())
+					.nome(usuarioAutenticado.getNome()).email(usuarioAutenticado.getEmail()).token(token)
+					.expiracao(tokenAcesso.obterExpiracao(token)).build());
 		} catch (ErroAutenticacao autenticarUsuarioException) {
 			return ResponseEntity.badRequest().body(autenticarUsuarioException.getMessage());
+		} catch (FilaCheiaException e) {
+			return indisponivel(e);
 		}
 	}
 
 	@SuppressWarnings("rawtypes")
 	@GetMapping("{id}/saldo")
 	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = usuarioService.findById(id);
-		if (!usuario.isPresent())
+		if (!usuarioService.existe(id))
 			return new ResponseEntity(HttpStatus.NOT_FOUND);
 
 		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
 		return ResponseEntity.ok(saldo);
 	}
 
+	@SuppressWarnings("rawtypes")
+	@GetMapping("{id}/saldo/detalhado")
+	public ResponseEntity obterSaldoDetalhado(@PathVariable("id") Long id) {
+		if (!usuarioService.existe(id))
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+
+		SaldoDetalhadoDTO saldo = lancamentoService.obterSaldoDetalhadoPorUsuario(id);
+		return ResponseEntity.ok(saldo);
+	}
+
+	@SuppressWarnings("rawtypes")
+	@GetMapping("{id}/resumo")
+	public ResponseEntity obterResumo(@PathVariable("id") Long id,
+			@RequestParam(value = "ano", required = false) Integer ano) {
+		if (!usuarioService.existe(id))
+			return new ResponseEntity(HttpStatus.NOT_FOUND);
+
+		ResumoAnualDTO resumo = lancamentoService.obterResumoAnualPorUsuario(id,
+				ano == null ? LocalDate.now().getYear() : ano);
+		return ResponseEntity.ok(resumo);
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@GetMapping("{id}")
 	public ResponseEntity obterPorId(@PathVariable("id") Long id) {
-		return usuarioService.findById(id).map(usuario -> {
+		return usuarioService.obterResumo(id).map(usuario -> {
 			return ResponseEntity.ok(usuario);
 		}).orElseGet(() -> new ResponseEntity("Usuário não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
 	}
 
+	private static ResponseEntity<String> indisponivel(FilaCheiaException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(e.getMessage());
+	}
 }
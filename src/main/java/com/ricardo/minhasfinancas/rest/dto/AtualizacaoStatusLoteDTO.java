@@ -0,0 +1,18 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoStatusLoteDTO {
+	private List<Long> ids;
+	private String status;
+
+}
@@ -0,0 +1,23 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DivergenciaSaldoDTO {
+	private Long usuario;
+	private Integer ano;
+	private Integer mes;
+	private String tipo;
+	private String status;
+	private Dinheiro valorEsperado;
+	private Dinheiro valorRegistrado;
+
+}
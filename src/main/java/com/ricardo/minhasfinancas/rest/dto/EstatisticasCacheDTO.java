@@ -0,0 +1,19 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasCacheDTO {
+	private long tamanho;
+	private long acertos;
+	private long falhas;
+	private long despejos;
+	private double taxaAcerto;
+
+}
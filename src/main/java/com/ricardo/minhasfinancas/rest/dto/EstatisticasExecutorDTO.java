@@ -0,0 +1,20 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasExecutorDTO {
+	private int threads;
+	private int ativas;
+	private int fila;
+	private int capacidadeFila;
+	private long concluidas;
+	private long rejeitadas;
+
+}
@@ -1,6 +1,11 @@
 package com.ricardo.minhasfinancas.rest.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.ricardo.minhasfinancas.model.entity.Periodo;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,5 +25,14 @@ public class LancamentoDTO {
 	private Long usuario;
 	private String tipo;
 	private String status;
-	
+	private LocalDate dataCadastro;
+	private Long versao;
+
+	// usado pelas consultas que montam o DTO diretamente (select new), com o período aaaamm da coluna
+	public LancamentoDTO(Long id, String descricao, Integer periodo, BigDecimal valor, Long usuario,
+			TipoLancamento tipo, StatusLancamento status, LocalDate dataCadastro, Long versao) {
+		this(id, descricao, Periodo.mesDe(periodo), Periodo.anoDe(periodo), valor, usuario,
+				tipo == null ? null : tipo.name(), status == null ? null : status.name(), dataCadastro, versao);
+	}
+
 }
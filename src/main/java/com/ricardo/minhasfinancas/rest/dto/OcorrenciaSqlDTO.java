@@ -0,0 +1,27 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcorrenciaSqlDTO {
+	private Instant instante;
+	private String metodo;
+	private String uri;
+	private List<String> motivos;
+	private int comandos;
+	private long tempoMs;
+	private String comandoMaisRepetido;
+	private int repeticoes;
+	private String comandoMaisLento;
+	private long tempoMaisLentoMs;
+
+}
@@ -0,0 +1,21 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAtualizacaoStatusDTO {
+	private String tarefa;
+	private String situacao;
+	private String status;
+	private long solicitados;
+	private long processados;
+	private long atualizados;
+	private String erro;
+
+}
@@ -0,0 +1,15 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ResultadoImportacaoDTO {
+	private long total;
+	private long importados;
+	private long rejeitados;
+	private List<ResultadoLinhaDTO> linhas = new ArrayList<>();
+
+}
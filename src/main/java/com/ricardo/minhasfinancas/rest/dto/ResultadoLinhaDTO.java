@@ -0,0 +1,17 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLinhaDTO {
+	private long linha;
+	private Long id;
+	private String erro;
+
+}
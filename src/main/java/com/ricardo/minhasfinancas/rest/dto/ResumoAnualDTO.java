@@ -0,0 +1,19 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoAnualDTO {
+	private Long usuario;
+	private Integer ano;
+	private List<ResumoMensalDTO> meses;
+
+}
@@ -0,0 +1,17 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalDTO {
+	private Integer mes;
+	private SaldoPorStatusDTO receitas;
+	private SaldoPorStatusDTO despesas;
+
+}
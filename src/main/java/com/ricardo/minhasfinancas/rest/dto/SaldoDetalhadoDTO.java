@@ -0,0 +1,19 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoDetalhadoDTO {
+	private Dinheiro saldo;
+	private SaldoPorStatusDTO receitas;
+	private SaldoPorStatusDTO despesas;
+
+}
@@ -0,0 +1,17 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoPorStatusDTO {
+	private Dinheiro efetivado = Dinheiro.ZERO;
+	private Dinheiro pendente = Dinheiro.ZERO;
+	private Dinheiro cancelado = Dinheiro.ZERO;
+
+}
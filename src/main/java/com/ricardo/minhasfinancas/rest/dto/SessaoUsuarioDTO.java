@@ -0,0 +1,21 @@
+package com.ricardo.minhasfinancas.rest.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessaoUsuarioDTO {
+	private Long id;
+	private String nome;
+	private String email;
+	private String token;
+	private Instant expiracao;
+
+}
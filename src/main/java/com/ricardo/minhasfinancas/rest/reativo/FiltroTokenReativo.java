@@ -0,0 +1,51 @@
+package com.ricardo.minhasfinancas.rest.reativo;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.ricardo.minhasfinancas.config.FiltroTokenAcesso;
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * O {@link FiltroTokenAcesso} do servidor reativo. O id do usuário fica só no
+ * atributo {@link FiltroTokenAcesso#USUARIO}: a requisição troca de thread e
+ * não pode usar o {@code ThreadLocal} de {@code UsuarioAutenticado}.
+ */
+public class FiltroTokenReativo implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+	private static final String BEARER = "Bearer ";
+
+	private final TokenAcesso tokenAcesso;
+	private final boolean obrigatorio;
+
+	public FiltroTokenReativo(TokenAcesso tokenAcesso, boolean obrigatorio) {
+		this.tokenAcesso = tokenAcesso;
+		this.obrigatorio = obrigatorio;
+	}
+
+	@Override
+	public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+		String autorizacao = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+		if (autorizacao == null || !autorizacao.regionMatches(true, 0, BEARER, 0, BEARER.length()))
+			return obrigatorio ? recusar("Bearer") : next.handle(request);
+
+		Optional<Long> usuario = tokenAcesso.validar(autorizacao.substring(BEARER.length()).trim());
+		if (!usuario.isPresent())
+			return recusar("Bearer error=\"invalid_token\"");
+
+		request.attributes().put(FiltroTokenAcesso.USUARIO, usuario.get());
+		return next.handle(request);
+	}
+
+	private static Mono<ServerResponse> recusar(String desafio) {
+		return ServerResponse.status(HttpStatus.UNAUTHORIZED).header(HttpHeaders.WWW_AUTHENTICATE, desafio)
+				.bodyValue("Token de acesso inválido ou ausente.");
+	}
+}
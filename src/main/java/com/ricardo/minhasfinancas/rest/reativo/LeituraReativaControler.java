@@ -0,0 +1,199 @@
+package com.ricardo.minhasfinancas.rest.reativo;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.ricardo.minhasfinancas.config.FiltroTokenAcesso;
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.CursorLancamento;
+import com.ricardo.minhasfinancas.model.repository.FaixaLancamento;
+import com.ricardo.minhasfinancas.model.repository.LeituraReativaRepository;
+import com.ricardo.minhasfinancas.rest.ConversorLancamento;
+import com.ricardo.minhasfinancas.rest.LancamentoControler;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
+import com.ricardo.minhasfinancas.service.LancamentoService;
+import com.ricardo.minhasfinancas.service.SaldoUsuarioService;
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+import com.ricardo.minhasfinancas.service.cache.UsuariosCadastrados;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Saldo, resumo do usuário e listagem de lançamentos no servidor reativo, com
+ * as mesmas rotas, parâmetros e respostas dos controladores servlet. Nada aqui
+ * bloqueia: o banco é lido por R2DBC e os caches só são consultados.
+ */
+public class LeituraReativaControler {
+	private final LeituraReativaRepository leituraReativaRepository;
+	private final UsuariosCadastrados usuariosCadastrados;
+	private final SaldoCache saldoCache;
+	private final SaldoUsuarioService saldoUsuarioService;
+	private final LancamentoService lancamentoService;
+	private final int tamanhoMaximoPagina;
+
+	public LeituraReativaControler(LeituraReativaRepository leituraReativaRepository,
+			UsuariosCadastrados usuariosCadastrados, SaldoCache saldoCache, SaldoUsuarioService saldoUsuarioService,
+			LancamentoService lancamentoService, int tamanhoMaximoPagina) {
+		this.leituraReativaRepository = leituraReativaRepository;
+		this.usuariosCadastrados = usuariosCadastrados;
+		this.saldoCache = saldoCache;
+		this.saldoUsuarioService = saldoUsuarioService;
+		this.lancamentoService = lancamentoService;
+		this.tamanhoMaximoPagina = tamanhoMaximoPagina;
+	}
+
+	public RouterFunction<ServerResponse> rotas(FiltroTokenReativo filtroToken) {
+		return RouterFunctions.route().GET("/api/usuarios/{id}/saldo", this::obterSaldo)
+				.GET("/api/usuarios/{id}", this::obterPorId).GET("/api/lancamentos", this::listar).filter(filtroToken)
+				.build();
+	}
+
+	Mono<ServerResponse> obterSaldo(ServerRequest request) {
+		Long id;
+		try {
+			id = Long.valueOf(request.pathVariable("id"));
+		} catch (NumberFormatException e) {
+			return ServerResponse.badRequest().build();
+		}
+		if (deOutroUsuario(request, id))
+			return acessoNegado();
+
+		return existe(request, id).flatMap(existe -> {
+			if (!existe)
+				return ServerResponse.notFound().build();
+
+			// a entrada calculada pelo servlet serve aqui, mas não é repovoada por este caminho
+			SaldoDetalhadoDTO calculado = saldoCache.obterSeCalculado(id);
+			Mono<SaldoDetalhadoDTO> saldo = calculado != null ? Mono.just(calculado)
+					: leituraReativaRepository.obterSaldosPorTipoEStatus(id).collectList()
+							.map(saldoUsuarioService::consolidarSaldo);
+			return saldo.flatMap(detalhado -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+					.bodyValue(detalhado.getSaldo()));
+		});
+	}
+
+	Mono<ServerResponse> obterPorId(ServerRequest request) {
+		Long id;
+		try {
+			id = Long.valueOf(request.pathVariable("id"));
+		} catch (NumberFormatException e) {
+			return ServerResponse.badRequest().build();
+		}
+
+		if (deOutroUsuario(request, id))
+			return acessoNegado();
+
+		Mono<ServerResponse> naoEncontrado = ServerResponse.badRequest()
+				.bodyValue("Usuário não encontrado na base de dados.");
+		return leituraReativaRepository.obterResumo(id)
+				.flatMap(usuario -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(usuario))
+				.switchIfEmpty(naoEncontrado);
+	}
+
+	Mono<ServerResponse> listar(ServerRequest request) {
+		Lancamento filtro = new Lancamento();
+		FaixaLancamento faixa;
+		Long idUsuario;
+		int tamanho;
+		try {
+			Optional<String> usuario = request.queryParam("usuario");
+			if (!usuario.isPresent())
+				return ServerResponse.badRequest().build();
+
+			idUsuario = Long.valueOf(usuario.get());
+			filtro.setDescricao(request.queryParam("descricao").orElse(null));
+			filtro.setMes(request.queryParam("mes").map(Integer::valueOf).orElse(null));
+			filtro.setAno(request.queryParam("ano").map(Integer::valueOf).orElse(null));
+			faixa = FaixaLancamento.builder()
+					.anoInicial(request.queryParam("anoInicial").map(Integer::valueOf).orElse(null))
+					.mesInicial(request.queryParam("mesInicial").map(Integer::valueOf).orElse(null))
+					.anoFinal(request.queryParam("anoFinal").map(Integer::valueOf).orElse(null))
+					.mesFinal(request.queryParam("mesFinal").map(Integer::valueOf).orElse(null))
+					.valorMinimo(request.queryParam("valorMinimo").map(BigDecimal::new).orElse(null))
+					.valorMaximo(request.queryParam("valorMaximo").map(BigDecimal::new).orElse(null)).build();
+			tamanho = Integer.parseInt(request.queryParam("tamanho").orElse("50"));
+		} catch (NumberFormatException e) {
+			return ServerResponse.badRequest().build();
+		}
+		if (deOutroUsuario(request, idUsuario))
+			return acessoNegado();
+
+		return existe(request, idUsuario).flatMap(existe -> {
+			if (!existe)
+				return ServerResponse.badRequest().bodyValue("Usuário não encontrado para o ID informado.");
+			filtro.setUsuario(Usuario.builder().id(idUsuario).build());
+
+			Sort.Direction direcao;
+			CursorLancamento cursor;
+			try {
+				filtro.setTipo(request.queryParam("tipo")
+						.map(tipo -> ConversorLancamento.converter(TipoLancamento.class, tipo, "tipo")).orElse(null));
+				filtro.setStatus(request.queryParam("status")
+						.map(status -> ConversorLancamento.converter(StatusLancamento.class, status, "status"))
+						.orElse(null));
+				direcao = Sort.Direction.fromString(request.queryParam("ordem").orElse("asc"));
+				cursor = request.queryParam("cursor").map(CursorLancamento::decodificar).orElse(null);
+				// só valida, sem tocar no banco
+				lancamentoService.validarBusca(filtro, faixa, tamanho);
+			} catch (RegraNegocioException e) {
+				return ServerResponse.badRequest().bodyValue(e.getMessage());
+			} catch (IllegalArgumentException e) {
+				return ServerResponse.badRequest().bodyValue("Ordem inválida, informe asc ou desc.");
+			}
+
+			return leituraReativaRepository
+					.listarPorUsuario(filtro, faixa.isVazia() ? null : faixa, cursor,
+							Math.min(tamanho, tamanhoMaximoPagina), direcao)
+					.flatMap(LeituraReativaControler::pagina);
+		});
+	}
+
+	private static Mono<ServerResponse> pagina(Slice<LancamentoDTO> pagina) {
+		ServerResponse.BodyBuilder resposta = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+		List<LancamentoDTO> lancamentos = pagina.getContent();
+		if (pagina.hasNext())
+			resposta.header(LancamentoControler.PROXIMO_CURSOR,
+					CursorLancamento.de(lancamentos.get(lancamentos.size() - 1)).codificar());
+		return resposta.bodyValue(lancamentos);
+	}
+
+	/** Com token, a requisição só alcança o próprio usuário, como no {@code UsuarioAutenticado.conferir}. */
+	private static boolean deOutroUsuario(ServerRequest request, Long id) {
+		Optional<Object> autenticado = request.attribute(FiltroTokenAcesso.USUARIO);
+		return autenticado.isPresent() && !autenticado.get().equals(id);
+	}
+
+	private static Mono<ServerResponse> acessoNegado() {
+		return ServerResponse.status(HttpStatus.FORBIDDEN).contentType(MediaType.TEXT_PLAIN)
+				.bodyValue("Acesso negado aos dados de outro usuário.");
+	}
+
+	/** Como {@code UsuarioService.existe}, mas sem bloquear: o bitmap primeiro, o banco via R2DBC depois. */
+	private Mono<Boolean> existe(ServerRequest request, Long id) {
+		// o outro usuário já foi recusado; o token prova que este existe
+		if (request.attribute(FiltroTokenAcesso.USUARIO).isPresent())
+			return Mono.just(true);
+		if (usuariosCadastrados.conhecido(id))
+			return Mono.just(true);
+
+		return leituraReativaRepository.existeUsuario(id).doOnNext(existe -> {
+			if (existe)
+				usuariosCadastrados.registrar(id);
+		});
+	}
+}
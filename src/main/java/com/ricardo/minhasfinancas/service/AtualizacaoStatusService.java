@@ -0,0 +1,17 @@
+package com.ricardo.minhasfinancas.service;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoAtualizacaoStatusDTO;
+
+public interface AtualizacaoStatusService {
+	ResultadoAtualizacaoStatusDTO atualizar(Collection<Long> ids, StatusLancamento status);
+
+	ResultadoAtualizacaoStatusDTO enfileirar(Collection<Long> ids, StatusLancamento status);
+
+	Optional<ResultadoAtualizacaoStatusDTO> obterTarefa(String id);
+
+	void aplicarPendentes();
+}
@@ -0,0 +1,10 @@
+package com.ricardo.minhasfinancas.service;
+
+import java.util.Iterator;
+
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoImportacaoDTO;
+
+public interface ImportacaoLancamentoService {
+	ResultadoImportacaoDTO importar(Iterator<LancamentoDTO> linhas, boolean detalharImportados);
+}
@@ -1,27 +1,57 @@
 package com.ricardo.minhasfinancas.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import com.ricardo.minhasfinancas.model.entity.Lancamento;
 import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.repository.CursorLancamento;
+import com.ricardo.minhasfinancas.model.repository.FaixaLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResumoAnualDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
 
 public interface LancamentoService {
 	Lancamento salvar(Lancamento lancamento);
 
+	List<Lancamento> salvarLote(List<Lancamento> lancamentos);
+
 	Lancamento atualizar(Lancamento lancamento);
 
+	Lancamento alterar(Long id, Long versao, Consumer<Lancamento> alteracoes);
+
 	void deletar(Lancamento lancamento);
 
-	List<Lancamento> buscar(Lancamento lancamento);
+	Slice<LancamentoDTO> listar(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor, int tamanho,
+			Sort.Direction direcao);
+
+	void percorrerPorUsuario(Long idUsuario, Consumer<Lancamento> consumidor);
+
+	Slice<Lancamento> buscar(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor, int tamanho,
+			Sort.Direction direcao);
 
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 
+	List<Long> atualizarStatusEmLote(Collection<Long> ids, StatusLancamento status);
+
 	void validar(Lancamento lancamento);
 
+	void validarBusca(Lancamento filtro, FaixaLancamento faixa, int tamanho);
+
 	Optional<Lancamento> findById(Long id);
+
+	void conferirAcesso(Collection<Long> ids);
 	
 	BigDecimal obterSaldoPorUsuario(Long id);
-	
+
+	SaldoDetalhadoDTO obterSaldoDetalhadoPorUsuario(Long id);
+
+	ResumoAnualDTO obterResumoAnualPorUsuario(Long id, Integer ano);
+
 }
@@ -0,0 +1,30 @@
+package com.ricardo.minhasfinancas.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.repository.MovimentoSaldo;
+import com.ricardo.minhasfinancas.model.repository.SaldoPorTipoEStatus;
+import com.ricardo.minhasfinancas.rest.dto.DivergenciaSaldoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResumoAnualDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
+
+public interface SaldoUsuarioService {
+	void registrar(Lancamento lancamento);
+
+	void registrarTodos(Collection<Lancamento> lancamentos);
+
+	void estornar(MovimentoSaldo movimento);
+
+	void alterarStatus(Collection<? extends MovimentoSaldo> movimentos, StatusLancamento status);
+
+	SaldoDetalhadoDTO obterSaldoDetalhado(Long idUsuario);
+
+	SaldoDetalhadoDTO consolidarSaldo(Collection<? extends SaldoPorTipoEStatus> saldos);
+
+	ResumoAnualDTO obterResumoAnual(Long idUsuario, Integer ano);
+
+	List<DivergenciaSaldoDTO> reconciliar(Long idUsuario);
+}
@@ -3,6 +3,7 @@ package com.ricardo.minhasfinancas.service;
 import java.util.Optional;
 
 import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.repository.UsuarioResumo;
 
 public interface UsuarioService {
 	Usuario autenticar(String email, String senha);
@@ -12,4 +13,10 @@ public interface UsuarioService {
 	void validarEmail(String email);
 
 	Optional<Usuario> findById(Long id);
+
+	Optional<UsuarioResumo> obterResumo(Long id);
+
+	boolean existe(Long id);
+
+	Usuario obterReferencia(Long id);
 }
@@ -0,0 +1,50 @@
+package com.ricardo.minhasfinancas.service.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.ricardo.minhasfinancas.rest.dto.EstatisticasCacheDTO;
+
+/**
+ * Acertos e falhas do cache de segundo nível do Hibernate, por região, além
+ * dos totais das buscas por id natural e do cache de consultas.
+ */
+@Component
+public class EstatisticasSegundoNivel {
+	private final EntityManagerFactory entityManagerFactory;
+
+	public EstatisticasSegundoNivel(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	public Map<String, EstatisticasCacheDTO> obter() {
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		Map<String, EstatisticasCacheDTO> regioes = new TreeMap<>();
+		for (String regiao : estatisticas.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics regiaoEstatisticas = estatisticas.getCacheRegionStatistics(regiao);
+			if (regiaoEstatisticas != null)
+				regioes.put(regiao, criar(regiaoEstatisticas.getElementCountInMemory(),
+						regiaoEstatisticas.getHitCount(), regiaoEstatisticas.getMissCount()));
+		}
+
+		regioes.put("id-natural",
+				criar(-1, estatisticas.getNaturalIdCacheHitCount(), estatisticas.getNaturalIdCacheMissCount()));
+		regioes.put("consultas",
+				criar(-1, estatisticas.getQueryCacheHitCount(), estatisticas.getQueryCacheMissCount()));
+		return regioes;
+	}
+
+	// tamanho -1: o provedor JCache não informa quantos elementos a região guarda
+	private static EstatisticasCacheDTO criar(long tamanho, long acertos, long falhas) {
+		long total = acertos + falhas;
+		return EstatisticasCacheDTO.builder().tamanho(tamanho).acertos(acertos).falhas(falhas)
+				.taxaAcerto(total == 0 ? 0 : (double) acertos / total).build();
+	}
+}
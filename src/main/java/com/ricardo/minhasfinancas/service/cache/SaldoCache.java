@@ -0,0 +1,61 @@
+package com.ricardo.minhasfinancas.service.cache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ricardo.minhasfinancas.rest.dto.EstatisticasCacheDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
+
+@Component
+public class SaldoCache {
+	private final Cache<Long, SaldoDetalhadoDTO> cache;
+
+	public SaldoCache(@Value("${minhasfinancas.saldo.cache.tamanho-maximo:200000}") long tamanhoMaximo,
+			@Value("${minhasfinancas.saldo.cache.expiracao:5m}") Duration expiracao) {
+		this.cache = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(expiracao).recordStats()
+				.build();
+	}
+
+	public SaldoDetalhadoDTO obter(Long idUsuario, Function<Long, SaldoDetalhadoDTO> calcular) {
+		return cache.get(idUsuario, calcular);
+	}
+
+	/** Só consulta: quem calcula fora de {@link #obter} não pode repovoar uma entrada já invalidada. */
+	public SaldoDetalhadoDTO obterSeCalculado(Long idUsuario) {
+		return cache.getIfPresent(idUsuario);
+	}
+
+	public void invalidar(Long idUsuario) {
+		if (idUsuario == null)
+			return;
+
+		cache.invalidate(idUsuario);
+		// Uma leitura concorrente pode repopular a entrada antes do commit, então invalida de novo depois dele
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cache.invalidate(idUsuario);
+				}
+			});
+		}
+	}
+
+	public EstatisticasCacheDTO obterEstatisticas() {
+		CacheStats stats = cache.stats();
+		return EstatisticasCacheDTO.builder().tamanho(cache.estimatedSize()).acertos(stats.hitCount())
+				.falhas(stats.missCount()).despejos(stats.evictionCount()).taxaAcerto(stats.hitRate()).build();
+	}
+
+	public Cache<Long, SaldoDetalhadoDTO> getCache() {
+		return cache;
+	}
+}
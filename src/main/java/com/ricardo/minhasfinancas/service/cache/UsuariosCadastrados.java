@@ -0,0 +1,133 @@
+package com.ricardo.minhasfinancas.service.cache;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+
+/**
+ * Ids dos usuários cadastrados, num bitmap carregado na primeira consulta.
+ * Usuários não são removidos, então um id presente no bitmap sempre existe.
+ * Um id ausente é confirmado no banco, porque pode ter sido cadastrado por
+ * outra instância da aplicação; a resposta negativa fica guardada por pouco
+ * tempo, para que ids inexistentes repetidos não voltem ao banco a cada vez.
+ * Um cadastro nesta instância descarta a ausência na hora; o de outra
+ * instância aparece aqui depois da expiração.
+ */
+@Component
+public class UsuariosCadastrados {
+	private final UsuarioRepository usuarioRepository;
+	private final BitSet ids = new BitSet();
+	private final ReadWriteLock trava = new ReentrantReadWriteLock();
+	private final Cache<Long, Boolean> ausentes;
+	private volatile boolean carregado;
+
+	public UsuariosCadastrados(UsuarioRepository usuarioRepository,
+			@Value("${minhasfinancas.usuarios.ausentes.tamanho-maximo:100000}") long tamanhoMaximo,
+			@Value("${minhasfinancas.usuarios.ausentes.expiracao:30s}") Duration expiracao) {
+		this.usuarioRepository = usuarioRepository;
+		this.ausentes = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(expiracao).build();
+	}
+
+	public boolean contem(Long id) {
+		if (id == null || id < 0)
+			return false;
+		if (id > Integer.MAX_VALUE)
+			return usuarioRepository.existsById(id);
+
+		carregar();
+		trava.readLock().lock();
+		try {
+			if (ids.get(id.intValue()))
+				return true;
+		} finally {
+			trava.readLock().unlock();
+		}
+
+		if (ausentes.getIfPresent(id) != null)
+			return false;
+
+		boolean existe = usuarioRepository.existsById(id);
+		if (existe) {
+			marcar(id);
+		} else {
+			ausentes.put(id, Boolean.TRUE);
+			// um cadastro concluído entre a consulta e o put já descartou a ausência antes dela existir
+			if (conhecido(id)) {
+				ausentes.invalidate(id);
+				return true;
+			}
+		}
+		return existe;
+	}
+
+	/**
+	 * Só o bitmap, sem ir ao banco: para quem não pode bloquear. {@code false}
+	 * não quer dizer que o usuário não exista.
+	 */
+	public boolean conhecido(Long id) {
+		if (id == null || id < 0 || id > Integer.MAX_VALUE)
+			return false;
+
+		trava.readLock().lock();
+		try {
+			return ids.get(id.intValue());
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	public void registrar(Long id) {
+		if (id == null || id < 0 || id > Integer.MAX_VALUE)
+			return;
+
+		// só depois do commit: um cadastro desfeito não pode ficar marcado como existente
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					marcar(id);
+				}
+			});
+		} else {
+			marcar(id);
+		}
+	}
+
+	private void carregar() {
+		if (carregado)
+			return;
+
+		trava.writeLock().lock();
+		try {
+			if (!carregado) {
+				for (Long id : usuarioRepository.obterIds()) {
+					if (id != null && id >= 0 && id <= Integer.MAX_VALUE)
+						ids.set(id.intValue());
+				}
+				carregado = true;
+			}
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	private void marcar(Long id) {
+		trava.writeLock().lock();
+		try {
+			ids.set(id.intValue());
+		} finally {
+			trava.writeLock().unlock();
+		}
+		ausentes.invalidate(id);
+	}
+}
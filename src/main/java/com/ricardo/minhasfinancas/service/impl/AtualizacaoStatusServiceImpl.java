@@ -0,0 +1,200 @@
+package com.ricardo.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ricardo.minhasfinancas.exception.FilaCheiaException;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoAtualizacaoStatusDTO;
+import com.ricardo.minhasfinancas.service.AtualizacaoStatusService;
+import com.ricardo.minhasfinancas.service.LancamentoService;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Alteração de status de muitos lançamentos de uma vez, em lotes de um único
+ * update cada. No modo assíncrono os pedidos ficam numa fila em memória: pedidos
+ * para o mesmo lançamento se fundem (vale o último) e a fila é aplicada
+ * periodicamente, agrupada pelo status de destino.
+ */
+@Slf4j
+@Service
+public class AtualizacaoStatusServiceImpl implements AtualizacaoStatusService {
+	static final String PENDENTE = "PENDENTE";
+	static final String CONCLUIDA = "CONCLUIDA";
+	static final String FALHA = "FALHA";
+
+	private final LancamentoService lancamentoService;
+	private final int tamanhoLote;
+	private final int maximoPendentes;
+	private final Cache<String, Tarefa> tarefas;
+	private final Object trava = new Object();
+	private Map<Long, Pendencia> pendentes = new LinkedHashMap<>();
+
+	public AtualizacaoStatusServiceImpl(LancamentoService lancamentoService,
+			@Value("${minhasfinancas.status-lote.tamanho:1000}") int tamanhoLote,
+			@Value("${minhasfinancas.status-lote.maximo-pendentes:200000}") int maximoPendentes,
+			@Value("${minhasfinancas.status-lote.retencao-tarefas:1h}") Duration retencaoTarefas) {
+		this.lancamentoService = lancamentoService;
+		this.tamanhoLote = tamanhoLote;
+		this.maximoPendentes = maximoPendentes;
+		this.tarefas = Caffeine.newBuilder().expireAfterWrite(retencaoTarefas).build();
+	}
+
+	@Override
+	public ResultadoAtualizacaoStatusDTO atualizar(Collection<Long> ids, StatusLancamento status) {
+		List<Long> distintos = distintos(ids);
+		ResultadoAtualizacaoStatusDTO resultado = ResultadoAtualizacaoStatusDTO.builder().situacao(CONCLUIDA)
+				.status(status.name()).solicitados(distintos.size()).build();
+
+		for (int inicio = 0; inicio < distintos.size(); inicio += tamanhoLote) {
+			List<Long> lote = distintos.subList(inicio, Math.min(inicio + tamanhoLote, distintos.size()));
+			try {
+				resultado.setAtualizados(
+						resultado.getAtualizados() + lancamentoService.atualizarStatusEmLote(lote, status).size());
+				resultado.setProcessados(resultado.getProcessados() + lote.size());
+			} catch (RuntimeException e) {
+				// os lotes anteriores já foram gravados; informa até onde chegou
+				resultado.setSituacao(FALHA);
+				resultado.setErro(e.getMessage());
+				break;
+			}
+		}
+		return resultado;
+	}
+
+	@Override
+	public ResultadoAtualizacaoStatusDTO enfileirar(Collection<Long> ids, StatusLancamento status) {
+		List<Long> distintos = distintos(ids);
+		Tarefa tarefa = new Tarefa(UUID.randomUUID().toString(), UsuarioAutenticado.obter().orElse(null), status,
+				distintos.size());
+
+		synchronized (trava) {
+			if (pendentes.size() + distintos.size() > maximoPendentes)
+				throw new FilaCheiaException("Fila de atualização de status cheia, tente novamente em instantes.");
+
+			tarefas.put(tarefa.id, tarefa);
+			for (Long id : distintos) {
+				Pendencia anterior = pendentes.put(id, new Pendencia(status, tarefa));
+				// um pedido mais recente para o mesmo lançamento substitui o que ainda não foi aplicado
+				if (anterior != null)
+					anterior.tarefa.registrar(false, null);
+			}
+			return tarefa.resumo();
+		}
+	}
+
+	@Override
+	public Optional<ResultadoAtualizacaoStatusDTO> obterTarefa(String id) {
+		Tarefa tarefa = tarefas.getIfPresent(id);
+		if (tarefa == null)
+			return Optional.empty();
+		// como os lançamentos: com token, só a tarefa enfileirada pelo próprio usuário
+		UsuarioAutenticado.conferir(tarefa.usuario);
+
+		synchronized (trava) {
+			return Optional.of(tarefa.resumo());
+		}
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${minhasfinancas.status-lote.intervalo:200}")
+	public void aplicarPendentes() {
+		Map<Long, Pendencia> aplicando;
+		synchronized (trava) {
+			if (pendentes.isEmpty())
+				return;
+
+			aplicando = pendentes;
+			pendentes = new LinkedHashMap<>();
+		}
+
+		Map<StatusLancamento, List<Long>> porStatus = new EnumMap<>(StatusLancamento.class);
+		aplicando.forEach((id, pendencia) -> porStatus.computeIfAbsent(pendencia.status, s -> new ArrayList<>()).add(id));
+
+		porStatus.forEach((status, ids) -> {
+			for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+				List<Long> lote = ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size()));
+				Set<Long> alterados = Collections.emptySet();
+				String erro = null;
+				try {
+					alterados = new HashSet<>(lancamentoService.atualizarStatusEmLote(lote, status));
+				} catch (RuntimeException e) {
+					log.warn("Falha ao aplicar a alteração de {} lançamento(s) para {}.", lote.size(), status, e);
+					erro = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+				}
+
+				synchronized (trava) {
+					for (Long id : lote)
+						aplicando.get(id).tarefa.registrar(alterados.contains(id), erro);
+				}
+			}
+		});
+	}
+
+	private static List<Long> distintos(Collection<Long> ids) {
+		Set<Long> distintos = new LinkedHashSet<>(ids);
+		distintos.remove(null);
+		return new ArrayList<>(distintos);
+	}
+
+	private static final class Pendencia {
+		private final StatusLancamento status;
+		private final Tarefa tarefa;
+
+		private Pendencia(StatusLancamento status, Tarefa tarefa) {
+			this.status = status;
+			this.tarefa = tarefa;
+		}
+	}
+
+	// alterada só com a trava do serviço
+	private static final class Tarefa {
+		private final String id;
+		private final Long usuario;
+		private final StatusLancamento status;
+		private final long solicitados;
+		private long processados;
+		private long atualizados;
+		private String erro;
+
+		private Tarefa(String id, Long usuario, StatusLancamento status, long solicitados) {
+			this.id = id;
+			this.usuario = usuario;
+			this.status = status;
+			this.solicitados = solicitados;
+		}
+
+		private void registrar(boolean atualizado, String falha) {
+			processados++;
+			if (atualizado)
+				atualizados++;
+			if (falha != null && erro == null)
+				erro = falha;
+		}
+
+		private ResultadoAtualizacaoStatusDTO resumo() {
+			String situacao = processados < solicitados ? PENDENTE : erro == null ? CONCLUIDA : FALHA;
+			return ResultadoAtualizacaoStatusDTO.builder().tarefa(id).situacao(situacao).status(status.name())
+					.solicitados(solicitados).processados(processados).atualizados(atualizados).erro(erro).build();
+		}
+	}
+}
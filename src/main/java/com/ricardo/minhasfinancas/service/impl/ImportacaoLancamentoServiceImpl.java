@@ -0,0 +1,129 @@
+package com.ricardo.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoImportacaoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoLinhaDTO;
+import com.ricardo.minhasfinancas.service.ImportacaoLancamentoService;
+import com.ricardo.minhasfinancas.service.LancamentoService;
+import com.ricardo.minhasfinancas.service.UsuarioService;
+
+@Service
+public class ImportacaoLancamentoServiceImpl implements ImportacaoLancamentoService {
+	@Autowired
+	private LancamentoService lancamentoService;
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Value("${minhasfinancas.lote.tamanho:500}")
+	private int tamanhoLote;
+
+	@Value("${minhasfinancas.importacao.maximo-erros-detalhados:1000}")
+	private int maximoErrosDetalhados;
+
+	@Override
+	public ResultadoImportacaoDTO importar(Iterator<LancamentoDTO> linhas, boolean detalharImportados) {
+		ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+		Map<Long, Usuario> usuarios = new HashMap<>();
+		List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+		List<Long> numeros = new ArrayList<>(tamanhoLote);
+		long linha = 0;
+
+		while (linhas.hasNext()) {
+			linha++;
+			try {
+				Lancamento lancamento = converter(linhas.next(), usuarios);
+				lancamentoService.validar(lancamento);
+				lote.add(lancamento);
+				numeros.add(linha);
+			} catch (RegraNegocioException e) {
+				rejeitar(resultado, linha, e.getMessage());
+			}
+
+			if (lote.size() >= tamanhoLote)
+				gravar(lote, numeros, resultado, detalharImportados);
+		}
+		gravar(lote, numeros, resultado, detalharImportados);
+
+		resultado.setTotal(linha);
+		return resultado;
+	}
+
+	private void gravar(List<Lancamento> lote, List<Long> numeros, ResultadoImportacaoDTO resultado,
+			boolean detalharImportados) {
+		if (lote.isEmpty())
+			return;
+
+		try {
+			List<Lancamento> salvos = lancamentoService.salvarLote(lote);
+			resultado.setImportados(resultado.getImportados() + salvos.size());
+			if (detalharImportados) {
+				for (int i = 0; i < salvos.size(); i++)
+					resultado.getLinhas()
+							.add(ResultadoLinhaDTO.builder().linha(numeros.get(i)).id(salvos.get(i).getId()).build());
+			}
+		} catch (RegraNegocioException | DataAccessException | TransactionException e) {
+			for (Long numero : numeros)
+				rejeitar(resultado, numero, "Não foi possível gravar o lote: " + e.getMessage());
+		}
+
+		lote.clear();
+		numeros.clear();
+	}
+
+	private Lancamento converter(LancamentoDTO dto, Map<Long, Usuario> usuarios) {
+		if (dto.getUsuario() == null)
+			throw new RegraNegocioException("Informe um usuário");
+
+		if (!usuarios.containsKey(dto.getUsuario())) {
+			try {
+				usuarios.put(dto.getUsuario(),
+						usuarioService.existe(dto.getUsuario()) ? usuarioService.obterReferencia(dto.getUsuario()) : null);
+			} catch (AcessoNegadoException e) {
+				// linha de outro usuário é rejeitada como as demais, sem derrubar o restante da importação
+				throw new RegraNegocioException(e.getMessage());
+			}
+		}
+
+		Usuario usuario = usuarios.get(dto.getUsuario());
+		if (usuario == null)
+			throw new RegraNegocioException("Usuário não encontrado para o id informado.");
+
+		Lancamento lancamento = new Lancamento();
+		lancamento.setDescricao(dto.getDescricao());
+		lancamento.setAno(dto.getAno());
+		lancamento.setMes(dto.getMes());
+		lancamento.setValor(dto.getValor());
+		lancamento.setUsuario(usuario);
+		try {
+			lancamento.setTipo(dto.getTipo() == null ? null : TipoLancamento.valueOf(dto.getTipo()));
+		} catch (IllegalArgumentException e) {
+			throw new RegraNegocioException("Informe um tipo de lançamento válido");
+		}
+		return lancamento;
+	}
+
+	private void rejeitar(ResultadoImportacaoDTO resultado, long linha, String erro) {
+		resultado.setRejeitados(resultado.getRejeitados() + 1);
+		// um arquivo inteiro inválido não deve acumular um erro por linha em memória
+		if (resultado.getRejeitados() <= maximoErrosDetalhados)
+			resultado.getLinhas().add(ResultadoLinhaDTO.builder().linha(linha).erro(erro).build());
+	}
+}
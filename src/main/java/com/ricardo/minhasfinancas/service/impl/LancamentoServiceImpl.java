@@ -1,35 +1,91 @@
 package com.ricardo.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
 import com.ricardo.minhasfinancas.exception.RegraNegocioException;
 import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Periodo;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
 import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
 import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.CursorLancamento;
+import com.ricardo.minhasfinancas.model.repository.FaixaLancamento;
+import com.ricardo.minhasfinancas.model.repository.IndiceLancamentos;
 import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
+import com.ricardo.minhasfinancas.model.repository.MovimentoLancamento;
+import com.ricardo.minhasfinancas.model.repository.MovimentoSaldo;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResumoAnualDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
 import com.ricardo.minhasfinancas.service.LancamentoService;
+import com.ricardo.minhasfinancas.service.SaldoUsuarioService;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
+
+import lombok.Getter;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 	@Autowired
 	private LancamentoRepository lancamentoRepository;
 
+	@Autowired
+	private SaldoUsuarioService saldoUsuarioService;
+
+	@Autowired
+	private IndiceLancamentos indiceLancamentos;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${minhasfinancas.lancamentos.tamanho-maximo-pagina:500}")
+	private int tamanhoMaximoPagina;
+
 	@Override
 	@Transactional
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return lancamentoRepository.save(lancamento);
+		Lancamento lancamentoSalvo = lancamentoRepository.save(lancamento);
+		saldoUsuarioService.registrar(lancamentoSalvo);
+		indiceLancamentos.indexar(lancamentoSalvo);
+		return lancamentoSalvo;
+	}
+
+	@Override
+	@Transactional
+	public List<Lancamento> salvarLote(List<Lancamento> lancamentos) {
+		for (Lancamento lancamento : lancamentos) {
+			validar(lancamento);
+			lancamento.setStatus(StatusLancamento.PENDENTE);
+		}
+
+		List<Lancamento> lancamentosSalvos = lancamentoRepository.saveAll(lancamentos);
+		lancamentoRepository.flush();
+		saldoUsuarioService.registrarTodos(lancamentosSalvos);
+		indiceLancamentos.indexarTodos(lancamentosSalvos);
+		// libera o contexto de persistência para que lotes sucessivos não acumulem entidades
+		entityManager.clear();
+		return lancamentosSalvos;
 	}
 
 	@Override
@@ -37,24 +93,111 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return lancamentoRepository.save(lancamento);
+		Optional<MovimentoSaldo> anterior = lancamentoRepository.obterMovimentoPersistido(lancamento.getId());
+		Lancamento lancamentoAtualizado = lancamentoRepository.save(lancamento);
+		anterior.ifPresent(saldoUsuarioService::estornar);
+		saldoUsuarioService.registrar(lancamentoAtualizado);
+		indiceLancamentos.indexar(lancamentoAtualizado);
+		return lancamentoAtualizado;
+	}
+
+	@Override
+	@Transactional
+	public Lancamento alterar(Long id, Long versao, Consumer<Lancamento> alteracoes) {
+		Lancamento lancamento = lancamentoRepository.findById(id)
+				.orElseThrow(() -> new RegraNegocioException("Lançamento não encontrado na base de dados."));
+		conferirDono(lancamento);
+		if (versao != null && !versao.equals(lancamento.getVersao()))
+			throw new ObjectOptimisticLockingFailureException(Lancamento.class, id);
+
+		MovimentoAnterior anterior = new MovimentoAnterior(lancamento);
+		alteracoes.accept(lancamento);
+		validar(lancamento);
+		if (anterior.alteradoPor(lancamento)) {
+			saldoUsuarioService.estornar(anterior);
+			saldoUsuarioService.registrar(lancamento);
+		}
+		indiceLancamentos.indexar(lancamento);
+		// entidade gerenciada: o dirty checking grava só as colunas alteradas no commit
+		return lancamento;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		Optional<MovimentoSaldo> anterior = lancamentoRepository.obterMovimentoPersistido(lancamento.getId());
 		lancamentoRepository.delete(lancamento);
+		anterior.ifPresent(saldoUsuarioService::estornar);
+		indiceLancamentos.remover(lancamento.getId());
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
-	@Transactional
-	public List<Lancamento> buscar(Lancamento lancamento) {
-		Example example = Example.of(lancamento,
-				ExampleMatcher.matching().withIgnoreCase().withStringMatcher(StringMatcher.CONTAINING));
+	@Transactional(readOnly = true)
+	public void percorrerPorUsuario(Long idUsuario, Consumer<Lancamento> consumidor) {
+		try (Stream<Lancamento> lancamentos = lancamentoRepository.percorrerPorUsuario(idUsuario)) {
+			lancamentos.forEach(lancamento -> {
+				consumidor.accept(lancamento);
+				// solta a entidade já entregue para o contexto não crescer com a exportação
+				entityManager.detach(lancamento);
+			});
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<Lancamento> buscar(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor, int tamanho,
+			Sort.Direction direcao) {
+		validarBusca(filtro, faixa, tamanho);
+		return lancamentoRepository.buscarPorUsuario(filtro, faixa, cursor, Math.min(tamanho, tamanhoMaximoPagina),
+				direcao);
+	}
 
-		return lancamentoRepository.findAll(example);
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<LancamentoDTO> listar(Lancamento filtro, FaixaLancamento faixa, CursorLancamento cursor,
+			int tamanho, Sort.Direction direcao) {
+		validarBusca(filtro, faixa, tamanho);
+		return lancamentoRepository.listarPorUsuario(filtro, faixa, cursor, Math.min(tamanho, tamanhoMaximoPagina),
+				direcao);
+	}
+
+	@Override
+	public void validarBusca(Lancamento filtro, FaixaLancamento faixa, int tamanho) {
+		if (filtro.getUsuario() == null || filtro.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um usuário");
+		}
+
+		if (tamanho < 1) {
+			throw new RegraNegocioException("Informe um tamanho de página válido");
+		}
+
+		if (faixa == null) {
+			return;
+		}
+
+		if ((faixa.getMesInicial() != null && faixa.getAnoInicial() == null)
+				|| (faixa.getMesFinal() != null && faixa.getAnoFinal() == null)) {
+			throw new RegraNegocioException("Informe o ano junto com o mês do período");
+		}
+
+		if (!mesValido(faixa.getMesInicial()) || !mesValido(faixa.getMesFinal())) {
+			throw new RegraNegocioException("Informe um mês válido");
+		}
+
+		if (faixa.getPeriodoInicial() != null && faixa.getPeriodoFinal() != null
+				&& faixa.getPeriodoInicial() > faixa.getPeriodoFinal()) {
+			throw new RegraNegocioException("O período inicial deve ser anterior ao final");
+		}
+
+		if (faixa.getValorMinimo() != null && faixa.getValorMaximo() != null
+				&& faixa.getValorMinimo().compareTo(faixa.getValorMaximo()) > 0) {
+			throw new RegraNegocioException("O valor mínimo deve ser menor que o máximo");
+		}
+	}
+
+	private static boolean mesValido(Integer mes) {
+		return mes == null || (mes >= 1 && mes <= 12);
 	}
 
 	@Override
@@ -64,17 +207,44 @@ public class LancamentoServiceImpl implements LancamentoService {
 		atualizar(lancamento);
 	}
 
+	@Override
+	@Transactional
+	public List<Long> atualizarStatusEmLote(Collection<Long> ids, StatusLancamento status) {
+		Objects.requireNonNull(status);
+		if (ids.isEmpty())
+			return Collections.emptyList();
+
+		// só os lançamentos que de fato mudam de status movimentam o saldo e entram no update; a leitura trava
+		// as linhas até o commit, então o status de origem estornado no saldo é o mesmo que o update substitui
+		List<MovimentoLancamento> movimentos = lancamentoRepository.obterMovimentosComStatusDiferente(ids, status);
+		if (movimentos.isEmpty())
+			return Collections.emptyList();
+
+		List<Long> alterados = new ArrayList<>(movimentos.size());
+		for (MovimentoLancamento movimento : movimentos)
+			alterados.add(movimento.getId());
+
+		lancamentoRepository.atualizarStatus(alterados, status);
+		saldoUsuarioService.alterarStatus(movimentos, status);
+		indiceLancamentos.alterarStatus(alterados, status);
+		return alterados;
+	}
+
 	@Override
 	public void validar(Lancamento lancamento) {
 		if (lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals("")) {
 			throw new RegraNegocioException("Informe uma descrição válida!");
 		}
 
-		if (lancamento.getMes() == null || lancamento.getMes() < 1 || lancamento.getMes() > 12) {
+		// mês e ano conferidos direto no int aaaamm, sem caixas nem String a cada gravação
+		int periodo = lancamento.getPeriodo() == null ? 0 : lancamento.getPeriodo();
+		int mes = Periodo.mes(periodo);
+		if (mes < 1 || mes > 12) {
 			throw new RegraNegocioException("Informe um mês válido");
 		}
 
-		if (lancamento.getAno() == null || lancamento.getAno().toString().length() != 4) {
+		int ano = Periodo.ano(periodo);
+		if (ano < 1000 || ano > 9999) {
 			throw new RegraNegocioException("Informe um ano válido");
 		}
 
@@ -93,24 +263,67 @@ public class LancamentoServiceImpl implements LancamentoService {
 
 	@Override
 	public Optional<Lancamento> findById(Long id) {
-		return lancamentoRepository.findById(id);
+		Optional<Lancamento> lancamento = lancamentoRepository.findById(id);
+		lancamento.ifPresent(LancamentoServiceImpl::conferirDono);
+		return lancamento;
 	}
 
 	@Override
-	@Transactional
-	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id,
-				TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id,
-				TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+	@Transactional(readOnly = true)
+	public void conferirAcesso(Collection<Long> ids) {
+		Optional<Long> autenticado = UsuarioAutenticado.obter();
+		if (autenticado.isPresent() && !ids.isEmpty()
+				&& lancamentoRepository.contarDeOutroUsuario(ids, autenticado.get()) > 0)
+			throw new AcessoNegadoException("Acesso negado aos lançamentos de outro usuário.");
+	}
 
-		if (receitas == null)
-			receitas = BigDecimal.ZERO;
+	// o id do usuário vem da chave estrangeira: o proxy não é inicializado
+	private static void conferirDono(Lancamento lancamento) {
+		Usuario usuario = lancamento.getUsuario();
+		UsuarioAutenticado.conferir(usuario == null ? null : usuario.getId());
+	}
 
-		if (despesas == null)
-			despesas = BigDecimal.ZERO;
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldoPorUsuario(Long id) {
+		return obterSaldoDetalhadoPorUsuario(id).getSaldo().toBigDecimal();
+	}
 
-		return receitas.subtract(despesas);
+	@Override
+	@Transactional(readOnly = true)
+	public SaldoDetalhadoDTO obterSaldoDetalhadoPorUsuario(Long id) {
+		return saldoUsuarioService.obterSaldoDetalhado(id);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public ResumoAnualDTO obterResumoAnualPorUsuario(Long id, Integer ano) {
+		return saldoUsuarioService.obterResumoAnual(id, ano);
+	}
+
+	@Getter
+	private static class MovimentoAnterior implements MovimentoSaldo {
+		private final Long idUsuario;
+		private final Integer ano;
+		private final Integer mes;
+		private final TipoLancamento tipo;
+		private final StatusLancamento status;
+		private final BigDecimal valor;
+
+		private MovimentoAnterior(Lancamento lancamento) {
+			this.idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+			this.ano = lancamento.getAno();
+			this.mes = lancamento.getMes();
+			this.tipo = lancamento.getTipo();
+			this.status = lancamento.getStatus();
+			this.valor = lancamento.getValor();
+		}
+
+		private boolean alteradoPor(Lancamento lancamento) {
+			MovimentoAnterior atual = new MovimentoAnterior(lancamento);
+			return !Objects.equals(idUsuario, atual.idUsuario) || !Objects.equals(ano, atual.ano)
+					|| !Objects.equals(mes, atual.mes) || tipo != atual.tipo || status != atual.status
+					|| valor == null || atual.valor == null || valor.compareTo(atual.valor) != 0;
+		}
+	}
 }
@@ -0,0 +1,251 @@
+package com.ricardo.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.SaldoUsuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
+import com.ricardo.minhasfinancas.model.repository.MovimentoSaldo;
+import com.ricardo.minhasfinancas.model.repository.SaldoPorTipoEStatus;
+import com.ricardo.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.rest.dto.DivergenciaSaldoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResumoAnualDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResumoMensalDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoPorStatusDTO;
+import com.ricardo.minhasfinancas.service.SaldoUsuarioService;
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+	private static final int STATUS = StatusLancamento.values().length;
+
+	@Autowired
+	private SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private SaldoCache saldoCache;
+
+	@Override
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+		acumular(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(), lancamento.getTipo(),
+				lancamento.getStatus(), Dinheiro.de(lancamento.getValor()));
+	}
+
+	@Override
+	@Transactional
+	public void registrarTodos(Collection<Lancamento> lancamentos) {
+		Map<List<Object>, Dinheiro> valores = new HashMap<>();
+		for (Lancamento lancamento : lancamentos) {
+			if (lancamento.getValor() != null)
+				valores.merge(Arrays.asList(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+						lancamento.getTipo(), lancamento.getStatus()), Dinheiro.de(lancamento.getValor()), Dinheiro::mais);
+		}
+
+		acumularTodos(valores);
+	}
+
+	@Override
+	@Transactional
+	public void estornar(MovimentoSaldo movimento) {
+		if (movimento.getValor() == null)
+			return;
+
+		acumular(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(), movimento.getTipo(),
+				movimento.getStatus(), Dinheiro.de(movimento.getValor()).negativo());
+	}
+
+	@Override
+	@Transactional
+	public void alterarStatus(Collection<? extends MovimentoSaldo> movimentos, StatusLancamento status) {
+		// cada movimento sai do status anterior e entra no novo; chaves repetidas no lote viram um único update
+		Map<List<Object>, Dinheiro> valores = new HashMap<>();
+		for (MovimentoSaldo movimento : movimentos) {
+			if (movimento.getValor() == null || movimento.getStatus() == status)
+				continue;
+
+			Dinheiro valor = Dinheiro.de(movimento.getValor());
+			valores.merge(Arrays.asList(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+					movimento.getTipo(), movimento.getStatus()), valor.negativo(), Dinheiro::mais);
+			valores.merge(Arrays.asList(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+					movimento.getTipo(), status), valor, Dinheiro::mais);
+		}
+
+		acumularTodos(valores);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public SaldoDetalhadoDTO obterSaldoDetalhado(Long idUsuario) {
+		return saldoCache.obter(idUsuario, this::calcularSaldoDetalhado);
+	}
+
+	private SaldoDetalhadoDTO calcularSaldoDetalhado(Long idUsuario) {
+		return consolidarSaldo(saldoUsuarioRepository.obterSaldosPorTipoEStatus(idUsuario));
+	}
+
+	@Override
+	public SaldoDetalhadoDTO consolidarSaldo(Collection<? extends SaldoPorTipoEStatus> saldos) {
+		long[] receitas = new long[STATUS];
+		long[] despesas = new long[STATUS];
+
+		for (SaldoPorTipoEStatus saldo : saldos) {
+			if (saldo.getTipo() == null || saldo.getStatus() == null || saldo.getTotal() == null)
+				continue;
+
+			long[] totais = saldo.getTipo() == TipoLancamento.RECEITA ? receitas : despesas;
+			int status = saldo.getStatus().ordinal();
+			totais[status] = Math.addExact(totais[status], Dinheiro.centavos(saldo.getTotal()));
+		}
+
+		int efetivado = StatusLancamento.EFETIVADO.ordinal();
+		return SaldoDetalhadoDTO.builder().saldo(Dinheiro.deCentavos(receitas[efetivado] - despesas[efetivado]))
+				.receitas(porStatus(receitas)).despesas(porStatus(despesas)).build();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ResumoAnualDTO obterResumoAnual(Long idUsuario, Integer ano) {
+		List<MovimentoSaldo> movimentos = saldoUsuarioRepository.obterMovimentosPorAno(idUsuario, ano);
+		// nenhum saldo do usuário no ano (ainda não reconstruído, refeito pela metade ou apagado):
+		// agrega os lançamentos do ano numa única consulta
+		if (movimentos.isEmpty())
+			movimentos = lancamentoRepository.obterMovimentosAgrupadosPorUsuarioEAno(idUsuario, ano);
+
+		// centavos por mês, tipo e status; os DTOs só são montados no fim
+		long[][] receitas = new long[12][STATUS];
+		long[][] despesas = new long[12][STATUS];
+		for (MovimentoSaldo movimento : movimentos) {
+			Integer mes = movimento.getMes();
+			if (mes == null || mes < 1 || mes > 12 || movimento.getTipo() == null || movimento.getStatus() == null
+					|| movimento.getValor() == null)
+				continue;
+
+			long[] totais = (movimento.getTipo() == TipoLancamento.RECEITA ? receitas : despesas)[mes - 1];
+			int status = movimento.getStatus().ordinal();
+			totais[status] = Math.addExact(totais[status], Dinheiro.centavos(movimento.getValor()));
+		}
+
+		List<ResumoMensalDTO> meses = new ArrayList<>(12);
+		for (int mes = 1; mes <= 12; mes++)
+			meses.add(ResumoMensalDTO.builder().mes(mes).receitas(porStatus(receitas[mes - 1]))
+					.despesas(porStatus(despesas[mes - 1])).build());
+
+		return ResumoAnualDTO.builder().usuario(idUsuario).ano(ano).meses(meses).build();
+	}
+
+	@Override
+	@Transactional
+	public List<DivergenciaSaldoDTO> reconciliar(Long idUsuario) {
+		// sem gravações do usuário entre a leitura dos lançamentos e a regravação do saldo
+		usuarioRepository.travarParaReconciliarSaldo(idUsuario);
+
+		Map<List<Object>, Dinheiro> esperados = new HashMap<>();
+		for (MovimentoSaldo movimento : lancamentoRepository.obterMovimentosAgrupadosPorUsuario(idUsuario)) {
+			if (movimento.getTipo() != null && movimento.getStatus() != null && movimento.getValor() != null)
+				esperados.merge(chave(movimento.getAno(), movimento.getMes(), movimento.getTipo(), movimento.getStatus()),
+						Dinheiro.de(movimento.getValor()), Dinheiro::mais);
+		}
+
+		Map<List<Object>, Dinheiro> registrados = new HashMap<>();
+		for (SaldoUsuario saldo : saldoUsuarioRepository.findByIdUsuario(idUsuario)) {
+			if (saldo.getValor() != null)
+				registrados.merge(chave(saldo.getAno(), saldo.getMes(), saldo.getTipo(), saldo.getStatus()),
+						saldo.getValor(), Dinheiro::mais);
+		}
+
+		Set<List<Object>> chaves = new HashSet<>(esperados.keySet());
+		chaves.addAll(registrados.keySet());
+
+		List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+		for (List<Object> chave : chaves) {
+			Dinheiro esperado = esperados.getOrDefault(chave, Dinheiro.ZERO);
+			Dinheiro registrado = registrados.getOrDefault(chave, Dinheiro.ZERO);
+			if (esperado.compareTo(registrado) != 0) {
+				divergencias.add(DivergenciaSaldoDTO.builder().usuario(idUsuario).ano((Integer) chave.get(0))
+						.mes((Integer) chave.get(1)).tipo(chave.get(2).toString()).status(chave.get(3).toString())
+						.valorEsperado(esperado).valorRegistrado(registrado).build());
+			}
+		}
+
+		if (!divergencias.isEmpty()) {
+			saldoCache.invalidar(idUsuario);
+			saldoUsuarioRepository.removerPorUsuario(idUsuario);
+			List<SaldoUsuario> saldos = new ArrayList<>();
+			esperados.forEach((chave, valor) -> saldos.add(SaldoUsuario.builder().idUsuario(idUsuario)
+					.ano((Integer) chave.get(0)).mes((Integer) chave.get(1)).tipo((TipoLancamento) chave.get(2))
+					.status((StatusLancamento) chave.get(3)).valor(valor).build()));
+			saldoUsuarioRepository.saveAll(saldos);
+		}
+
+		return divergencias;
+	}
+
+	private void acumularTodos(Map<List<Object>, Dinheiro> valores) {
+		// todos os usuários do lote travados de uma vez, em ordem de id, para dois lotes não se cruzarem
+		Set<Long> usuarios = new TreeSet<>();
+		for (List<Object> chave : valores.keySet()) {
+			if (chave.get(0) != null)
+				usuarios.add((Long) chave.get(0));
+		}
+		if (usuarios.isEmpty())
+			return;
+
+		usuarioRepository.travarParaGravarSaldo(usuarios);
+		valores.forEach((chave, valor) -> gravar((Long) chave.get(0), (Integer) chave.get(1), (Integer) chave.get(2),
+				(TipoLancamento) chave.get(3), (StatusLancamento) chave.get(4), valor));
+	}
+
+	private void acumular(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			Dinheiro valor) {
+		if (idUsuario == null || tipo == null || status == null || valor == null)
+			return;
+
+		usuarioRepository.travarParaGravarSaldo(Collections.singleton(idUsuario));
+		gravar(idUsuario, ano, mes, tipo, status, valor);
+	}
+
+	private void gravar(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			Dinheiro valor) {
+		if (idUsuario == null || tipo == null || status == null || valor == null)
+			return;
+
+		saldoCache.invalidar(idUsuario);
+		saldoUsuarioRepository.acumular(idUsuario, ano, mes, tipo, status, valor);
+	}
+
+	private static SaldoPorStatusDTO porStatus(long[] centavos) {
+		return new SaldoPorStatusDTO(Dinheiro.deCentavos(centavos[StatusLancamento.EFETIVADO.ordinal()]),
+				Dinheiro.deCentavos(centavos[StatusLancamento.PENDENTE.ordinal()]),
+				Dinheiro.deCentavos(centavos[StatusLancamento.CANCELADO.ordinal()]));
+	}
+
+	// ano e mês ausentes são zero no saldo, como no upsert do repositório
+	private static List<Object> chave(Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status) {
+		return Arrays.asList(ano == null ? 0 : ano, mes == null ? 0 : mes, tipo, status);
+	}
+}
@@ -9,13 +9,23 @@ import com.ricardo.minhasfinancas.exception.ErroAutenticacao;
 import com.ricardo.minhasfinancas.exception.RegraNegocioException;
 import com.ricardo.minhasfinancas.model.entity.Usuario;
 import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.model.repository.UsuarioResumo;
 import com.ricardo.minhasfinancas.service.UsuarioService;
+import com.ricardo.minhasfinancas.service.cache.UsuariosCadastrados;
+import com.ricardo.minhasfinancas.service.seguranca.CodificadorSenha;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 	@Autowired
 	private UsuarioRepository usuarioRepository;
 
+	@Autowired
+	private UsuariosCadastrados usuariosCadastrados;
+
+	@Autowired
+	private CodificadorSenha codificadorSenha;
+
 	public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
 		super();
 		this.usuarioRepository = usuarioRepository;
@@ -23,20 +33,31 @@ public class UsuarioServiceImpl implements UsuarioService {
 
 	@Override
 	public Usuario autenticar(String email, String senha) {
-		Usuario usuario = usuarioRepository.findByEmail(email)
+		Usuario usuario = usuarioRepository.obterPorEmail(email)
 				.orElseThrow(() -> new ErroAutenticacao("Usuário não encontrado para o email informado"));
 
-		if (!usuario.getSenha().equals(senha)) {
+		if (!codificadorSenha.conferir(senha, usuario.getSenha())) {
 			throw new ErroAutenticacao("Senha inválida");
 		}
 
+		// senha legada em texto puro ou com custo antigo: regrava com o hash atual enquanto ela é conhecida
+		if (codificadorSenha.precisaRecodificar(usuario.getSenha())) {
+			usuario.setSenha(codificadorSenha.codificar(senha));
+			usuarioRepository.save(usuario);
+		}
+
 		return usuario;
 	}
 
 	@Override
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
-		return usuarioRepository.save(usuario);
+		if (usuario.getSenha() != null)
+			usuario.setSenha(codificadorSenha.codificar(usuario.getSenha()));
+		Usuario usuarioSalvo = usuarioRepository.save(usuario);
+		if (usuarioSalvo != null)
+			usuariosCadastrados.registrar(usuarioSalvo.getId());
+		return usuarioSalvo;
 	}
 
 	@Override
@@ -51,4 +72,28 @@ public class UsuarioServiceImpl implements UsuarioService {
 		return usuarioRepository.findById(id);
 	}
 
+	@Override
+	public Optional<UsuarioResumo> obterResumo(Long id) {
+		UsuarioAutenticado.conferir(id);
+		return usuarioRepository.obterResumo(id);
+	}
+
+	@Override
+	public boolean existe(Long id) {
+		// o token já prova que o usuário existe: nenhuma consulta, nem ao bitmap; outro id é acesso negado
+		UsuarioAutenticado.conferir(id);
+		if (UsuarioAutenticado.obter().isPresent())
+			return true;
+		return usuariosCadastrados.contem(id);
+	}
+
+	@Override
+	public Usuario obterReferencia(Long id) {
+		if (!existe(id))
+			throw new RegraNegocioException("Usuário não encontrado para o id informado.");
+
+		// proxy não inicializado: basta o id para gravar a chave estrangeira, sem um select
+		return usuarioRepository.getReferenceById(id);
+	}
+
 }
@@ -0,0 +1,121 @@
+package com.ricardo.minhasfinancas.service.seguranca;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.ricardo.minhasfinancas.exception.FilaCheiaException;
+import com.ricardo.minhasfinancas.rest.dto.EstatisticasExecutorDTO;
+
+/**
+ * Hash e conferência de senhas com BCrypt num executor próprio e limitado. O
+ * custo do hash fica restrito a um número fixo de threads e, com a fila cheia,
+ * o pedido é recusado na hora em vez de se acumular nas threads do Tomcat.
+ * Senhas gravadas antes do hash (texto puro) ainda são aceitas, para serem
+ * recodificadas no primeiro login.
+ */
+@Component
+public class CodificadorSenha {
+	private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+	private final BCryptPasswordEncoder encoder;
+	private final ThreadPoolExecutor executor;
+	private final Duration esperaMaxima;
+	private final LongAdder rejeitadas = new LongAdder();
+
+	public CodificadorSenha(@Value("${minhasfinancas.senha.bcrypt.forca:10}") int forca,
+			@Value("${minhasfinancas.senha.executor.threads:0}") int threads,
+			@Value("${minhasfinancas.senha.executor.fila:64}") int fila,
+			@Value("${minhasfinancas.senha.executor.espera-maxima:5s}") Duration esperaMaxima) {
+		// 0: uma thread por processador, o máximo que o hash consegue aproveitar
+		int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.encoder = new BCryptPasswordEncoder(forca);
+		this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("verificacao-senha-"),
+				(tarefa, executor) -> {
+					rejeitadas.increment();
+					throw new RejectedExecutionException();
+				});
+		this.esperaMaxima = esperaMaxima;
+	}
+
+	public String codificar(String senha) {
+		return executar(() -> encoder.encode(senha));
+	}
+
+	public boolean conferir(String senha, String armazenada) {
+		if (senha == null || armazenada == null)
+			return false;
+
+		if (!codificada(armazenada))
+			return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8),
+					armazenada.getBytes(StandardCharsets.UTF_8));
+
+		return executar(() -> encoder.matches(senha, armazenada));
+	}
+
+	/** Texto puro legado ou hash com fator de custo menor que o configurado. */
+	public boolean precisaRecodificar(String armazenada) {
+		return armazenada != null && (!codificada(armazenada) || encoder.upgradeEncoding(armazenada));
+	}
+
+	public EstatisticasExecutorDTO obterEstatisticas() {
+		return EstatisticasExecutorDTO.builder().threads(executor.getMaximumPoolSize())
+				.ativas(executor.getActiveCount()).fila(executor.getQueue().size())
+				.capacidadeFila(executor.getQueue().size() + executor.getQueue().remainingCapacity())
+				.concluidas(executor.getCompletedTaskCount()).rejeitadas(rejeitadas.sum()).build();
+	}
+
+	public ThreadPoolExecutor getExecutor() {
+		return executor;
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	private static boolean codificada(String armazenada) {
+		return BCRYPT.matcher(armazenada).matches();
+	}
+
+	private <T> T executar(Callable<T> tarefa) {
+		Future<T> resultado;
+		try {
+			resultado = executor.submit(tarefa);
+		} catch (RejectedExecutionException e) {
+			throw new FilaCheiaException("Muitas verificações de senha em andamento, tente novamente em instantes.");
+		}
+
+		try {
+			return resultado.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			resultado.cancel(true);
+			throw new FilaCheiaException("A verificação de senha demorou demais, tente novamente em instantes.");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Verificação de senha interrompida.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
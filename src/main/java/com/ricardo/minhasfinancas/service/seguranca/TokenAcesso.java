@@ -0,0 +1,111 @@
+package com.ricardo.minhasfinancas.service.seguranca;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token de acesso sem estado, no formato {@code id.expiracao.assinatura}: o id
+ * do usuário, o instante de expiração em segundos e o HMAC-SHA256 dos dois. A
+ * validação só recalcula a assinatura, sem consultar a base. Sem segredo
+ * configurado é gerado um aleatório, e os tokens deixam de valer a cada
+ * reinício da aplicação.
+ */
+@Slf4j
+@Component
+public class TokenAcesso {
+	private static final String ALGORITMO = "HmacSHA256";
+	private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+	private final SecretKeySpec chave;
+	private final Duration validade;
+	// Mac não é thread-safe; uma instância por thread evita o getInstance a cada requisição
+	private final ThreadLocal<Mac> macs;
+
+	public TokenAcesso(@Value("${minhasfinancas.token.segredo:}") String segredo,
+			@Value("${minhasfinancas.token.validade:12h}") Duration validade) {
+		this.chave = new SecretKeySpec(obterSegredo(segredo), ALGORITMO);
+		this.validade = validade;
+		this.macs = ThreadLocal.withInitial(this::criarMac);
+	}
+
+	public String emitir(Long idUsuario) {
+		return emitir(idUsuario, Instant.now().plus(validade));
+	}
+
+	String emitir(Long idUsuario, Instant expiracao) {
+		String conteudo = idUsuario + "." + expiracao.getEpochSecond();
+		return conteudo + "." + CODIFICADOR.encodeToString(assinar(conteudo));
+	}
+
+	public Instant obterExpiracao(String token) {
+		int inicio = token.indexOf('.') + 1;
+		return Instant.ofEpochSecond(Long.parseLong(token.substring(inicio, token.indexOf('.', inicio))));
+	}
+
+	/** Id do usuário quando a assinatura confere e o token não expirou. */
+	public Optional<Long> validar(String token) {
+		if (token == null)
+			return Optional.empty();
+
+		int primeiroPonto = token.indexOf('.');
+		int ultimoPonto = token.lastIndexOf('.');
+		if (primeiroPonto <= 0 || ultimoPonto <= primeiroPonto + 1)
+			return Optional.empty();
+
+		try {
+			String conteudo = token.substring(0, ultimoPonto);
+			byte[] assinatura = DECODIFICADOR.decode(token.substring(ultimoPonto + 1));
+			if (!MessageDigest.isEqual(assinar(conteudo), assinatura))
+				return Optional.empty();
+
+			long expiracao = Long.parseLong(token.substring(primeiroPonto + 1, ultimoPonto));
+			if (Instant.now().getEpochSecond() >= expiracao)
+				return Optional.empty();
+
+			return Optional.of(Long.valueOf(token.substring(0, primeiroPonto)));
+		} catch (IllegalArgumentException tokenMalformado) {
+			return Optional.empty();
+		}
+	}
+
+	private byte[] assinar(String conteudo) {
+		return macs.get().doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private Mac criarMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITMO);
+			mac.init(chave);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HMAC-SHA256 indisponível.", e);
+		}
+	}
+
+	private static byte[] obterSegredo(String segredo) {
+		if (StringUtils.hasText(segredo))
+			return segredo.getBytes(StandardCharsets.UTF_8);
+
+		log.warn("minhasfinancas.token.segredo não configurado: usando um segredo aleatório, "
+				+ "os tokens emitidos não valem após reiniciar nem entre instâncias.");
+		byte[] aleatorio = new byte[32];
+		new SecureRandom().nextBytes(aleatorio);
+		return aleatorio;
+	}
+}
@@ -0,0 +1,36 @@
+package com.ricardo.minhasfinancas.service.seguranca;
+
+import java.util.Optional;
+
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
+
+/**
+ * Usuário do token validado na requisição em andamento. Preenchido e limpo
+ * pelo filtro de token na thread da requisição; fora dela (jobs, fila de
+ * status) fica vazio.
+ */
+public final class UsuarioAutenticado {
+	private static final ThreadLocal<Long> ATUAL = new ThreadLocal<>();
+
+	private UsuarioAutenticado() {
+	}
+
+	public static void definir(Long idUsuario) {
+		ATUAL.set(idUsuario);
+	}
+
+	public static void limpar() {
+		ATUAL.remove();
+	}
+
+	public static Optional<Long> obter() {
+		return Optional.ofNullable(ATUAL.get());
+	}
+
+	/** Com token, a requisição só alcança os dados do próprio usuário; sem token não há o que conferir. */
+	public static void conferir(Long idUsuario) {
+		Long atual = ATUAL.get();
+		if (atual != null && !atual.equals(idUsuario))
+			throw new AcessoNegadoException("Acesso negado aos dados de outro usuário.");
+	}
+}
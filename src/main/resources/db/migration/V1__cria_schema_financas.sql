@@ -0,0 +1,26 @@
+create schema if not exists financas;
+
+create sequence if not exists hibernate_sequence start with 1 increment by 1;
+
+create table financas.usuario (
+	id bigint generated by default as identity,
+	nome varchar(255),
+	email varchar(255),
+	senha varchar(255),
+	data_cadastro date,
+	primary key (id)
+);
+
+create table financas.lancamento (
+	id bigint not null,
+	descricao varchar(255),
+	mes integer,
+	ano integer,
+	valor numeric(19, 2),
+	data_cadastro timestamp,
+	tipo varchar(255),
+	status varchar(255),
+	id_usuario bigint,
+	primary key (id),
+	constraint fk_lancamento_usuario foreign key (id_usuario) references financas.usuario (id)
+);
@@ -0,0 +1,11 @@
+create table if not exists financas.saldo_usuario (
+	id bigint generated by default as identity,
+	id_usuario bigint,
+	ano integer,
+	mes integer,
+	tipo varchar(255),
+	status varchar(255),
+	valor numeric(19, 2),
+	primary key (id),
+	constraint uk_saldo_usuario_chave unique (id_usuario, ano, mes, tipo, status)
+);
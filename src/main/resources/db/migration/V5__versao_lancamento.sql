@@ -0,0 +1 @@
+alter table financas.lancamento add column versao bigint not null default 0;
@@ -0,0 +1,4 @@
+-- precisão explícita nos valores: numeric(18, 2) cabe inteiro num long de centavos (Dinheiro)
+alter table financas.lancamento alter column valor set data type numeric(18, 2);
+
+alter table financas.saldo_usuario alter column valor set data type numeric(18, 2);
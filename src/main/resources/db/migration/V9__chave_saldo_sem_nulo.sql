@@ -0,0 +1,14 @@
+-- ano e mês ausentes viram zero na chave do saldo, como no periodo dos lançamentos:
+-- com nulo a chave única nunca casa (nulo é distinto de nulo) e cada gravação
+-- criava uma linha nova. As linhas já gravadas assim são somadas numa só.
+insert into financas.saldo_usuario (id_usuario, ano, mes, tipo, status, valor)
+select id_usuario, coalesce(ano, 0), coalesce(mes, 0), tipo, status, sum(valor)
+from financas.saldo_usuario
+where ano is null or mes is null
+group by id_usuario, coalesce(ano, 0), coalesce(mes, 0), tipo, status;
+
+delete from financas.saldo_usuario where ano is null or mes is null;
+
+alter table financas.saldo_usuario alter column ano set not null;
+
+alter table financas.saldo_usuario alter column mes set not null;
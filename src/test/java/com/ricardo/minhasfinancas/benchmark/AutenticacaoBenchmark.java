@@ -0,0 +1,56 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ricardo.minhasfinancas.service.seguranca.CodificadorSenha;
+
+/**
+ * Logins por segundo conforme o fator de custo do BCrypt, passando pelo
+ * executor limitado como no login real. Com mais threads de cliente que o
+ * executor o excesso é recusado, então a fila é grande o bastante para o
+ * benchmark medir a vazão e não as recusas. Por exemplo:
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark.argumentos="AutenticacaoBenchmark -p forca=12 -t 4"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AutenticacaoBenchmark {
+	@Param({ "8", "10", "12" })
+	public int forca;
+
+	private CodificadorSenha codificadorSenha;
+	private String hash;
+
+	@Setup
+	public void preparar() {
+		codificadorSenha = new CodificadorSenha(forca, 0, 1024, Duration.ofMinutes(1));
+		hash = codificadorSenha.codificar("senha-do-usuario");
+	}
+
+	@TearDown
+	public void encerrar() {
+		codificadorSenha.encerrar();
+	}
+
+	@Benchmark
+	public boolean autenticar() {
+		return codificadorSenha.conferir("senha-do-usuario", hash);
+	}
+}
@@ -0,0 +1,94 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.repository.IndiceLancamentos;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.service.SaldoUsuarioService;
+
+/**
+ * H2 semeado com a quantidade de lançamentos do parâmetro, todos de um mesmo
+ * usuário, distribuídos por 8 anos, com o saldo acumulado e o índice de
+ * descrições já reconstruídos.
+ */
+@State(Scope.Benchmark)
+public class BaseDeDadosBenchmark {
+	private static final int BLOCO = 10_000;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int lancamentos;
+
+	ConfigurableApplicationContext contexto;
+	Usuario usuario;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar();
+		usuario = semear(contexto, lancamentos);
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	<T> T bean(Class<T> tipo) {
+		return contexto.getBean(tipo);
+	}
+
+	/** Cria o usuário com os lançamentos e o saldo já reconstruído. */
+	static Usuario semear(ConfigurableApplicationContext contexto, int lancamentos) {
+		Usuario usuario = contexto.getBean(UsuarioRepository.class)
+				.save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+
+		JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+		for (int inicio = 0; inicio < lancamentos; inicio += BLOCO)
+			semear(jdbcTemplate, usuario, inicio, Math.min(BLOCO, lancamentos - inicio));
+		jdbcTemplate.execute("alter sequence hibernate_sequence restart with " + (lancamentos + 1));
+		jdbcTemplate.execute("analyze");
+
+		contexto.getBean(SaldoUsuarioService.class).reconciliar(usuario.getId());
+		// semeado por JDBC, depois da reconstrução da subida
+		contexto.getBean(IndiceLancamentos.class).reconstruir();
+		return usuario;
+	}
+
+	private static void semear(JdbcTemplate jdbcTemplate, Usuario usuario, int inicio, int quantidade) {
+		Timestamp agora = new Timestamp(System.currentTimeMillis());
+		jdbcTemplate.batchUpdate(
+				"insert into financas.lancamento (id, descricao, periodo, valor, data_cadastro, tipo, status, id_usuario) values (?, ?, ?, ?, ?, ?, ?, ?)",
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						int numero = inicio + i + 1;
+						ps.setLong(1, numero);
+						ps.setString(2, "Lançamento " + numero);
+						ps.setInt(3, (2015 + numero / 12 % 8) * 100 + numero % 12 + 1);
+						ps.setBigDecimal(4, BigDecimal.valueOf(numero % 1000 + 1));
+						ps.setTimestamp(5, agora);
+						ps.setString(6, numero % 3 == 0 ? "RECEITA" : "DESPESA");
+						ps.setString(7, numero % 5 == 0 ? "PENDENTE" : "EFETIVADO");
+						ps.setLong(8, usuario.getId());
+					}
+
+					@Override
+					public int getBatchSize() {
+						return quantidade;
+					}
+				});
+	}
+}
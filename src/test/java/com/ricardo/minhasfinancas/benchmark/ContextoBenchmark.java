@@ -0,0 +1,42 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ricardo.minhasfinancas.MinhasfinancasApplication;
+
+/**
+ * Sobe a aplicação com o perfil de teste (H2 em memória) para os benchmarks,
+ * sem log de SQL e sem o reinício do devtools.
+ */
+final class ContextoBenchmark {
+
+	private ContextoBenchmark() {
+	}
+
+	static ConfigurableApplicationContext iniciar(String... propriedades) {
+		return iniciarComPerfis(new String[0], propriedades);
+	}
+
+	/** Perfis somados ao de teste, como o {@code virtual}. */
+	static ConfigurableApplicationContext iniciarComPerfis(String[] perfis, String... propriedades) {
+		// o devtools reiniciaria o main sem os argumentos
+		System.setProperty("spring.devtools.restart.enabled", "false");
+
+		List<String> todas = new ArrayList<>(Arrays.asList("server.port=0",
+				"spring.jpa.properties.hibernate.show_sql=false", "spring.main.banner-mode=off",
+				"logging.level.root=WARN"));
+		todas.addAll(Arrays.asList(propriedades));
+		List<String> todosPerfis = new ArrayList<>(Arrays.asList("test"));
+		todosPerfis.addAll(Arrays.asList(perfis));
+
+		// como argumentos de linha de comando, que valem mais que os arquivos de cada perfil
+		String[] argumentos = todas.stream().map(propriedade -> "--" + propriedade).toArray(String[]::new);
+		return new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.profiles(todosPerfis.toArray(new String[0])).run(argumentos);
+	}
+}
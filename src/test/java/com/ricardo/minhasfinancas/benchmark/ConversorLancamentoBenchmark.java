@@ -0,0 +1,52 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.ConversorLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+/**
+ * Caminhos sem acesso ao banco, executados a cada lançamento recebido ou
+ * devolvido pela API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversorLancamentoBenchmark {
+	private final LancamentoServiceImpl lancamentoService = new LancamentoServiceImpl();
+	private final ConversorLancamento conversorLancamento = new ConversorLancamento(null);
+	private final Lancamento lancamento = Lancamento.builder().id(1l).descricao("Conta de luz").mes(1).ano(2022)
+			.valor(BigDecimal.TEN).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE)
+			.usuario(Usuario.builder().id(1l).build()).build();
+
+	@Benchmark
+	public void validar(Blackhole blackhole) {
+		lancamentoService.validar(lancamento);
+		blackhole.consume(lancamento);
+	}
+
+	@Benchmark
+	public LancamentoDTO converterParaDTO() {
+		return conversorLancamento.paraDTO(lancamento);
+	}
+}
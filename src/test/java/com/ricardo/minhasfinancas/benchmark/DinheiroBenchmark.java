@@ -0,0 +1,104 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.SaldoPorTipoEStatus;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
+import com.ricardo.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+
+import lombok.Value;
+
+/**
+ * Agregação dos saldos em memória: a soma em centavos de {@link Dinheiro}
+ * contra o caminho anterior, que somava {@link BigDecimal} parcela a parcela.
+ * Com {@code -prof gc} o {@code gc.alloc.rate.norm} mostra a alocação por
+ * operação de cada um.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DinheiroBenchmark {
+	@Param({ "12", "1000" })
+	int parcelas;
+
+	private final SaldoUsuarioServiceImpl saldoUsuarioService = new SaldoUsuarioServiceImpl();
+	private final List<SaldoPorTipoEStatus> saldos = new ArrayList<>();
+	private BigDecimal[] valores;
+	private long[] centavos;
+
+	@Setup
+	public void criarParcelas() {
+		valores = new BigDecimal[parcelas];
+		centavos = new long[parcelas];
+		StatusLancamento[] status = StatusLancamento.values();
+		for (int i = 0; i < parcelas; i++) {
+			valores[i] = BigDecimal.valueOf(i * 137L % 100_000 + 1, 2);
+			centavos[i] = Dinheiro.centavos(valores[i]);
+			saldos.add(new Saldo(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA, status[i % status.length],
+					valores[i]));
+		}
+	}
+
+	@Benchmark
+	public BigDecimal somarBigDecimal() {
+		BigDecimal total = BigDecimal.ZERO;
+		for (BigDecimal valor : valores)
+			total = total.add(valor);
+		return total;
+	}
+
+	@Benchmark
+	public long somarCentavos() {
+		long total = 0;
+		for (long valor : centavos)
+			total = Math.addExact(total, valor);
+		return total;
+	}
+
+	@Benchmark
+	public SaldoDetalhadoDTO consolidarSaldoEmCentavos() {
+		return saldoUsuarioService.consolidarSaldo(saldos);
+	}
+
+	/** O consolidarSaldo de antes do Dinheiro, para comparação. */
+	@Benchmark
+	public BigDecimal consolidarSaldoEmBigDecimal() {
+		BigDecimal[] receitas = { BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO };
+		BigDecimal[] despesas = { BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO };
+		for (SaldoPorTipoEStatus saldo : saldos) {
+			BigDecimal[] totais = saldo.getTipo() == TipoLancamento.RECEITA ? receitas : despesas;
+			int status = saldo.getStatus().ordinal();
+			totais[status] = totais[status].add(saldo.getTotal());
+		}
+		int efetivado = StatusLancamento.EFETIVADO.ordinal();
+		return receitas[efetivado].subtract(despesas[efetivado]);
+	}
+
+	@Value
+	static class Saldo implements SaldoPorTipoEStatus {
+		TipoLancamento tipo;
+		StatusLancamento status;
+		BigDecimal total;
+	}
+}
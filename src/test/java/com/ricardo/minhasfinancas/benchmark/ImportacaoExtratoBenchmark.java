@@ -0,0 +1,99 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.rest.LeitorExtrato;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoImportacaoDTO;
+import com.ricardo.minhasfinancas.service.ImportacaoLancamentoService;
+
+/**
+ * Gera um extrato CSV ou OFX com o número de linhas informado, importa-o no H2
+ * do perfil de teste e mostra linhas por segundo e o pico de heap observado.
+ * O H2 em memória divide o mesmo heap, então o pico cresce com as linhas já
+ * gravadas; compare execuções com o mesmo número de linhas.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Dbenchmark.classe=com.ricardo.minhasfinancas.benchmark.ImportacaoExtratoBenchmark -Dbenchmark.argumentos="1000000 csv"
+ * </pre>
+ */
+public class ImportacaoExtratoBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		String formato = args.length > 1 ? args[1] : "csv";
+
+		File arquivo = File.createTempFile("extrato", "." + formato);
+		arquivo.deleteOnExit();
+		gerar(arquivo, linhas, formato);
+
+		try (ConfigurableApplicationContext contexto = ContextoBenchmark.iniciar()) {
+			Usuario usuario = contexto.getBean(UsuarioRepository.class)
+					.save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+			ImportacaoLancamentoService importacao = contexto.getBean(ImportacaoLancamentoService.class);
+
+			System.gc();
+			MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+			AtomicLong pico = new AtomicLong(memoria.getHeapMemoryUsage().getUsed());
+			Thread amostragem = new Thread(() -> {
+				while (!Thread.currentThread().isInterrupted()) {
+					pico.accumulateAndGet(memoria.getHeapMemoryUsage().getUsed(), Math::max);
+					try {
+						Thread.sleep(5);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			});
+			amostragem.setDaemon(true);
+			amostragem.start();
+
+			long inicio = System.nanoTime();
+			ResultadoImportacaoDTO resultado;
+			try (InputStream entrada = Files.newInputStream(arquivo.toPath())) {
+				resultado = importacao.importar(
+						LeitorExtrato.de(formato, entrada, StandardCharsets.UTF_8, usuario.getId(), null), false);
+			}
+			double segundos = (System.nanoTime() - inicio) / 1e9;
+			amostragem.interrupt();
+
+			System.out.printf("arquivo: %s, %d linhas, %.1f MB%n", formato, linhas, arquivo.length() / 1048576.0);
+			System.out.printf("importados: %d, rejeitados: %d%n", resultado.getImportados(), resultado.getRejeitados());
+			System.out.printf("tempo: %.2f s, %.0f linhas/s%n", segundos, resultado.getTotal() / segundos);
+			System.out.printf("pico de heap: %.1f MB (máximo %.1f MB)%n", pico.get() / 1048576.0,
+					memoria.getHeapMemoryUsage().getMax() / 1048576.0);
+		}
+	}
+
+	private static void gerar(File arquivo, int linhas, String formato) throws Exception {
+		try (BufferedWriter saida = Files.newBufferedWriter(arquivo.toPath(), StandardCharsets.UTF_8)) {
+			if ("ofx".equals(formato))
+				saida.write("OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n");
+			else
+				saida.write("data;descricao;valor\n");
+
+			for (int i = 0; i < linhas; i++) {
+				int mes = i % 12 + 1;
+				String valor = (i % 3 == 0 ? "" : "-") + (i % 1000 + 1) + "," + (i % 90 + 10);
+				if ("ofx".equals(formato))
+					saida.write(String.format("<STMTTRN>\n<TRNTYPE>%s\n<DTPOSTED>2022%02d15\n<TRNAMT>%s\n<MEMO>Transação %d\n</STMTTRN>\n",
+							i % 3 == 0 ? "CREDIT" : "DEBIT", mes, valor, i));
+				else
+					saida.write(String.format("15/%02d/2022;Transação %d;%s\n", mes, i, valor));
+			}
+
+			if ("ofx".equals(formato))
+				saida.write("</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n");
+		}
+	}
+}
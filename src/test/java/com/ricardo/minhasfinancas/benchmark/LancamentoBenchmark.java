@@ -0,0 +1,100 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.repository.CursorLancamento;
+import com.ricardo.minhasfinancas.rest.ConversorLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.service.LancamentoService;
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+
+/**
+ * Caminhos que dependem do banco: saldo (com e sem cache), busca paginada com
+ * filtros diferentes e a conversão do DTO recebido, que carrega o usuário.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LancamentoBenchmark {
+	private static final int TAMANHO_PAGINA = 50;
+
+	private LancamentoService lancamentoService;
+	private SaldoCache saldoCache;
+	private ConversorLancamento conversorLancamento;
+	private Long idUsuario;
+	private Lancamento filtroUsuario;
+	private Lancamento filtroPeriodo;
+	private Lancamento filtroDescricao;
+	private CursorLancamento cursorMeio;
+	private LancamentoDTO dto;
+
+	@Setup(Level.Trial)
+	public void preparar(BaseDeDadosBenchmark base) {
+		lancamentoService = base.bean(LancamentoService.class);
+		saldoCache = base.bean(SaldoCache.class);
+		conversorLancamento = base.bean(ConversorLancamento.class);
+		idUsuario = base.usuario.getId();
+
+		filtroUsuario = Lancamento.builder().usuario(base.usuario).build();
+		filtroPeriodo = Lancamento.builder().usuario(base.usuario).ano(2018).mes(6).build();
+		filtroDescricao = Lancamento.builder().usuario(base.usuario).descricao("lançamento 42").build();
+		cursorMeio = CursorLancamento.de(Lancamento.builder().ano(2019).mes(1).id((long) base.lancamentos / 2).build());
+		dto = LancamentoDTO.builder().descricao("Conta de luz").mes(1).ano(2022).valor(BigDecimal.TEN)
+				.tipo("DESPESA").status("PENDENTE").usuario(idUsuario).build();
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario() {
+		return lancamentoService.obterSaldoPorUsuario(idUsuario);
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuarioSemCache() {
+		saldoCache.invalidar(idUsuario);
+		return lancamentoService.obterSaldoPorUsuario(idUsuario);
+	}
+
+	@Benchmark
+	public Slice<Lancamento> buscarPorUsuario() {
+		return lancamentoService.buscar(filtroUsuario, null, null, TAMANHO_PAGINA, Sort.Direction.ASC);
+	}
+
+	@Benchmark
+	public Slice<Lancamento> buscarPorPeriodo() {
+		return lancamentoService.buscar(filtroPeriodo, null, null, TAMANHO_PAGINA, Sort.Direction.ASC);
+	}
+
+	@Benchmark
+	public Slice<Lancamento> buscarPorDescricao() {
+		return lancamentoService.buscar(filtroDescricao, null, null, TAMANHO_PAGINA, Sort.Direction.ASC);
+	}
+
+	@Benchmark
+	public Slice<Lancamento> buscarPaginaDoMeio() {
+		return lancamentoService.buscar(filtroUsuario, null, cursorMeio, TAMANHO_PAGINA, Sort.Direction.ASC);
+	}
+
+	@Benchmark
+	public Lancamento converterParaEntidade() {
+		return conversorLancamento.paraEntidade(dto);
+	}
+}
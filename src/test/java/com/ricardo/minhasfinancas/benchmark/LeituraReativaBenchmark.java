@@ -0,0 +1,110 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ricardo.minhasfinancas.config.ServidorReativo;
+
+/**
+ * Teste de carga HTTP das leituras do painel (saldo, usuário e lançamentos)
+ * no Tomcat e no servidor reativo da mesma aplicação, sobre o H2 em memória.
+ * Cada thread do JMH é um cliente; o modo {@code sample} traz o p99 e o
+ * {@code thrpt} a vazão. O cache de saldo fica desligado para que as duas
+ * pilhas leiam o banco. Para a fila do Tomcat aparecer, o número de clientes
+ * deve passar do pool dele, por exemplo:
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark.argumentos="LeituraReativaBenchmark -t 400 -p tomcatThreads=50"}
+ * Com o H2 as consultas R2DBC rodam no {@code boundedElastic}, porque o
+ * driver bloqueia; só contra o PostgreSQL o event loop fica de fato livre.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(256)
+@State(Scope.Benchmark)
+public class LeituraReativaBenchmark {
+	@Param({ "servlet", "reativo" })
+	public String pilha;
+
+	@Param({ "200" })
+	public int tomcatThreads;
+
+	@Param({ "0" })
+	public int eventLoopThreads;
+
+	@Param({ "10000" })
+	public int lancamentos;
+
+	private ConfigurableApplicationContext contexto;
+	private HttpClient cliente;
+	private HttpRequest saldo;
+	private HttpRequest usuario;
+	private HttpRequest listagem;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar("server.tomcat.threads.max=" + tomcatThreads,
+				"minhasfinancas.reativo.porta=0", "minhasfinancas.reativo.threads=" + eventLoopThreads,
+				"minhasfinancas.saldo.cache.tamanho-maximo=0", "minhasfinancas.sql.diagnostico=false");
+		Long idUsuario = BaseDeDadosBenchmark.semear(contexto, lancamentos).getId();
+
+		int porta = "reativo".equals(pilha) ? contexto.getBean(ServidorReativo.class).getPorta()
+				: ((WebServerApplicationContext) contexto).getWebServer().getPort();
+		String base = "http://localhost:" + porta;
+		cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5))
+				.build();
+		saldo = HttpRequest.newBuilder(URI.create(base + "/api/usuarios/" + idUsuario + "/saldo")).build();
+		usuario = HttpRequest.newBuilder(URI.create(base + "/api/usuarios/" + idUsuario)).build();
+		listagem = HttpRequest.newBuilder(URI.create(base + "/api/lancamentos?usuario=" + idUsuario)).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public int saldo() throws IOException, InterruptedException {
+		return enviar(saldo);
+	}
+
+	@Benchmark
+	public int obterUsuario() throws IOException, InterruptedException {
+		return enviar(usuario);
+	}
+
+	@Benchmark
+	public int listarLancamentos() throws IOException, InterruptedException {
+		return enviar(listagem);
+	}
+
+	private int enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+		HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+		if (resposta.statusCode() != 200)
+			throw new IllegalStateException("HTTP " + resposta.statusCode() + " em " + requisicao.uri());
+		return resposta.body().length;
+	}
+}
@@ -0,0 +1,97 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Teste de carga HTTP do saldo e da listagem de lançamentos, com a aplicação
+ * em threads de plataforma (pool do Tomcat) e em threads virtuais (perfil
+ * {@code virtual}). Cada thread do JMH é um cliente que repete a chamada; o
+ * modo {@code sample} traz o p99 e o {@code thrpt} a vazão. Para a diferença
+ * aparecer, o número de clientes deve passar do pool do Tomcat, por exemplo:
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark.argumentos="ThreadsVirtuaisBenchmark -t 400 -p tomcatThreads=50"}
+ * O {@code -Djdk.tracePinnedThreads=short} do fork denuncia no log qualquer
+ * thread virtual presa ao carregador por um bloqueio dentro de
+ * {@code synchronized}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djdk.tracePinnedThreads=short" })
+@Threads(256)
+@State(Scope.Benchmark)
+public class ThreadsVirtuaisBenchmark {
+	@Param({ "false", "true" })
+	public boolean virtuais;
+
+	@Param({ "200" })
+	public int tomcatThreads;
+
+	@Param({ "10000" })
+	public int lancamentos;
+
+	private ConfigurableApplicationContext contexto;
+	private HttpClient cliente;
+	private HttpRequest saldo;
+	private HttpRequest listagem;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		// a espera na admissão vai a 10s: o teste mede fila e vazão, não recusas
+		contexto = ContextoBenchmark.iniciarComPerfis(virtuais ? new String[] { "virtual" } : new String[0],
+				"server.tomcat.threads.max=" + tomcatThreads, "minhasfinancas.sql.diagnostico=false",
+				"minhasfinancas.concorrencia.espera-maxima=10s");
+		Long idUsuario = BaseDeDadosBenchmark.semear(contexto, lancamentos).getId();
+
+		String base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+		cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5))
+				.build();
+		saldo = HttpRequest.newBuilder(URI.create(base + "/api/usuarios/" + idUsuario + "/saldo")).build();
+		listagem = HttpRequest.newBuilder(URI.create(base + "/api/lancamentos?usuario=" + idUsuario)).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public int saldo() throws IOException, InterruptedException {
+		return enviar(saldo);
+	}
+
+	@Benchmark
+	public int listarLancamentos() throws IOException, InterruptedException {
+		return enviar(listagem);
+	}
+
+	private int enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+		HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+		if (resposta.statusCode() != 200)
+			throw new IllegalStateException("HTTP " + resposta.statusCode() + " em " + requisicao.uri());
+		return resposta.body().length;
+	}
+}
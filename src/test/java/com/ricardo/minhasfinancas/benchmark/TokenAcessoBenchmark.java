@@ -0,0 +1,57 @@
+package com.ricardo.minhasfinancas.benchmark;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
+
+/**
+ * Custo por requisição da validação do token no filtro, para comparar com o
+ * login em {@link AutenticacaoBenchmark}. Por exemplo:
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark.argumentos="TokenAcessoBenchmark -t 4"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenAcessoBenchmark {
+	private TokenAcesso tokenAcesso;
+	private String token;
+	private String tokenAdulterado;
+
+	@Setup
+	public void preparar() {
+		tokenAcesso = new TokenAcesso("segredo-do-benchmark", Duration.ofHours(12));
+		token = tokenAcesso.emitir(123456l);
+		tokenAdulterado = "9" + token;
+	}
+
+	@Benchmark
+	public Optional<Long> validar() {
+		return tokenAcesso.validar(token);
+	}
+
+	@Benchmark
+	public Optional<Long> recusarAdulterado() {
+		return tokenAcesso.validar(tokenAdulterado);
+	}
+
+	@Benchmark
+	public String emitir() {
+		return tokenAcesso.emitir(123456l);
+	}
+}
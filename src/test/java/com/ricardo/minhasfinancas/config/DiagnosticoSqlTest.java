@@ -0,0 +1,111 @@
+package com.ricardo.minhasfinancas.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.rest.dto.OcorrenciaSqlDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.sql.orcamento.repeticoes=2")
+@ActiveProfiles("test")
+public class DiagnosticoSqlTest {
+	@Autowired
+	ContadorSql contadorSql;
+
+	@Autowired
+	DiagnosticoSql diagnosticoSql;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	List<Usuario> usuarios = new ArrayList<>();
+	List<Lancamento> lancamentos = new ArrayList<>();
+
+	@BeforeEach
+	public void criarDados() {
+		for (int i = 1; i <= 3; i++) {
+			Usuario usuario = usuarioRepository.save(
+					Usuario.builder().nome("diagnostico " + i).email("diagnostico" + i + "@email.com").build());
+			usuarios.add(usuario);
+			lancamentos.add(lancamentoRepository.save(Lancamento.builder().descricao("Lançamento " + i).mes(1)
+					.ano(2022).valor(BigDecimal.TEN).tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE)
+					.usuario(usuario).build()));
+		}
+	}
+
+	@AfterEach
+	public void removerDados() {
+		lancamentoRepository.deleteAll(lancamentos);
+		usuarioRepository.deleteAll(usuarios);
+	}
+
+	@Test
+	public void deveApontarUmNMaisUmNosLancamentosDoUsuario() {
+		// Cenário: a coleção preguiçosa de cada usuário dispara o mesmo select
+		List<Long> ids = usuarios.stream().map(Usuario::getId).collect(Collectors.toList());
+		contadorSql.iniciar();
+		transactionTemplate.executeWithoutResult(
+				status -> usuarioRepository.findAllById(ids).forEach(usuario -> usuario.getLancamentos().size()));
+		ConsultasRequisicao consultas = contadorSql.encerrar();
+
+		// Execução
+		diagnosticoSql.registrar("GET", "/teste/n-mais-um", consultas);
+
+		// Verificação
+		OcorrenciaSqlDTO ocorrencia = diagnosticoSql.obterOcorrencias().get(0);
+		assertEquals("/teste/n-mais-um", ocorrencia.getUri());
+		assertTrue(ocorrencia.getMotivos().contains(DiagnosticoSql.N_MAIS_UM));
+		assertEquals(3, ocorrencia.getRepeticoes());
+		assertTrue(consultas.getTempo().toNanos() > 0);
+		assertTrue(ocorrencia.getComandoMaisRepetido().contains("lancamento"));
+		assertEquals(1, registry.counter("minhasfinancas.sql.excessos", "method", "GET", "uri", "/teste/n-mais-um",
+				"motivo", DiagnosticoSql.N_MAIS_UM).count());
+	}
+
+	@Test
+	public void naoDeveRegistrarOcorrenciaDentroDoOrcamento() {
+		// Cenário
+		contadorSql.iniciar();
+		usuarioRepository.findAllById(usuarios.stream().map(Usuario::getId).collect(Collectors.toList()));
+		ConsultasRequisicao consultas = contadorSql.encerrar();
+
+		// Execução
+		diagnosticoSql.registrar("GET", "/teste/orcamento", consultas);
+
+		// Verificação
+		assertTrue(consultas.getComandos() <= 1);
+		assertTrue(diagnosticoSql.obterOcorrencias().stream().noneMatch(o -> o.getUri().equals("/teste/orcamento")));
+	}
+}
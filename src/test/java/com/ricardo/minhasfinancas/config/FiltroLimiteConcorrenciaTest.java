@@ -0,0 +1,76 @@
+package com.ricardo.minhasfinancas.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class FiltroLimiteConcorrenciaTest {
+	FiltroLimiteConcorrencia filtro = new FiltroLimiteConcorrencia(1, Duration.ofMillis(50));
+
+	@Test
+	public void deveRecusarComRetryAfterQuandoNaoHouverVaga() throws Exception {
+		// Cenário: a única vaga ocupada por uma requisição presa no controlador
+		CountDownLatch emAndamento = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		Thread.ofVirtual().start(() -> executar(new MockHttpServletResponse(), emAndamento, liberar));
+		emAndamento.await(5, TimeUnit.SECONDS);
+
+		// Execução
+		MockHttpServletResponse recusada = new MockHttpServletResponse();
+		executar(recusada, new CountDownLatch(1), new CountDownLatch(0));
+		liberar.countDown();
+
+		// Verificação
+		assertEquals(503, recusada.getStatus());
+		assertEquals("1", recusada.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, filtro.getRecusadas());
+	}
+
+	@Test
+	public void deveDevolverAVagaAoFimDaRequisicao() throws Exception {
+		// Execução
+		MockHttpServletResponse primeira = new MockHttpServletResponse();
+		MockHttpServletResponse segunda = new MockHttpServletResponse();
+		executar(primeira, new CountDownLatch(1), new CountDownLatch(0));
+		executar(segunda, new CountDownLatch(1), new CountDownLatch(0));
+
+		// Verificação
+		assertEquals(200, primeira.getStatus());
+		assertEquals(200, segunda.getStatus());
+		assertEquals(0, filtro.getEmAndamento());
+	}
+
+	private void executar(MockHttpServletResponse response, CountDownLatch emAndamento, CountDownLatch liberar) {
+		HttpServlet controlador = new HttpServlet() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				emAndamento.countDown();
+				try {
+					liberar.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		try {
+			filtro.doFilter(new MockHttpServletRequest("GET", "/api/lancamentos"), response,
+					new MockFilterChain(controlador));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
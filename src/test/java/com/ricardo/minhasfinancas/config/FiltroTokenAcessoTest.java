@@ -0,0 +1,78 @@
+package com.ricardo.minhasfinancas.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
+
+public class FiltroTokenAcessoTest {
+	TokenAcesso tokenAcesso = new TokenAcesso("segredo-dos-testes-do-filtro", Duration.ofMinutes(5));
+
+	FiltroTokenAcesso filtro = new FiltroTokenAcesso(tokenAcesso, true);
+
+	@Test
+	public void deveRecusarSemTokenOLancamentoDeQualquerUsuario() throws Exception {
+		// Execução
+		MockHttpServletResponse resposta = executar(new MockHttpServletRequest("GET", "/api/lancamentos"),
+				new AtomicReference<>());
+
+		// Verificação
+		assertEquals(401, resposta.getStatus());
+		assertEquals("Bearer", resposta.getHeader(HttpHeaders.WWW_AUTHENTICATE));
+	}
+
+	@Test
+	public void deveDeixarPassarSemTokenOCadastroEOLogin() throws Exception {
+		// Execução
+		MockHttpServletResponse cadastro = executar(new MockHttpServletRequest("POST", "/api/usuarios"),
+				new AtomicReference<>());
+		MockHttpServletResponse login = executar(new MockHttpServletRequest("POST", "/api/usuarios/autenticar"),
+				new AtomicReference<>());
+
+		// Verificação
+		assertEquals(200, cadastro.getStatus());
+		assertEquals(200, login.getStatus());
+	}
+
+	@Test
+	public void deveExporOUsuarioDoTokenSoDuranteARequisicao() throws Exception {
+		// Cenário
+		MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/api/lancamentos");
+		requisicao.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokenAcesso.emitir(7l));
+		AtomicReference<Long> noControlador = new AtomicReference<>();
+
+		// Execução
+		MockHttpServletResponse resposta = executar(requisicao, noControlador);
+
+		// Verificação
+		assertEquals(200, resposta.getStatus());
+		assertEquals(7l, noControlador.get());
+		assertNull(UsuarioAutenticado.obter().orElse(null));
+	}
+
+	private MockHttpServletResponse executar(MockHttpServletRequest requisicao, AtomicReference<Long> usuario)
+			throws Exception {
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		filtro.doFilter(requisicao, resposta, new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				usuario.set(UsuarioAutenticado.obter().orElse(null));
+			}
+		}));
+		return resposta;
+	}
+}
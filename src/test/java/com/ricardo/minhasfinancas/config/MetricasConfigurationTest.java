@@ -0,0 +1,69 @@
+package com.ricardo.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricasConfigurationTest {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	Usuario usuario;
+
+	@BeforeEach
+	public void criarUsuario() {
+		usuario = usuarioRepository
+				.save(Usuario.builder().nome("metricas").email("metricas@email.com").senha("senha").build());
+	}
+
+	@AfterEach
+	public void removerUsuario() {
+		usuarioRepository.delete(usuario);
+	}
+
+	@Test
+	public void deveExporAsMetricasNoFormatoDoPrometheus() throws Exception {
+		// Cenário: a segunda consulta do saldo detalhado sai do cache
+		String saldo = "/api/usuarios/" + usuario.getId() + "/saldo/detalhado";
+		mvc.perform(MockMvcRequestBuilders.get(saldo)).andExpect(MockMvcResultMatchers.status().isOk());
+		mvc.perform(MockMvcRequestBuilders.get(saldo)).andExpect(MockMvcResultMatchers.status().isOk());
+
+		// Execução
+		String metricas = mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+				.andExpect(MockMvcResultMatchers.status().isOk()).andReturn().getResponse().getContentAsString();
+
+		// Verificação
+		assertThat(metricas)
+				.contains("http_server_requests_seconds_bucket{application=\"minhasfinancas\"")
+				.contains("uri=\"/api/usuarios/{id}/saldo/detalhado\"")
+				.contains("minhasfinancas_servico_seconds_count{application=\"minhasfinancas\",class=\"LancamentoServiceImpl\",exception=\"none\",method=\"obterSaldoDetalhadoPorUsuario\",}")
+				.contains("minhasfinancas_sql_requisicao_comandos_bucket")
+				.contains("hikaricp_connections_acquire_seconds_bucket")
+				.contains("cache_gets_total{application=\"minhasfinancas\",cache=\"saldo-usuario\",result=\"hit\",}")
+				.contains("hibernate_second_level_cache_requests_total")
+				.contains("executor_queued_tasks{application=\"minhasfinancas\",name=\"verificacao-senha\",}");
+	}
+}
@@ -0,0 +1,47 @@
+package com.ricardo.minhasfinancas.config;
+
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.fail;
+
+import java.util.Map;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Verificações do MockMvc sobre os comandos SQL da requisição, registrados pelo
+ * {@link FiltroContagemSql}. Falham o teste quando o endpoint passa do
+ * orçamento declarado, por exemplo:
+ * {@code mvc.perform(get("/api/lancamentos?usuario=1")).andExpect(OrcamentoSql.noMaximo(1)).andExpect(OrcamentoSql.semRepeticao())}
+ */
+public final class OrcamentoSql {
+	private OrcamentoSql() {
+	}
+
+	public static ResultMatcher noMaximo(int comandos) {
+		return resultado -> {
+			ConsultasRequisicao consultas = consultas(resultado);
+			if (consultas.getComandos() > comandos)
+				fail(String.format("%s executou %d comandos SQL, acima do orçamento de %d: %s",
+						resultado.getRequest().getRequestURI(), consultas.getComandos(), comandos,
+						consultas.getRepeticoes().keySet()));
+		};
+	}
+
+	/** Nenhum comando repetido na mesma requisição, o sinal de um N+1. */
+	public static ResultMatcher semRepeticao() {
+		return resultado -> {
+			for (Map.Entry<String, Integer> comando : consultas(resultado).getRepeticoes().entrySet())
+				if (comando.getValue() > 1)
+					fail(String.format("%s repetiu %d vezes o comando: %s", resultado.getRequest().getRequestURI(),
+							comando.getValue(), comando.getKey()));
+		};
+	}
+
+	private static ConsultasRequisicao consultas(MvcResult resultado) {
+		ConsultasRequisicao consultas = (ConsultasRequisicao) resultado.getRequest()
+				.getAttribute(FiltroContagemSql.CONSULTAS);
+		assertNotNull("Requisição fora do FiltroContagemSql (só /api/* é acompanhado)", consultas);
+		return consultas;
+	}
+}
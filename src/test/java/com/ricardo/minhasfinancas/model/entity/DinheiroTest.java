@@ -0,0 +1,57 @@
+package com.ricardo.minhasfinancas.model.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class DinheiroTest {
+
+	@Test
+	public void deveGuardarOValorEmCentavosArredondandoComoOBanco() {
+		assertEquals(1050, Dinheiro.de(new BigDecimal("10.5")).getCentavos());
+		assertEquals(1001, Dinheiro.de(new BigDecimal("10.005")).getCentavos());
+		assertEquals(-1001, Dinheiro.de(new BigDecimal("-10.005")).getCentavos());
+		assertEquals(Dinheiro.ZERO, Dinheiro.de(BigDecimal.ZERO));
+		assertEquals(999999999999999L, Dinheiro.de(new BigDecimal("9999999999999.99")).getCentavos());
+		assertEquals(-12345678901234567L, Dinheiro.de(new BigDecimal("-123456789012345.67")).getCentavos());
+		assertEquals(12345678900L, Dinheiro.de(new BigDecimal("123456789")).getCentavos());
+	}
+
+	@Test
+	public void deveSairNoJsonComoODecimalDeDuasCasas() throws Exception {
+		// Cenário
+		ObjectMapper mapper = new ObjectMapper();
+		Dinheiro valor = Dinheiro.de(BigDecimal.valueOf(-20));
+
+		// Execução
+		String json = mapper.writeValueAsString(valor);
+
+		// Verificação
+		assertEquals("-20.00", json);
+		assertEquals(valor, mapper.readValue(json, Dinheiro.class));
+	}
+
+	@Test
+	public void naoDevePerderOsCentavosAoSairDoDinheiro() {
+		Dinheiro valor = Dinheiro.de(new BigDecimal("-10.99"));
+
+		assertFalse(Number.class.isAssignableFrom(Dinheiro.class));
+		assertEquals(-1099, valor.getCentavos());
+		assertEquals(new BigDecimal("-10.99"), valor.toBigDecimal());
+		assertEquals("-10.99", valor.toString());
+	}
+
+	@Test
+	public void naoDeveTransbordarAoSomar() {
+		Dinheiro maximo = Dinheiro.deCentavos(Long.MAX_VALUE);
+
+		assertThrows(ArithmeticException.class, () -> maximo.mais(Dinheiro.deCentavos(1)));
+		assertThrows(ArithmeticException.class, () -> Dinheiro.de(new BigDecimal("1e20")));
+	}
+}
@@ -0,0 +1,233 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.service.LancamentoService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class IndiceLancamentosTest {
+	@Autowired
+	IndiceLancamentos indiceLancamentos;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	Usuario usuario;
+	Usuario outroUsuario;
+	List<Lancamento> lancamentos = new ArrayList<>();
+
+	@BeforeEach
+	public void criarUsuarios() throws InterruptedException {
+		usuario = usuarioRepository.save(Usuario.builder().nome("indice").email("indice@email.com").senha("s").build());
+		outroUsuario = usuarioRepository
+				.save(Usuario.builder().nome("outro").email("outro-indice@email.com").senha("s").build());
+		// a reconstrução da subida roda em segundo plano
+		for (int tentativa = 0; tentativa < 100 && !indiceLancamentos.isDisponivel(); tentativa++)
+			Thread.sleep(50);
+		assertTrue(indiceLancamentos.isDisponivel());
+	}
+
+	@AfterEach
+	public void removerDados() {
+		// relido do banco: a atualização de status em lote muda a versão
+		for (Lancamento lancamento : lancamentos)
+			lancamentoRepository.findById(lancamento.getId()).ifPresent(lancamentoService::deletar);
+		for (Usuario criado : Arrays.asList(usuario, outroUsuario)) {
+			saldoUsuarioRepository.deleteAll(saldoUsuarioRepository.findByIdUsuario(criado.getId()));
+			usuarioRepository.delete(criado);
+		}
+	}
+
+	@Test
+	public void deveEncontrarPorPrefixoPalavraESemAcento() {
+		// Cenário
+		Lancamento mercado = salvar(usuario, "Lançamento do Mercado", 1);
+		Lancamento mercadinho = salvar(usuario, "mercadinho da esquina", 2);
+		salvar(usuario, "Conta de luz", 3);
+		salvar(outroUsuario, "Mercado", 1);
+
+		// Execução e verificação
+		assertEquals(Arrays.asList(mercado.getId()), buscar("lancamento"));
+		assertEquals(Arrays.asList(mercado.getId()), buscar("LANÇ merc"));
+		assertEquals(Arrays.asList(mercado.getId(), mercadinho.getId()), buscar("merc"));
+		assertEquals(Arrays.asList(mercadinho.getId()), buscar("Esquína"));
+		// não é mais busca por trecho: "cado" não é começo de palavra
+		assertEquals(Collections.emptyList(), buscar("cado"));
+	}
+
+	@Test
+	public void devePaginarPeloIndiceComCursor() {
+		// Cenário
+		Lancamento janeiro = salvar(usuario, "Aluguel", 1);
+		salvar(usuario, "Luz", 2);
+		Lancamento marco = salvar(usuario, "Aluguel", 3);
+		Lancamento filtro = filtro("aluguel");
+
+		// Execução
+		Slice<LancamentoDTO> primeira = lancamentoService.listar(filtro, null, null, 1, Sort.Direction.DESC);
+		Slice<LancamentoDTO> segunda = lancamentoService.listar(filtro, null,
+				CursorLancamento.de(primeira.getContent().get(0)), 1, Sort.Direction.DESC);
+
+		// Verificação
+		assertEquals(marco.getId(), primeira.getContent().get(0).getId());
+		assertTrue(primeira.hasNext());
+		assertEquals(janeiro.getId(), segunda.getContent().get(0).getId());
+		assertFalse(segunda.hasNext());
+	}
+
+	@Test
+	public void deveAplicarFaixasTipoEStatusNoIndice() {
+		// Cenário
+		Lancamento janeiro = salvar(usuario, "Aluguel", 1);
+		Lancamento fevereiro = salvar(usuario, "Aluguel", 2);
+		Lancamento marco = salvar(usuario, "Aluguel", 3);
+		Lancamento filtro = filtro("aluguel");
+		FaixaLancamento faixa = FaixaLancamento.builder().anoInicial(2022).mesInicial(2).build();
+
+		// Execução
+		lancamentoService.atualizarStatusEmLote(Arrays.asList(fevereiro.getId()), StatusLancamento.EFETIVADO);
+
+		// Verificação
+		assertEquals(Arrays.asList(fevereiro.getId(), marco.getId()), ids(filtro, faixa));
+		filtro.setStatus(StatusLancamento.EFETIVADO);
+		assertEquals(Arrays.asList(fevereiro.getId()), ids(filtro, faixa));
+		filtro.setStatus(StatusLancamento.PENDENTE);
+		assertEquals(Arrays.asList(janeiro.getId(), marco.getId()), ids(filtro, null));
+		filtro.setTipo(TipoLancamento.RECEITA);
+		assertEquals(Collections.emptyList(), ids(filtro, null));
+		filtro.setTipo(null);
+		filtro.setStatus(null);
+		assertEquals(Collections.emptyList(),
+				ids(filtro, FaixaLancamento.builder().valorMinimo(new BigDecimal("10.01")).build()));
+		assertEquals(Arrays.asList(janeiro.getId(), fevereiro.getId(), marco.getId()),
+				ids(filtro, FaixaLancamento.builder().valorMaximo(BigDecimal.TEN).build()));
+	}
+
+	@Test
+	public void deveAcompanharAtualizacaoERemocao() {
+		// Cenário
+		Lancamento lancamento = salvar(usuario, "Farmácia", 1);
+
+		// Execução e verificação
+		lancamentoService.alterar(lancamento.getId(), null, l -> l.setDescricao("Padaria"));
+		assertEquals(Collections.emptyList(), buscar("farmacia"));
+		assertEquals(Arrays.asList(lancamento.getId()), buscar("padaria"));
+
+		lancamentoService.deletar(lancamentoRepository.findById(lancamento.getId()).get());
+		assertEquals(Collections.emptyList(), buscar("padaria"));
+	}
+
+	@Test
+	public void deveReconstruirAPartirDaBase() {
+		// Cenário: gravado direto no repositório, sem passar pelo serviço que indexa
+		Lancamento lancamento = lancamentoRepository.save(Lancamento.builder().descricao("Academia").mes(1).ano(2022)
+				.valor(BigDecimal.TEN).tipo(TipoLancamento.DESPESA).usuario(usuario).build());
+		lancamentos.add(lancamento);
+		assertEquals(Collections.emptyList(), buscar("academia"));
+
+		// Execução
+		indiceLancamentos.reconstruir();
+
+		// Verificação
+		assertEquals(Arrays.asList(lancamento.getId()), buscar("academia"));
+	}
+
+	@Test
+	public void naoDeveDesfazerGravacoesConcorrentesComAReconstrucao() throws Exception {
+		// Cenário: linhas fora do índice, para a reconstrução ter o que ler enquanto o serviço grava
+		List<Lancamento> gravados = new ArrayList<>();
+		for (int i = 0; i < 300; i++)
+			gravados.add(Lancamento.builder().descricao("Mensalidade").mes(1 + i % 12).ano(2022)
+					.valor(BigDecimal.TEN).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE)
+					.usuario(usuario).build());
+		gravados = lancamentoRepository.saveAll(gravados);
+		lancamentos.addAll(gravados);
+		List<Long> removidos = new ArrayList<>();
+		List<Long> efetivados = new ArrayList<>();
+		for (int i = 0; i < gravados.size(); i += 3) {
+			removidos.add(gravados.get(i).getId());
+			efetivados.add(gravados.get(i + 1).getId());
+		}
+
+		// Execução: remoções e mudanças de status no meio da reconstrução, em qualquer ordem
+		Thread reconstrucao = new Thread(indiceLancamentos::reconstruir);
+		reconstrucao.start();
+		for (Long id : removidos)
+			lancamentoService.deletar(lancamentoRepository.findById(id).get());
+		lancamentoService.atualizarStatusEmLote(efetivados, StatusLancamento.EFETIVADO);
+		reconstrucao.join();
+
+		// Verificação: direto no índice, sem a base filtrar o que sobrou; nenhum removido volta e nenhum status regride
+		Lancamento filtro = filtro("mensalidade");
+		List<Long> encontrados = noIndice(filtro);
+		assertEquals(gravados.size() - removidos.size(), encontrados.size());
+		assertTrue(Collections.disjoint(encontrados, removidos));
+		filtro.setStatus(StatusLancamento.EFETIVADO);
+		Collections.sort(efetivados);
+		assertEquals(efetivados, noIndice(filtro));
+	}
+
+	private List<Long> noIndice(Lancamento filtro) {
+		return indiceLancamentos.buscar(filtro, null, null, 500, Sort.Direction.ASC).get().stream().sorted()
+				.collect(Collectors.toList());
+	}
+
+	private Lancamento salvar(Usuario dono, String descricao, int mes) {
+		Lancamento lancamento = lancamentoService.salvar(Lancamento.builder().descricao(descricao).mes(mes).ano(2022)
+				.valor(BigDecimal.TEN).tipo(TipoLancamento.DESPESA).usuario(dono).build());
+		lancamentos.add(lancamento);
+		return lancamento;
+	}
+
+	private List<Long> buscar(String descricao) {
+		return ids(filtro(descricao), null);
+	}
+
+	private List<Long> ids(Lancamento filtro, FaixaLancamento faixa) {
+		return lancamentoService.listar(filtro, faixa, null, 10, Sort.Direction.ASC).getContent().stream()
+				.map(LancamentoDTO::getId).collect(Collectors.toList());
+	}
+
+	private Lancamento filtro(String descricao) {
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setDescricao(descricao);
+		return filtro;
+	}
+}
@@ -1,13 +1,20 @@
 package com.ricardo.minhasfinancas.model.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,12 +23,17 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
 import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
 import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
@@ -41,6 +53,18 @@ public class LancamentoRepositoryTest {
 		assertNotNull(lancamento.getId());
 	}
 
+	@Test
+	public void deveGerarIdsDistintosAoSalvarEmLote() {
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for (int i = 0; i < 120; i++)
+			lancamentos.add(criarLancamento());
+
+		lancamentoRepository.saveAll(lancamentos);
+		lancamentoRepository.flush();
+
+		assertEquals(120, lancamentos.stream().map(Lancamento::getId).distinct().count());
+	}
+
 	@Test
 	public void deveDeletarUmLancamento() {
 		Lancamento lancamento = criarEPersistirLancamento();
@@ -71,6 +95,24 @@ public class LancamentoRepositoryTest {
 		assertEquals(lancamentoAtualizado.getStatus(), StatusLancamento.CANCELADO);
 	}
 
+	@Test
+	public void deveRejeitarAGravacaoDeUmLancamentoComVersaoDesatualizada() {
+		Lancamento lancamento = criarEPersistirLancamento();
+		entityManager.flush();
+		Long versaoLida = lancamento.getVersao();
+
+		lancamento.setDescricao("Alterado por outra requisição");
+		entityManager.flush();
+		entityManager.clear();
+
+		Lancamento desatualizado = criarLancamento();
+		desatualizado.setId(lancamento.getId());
+		desatualizado.setVersao(versaoLida);
+
+		assertEquals(versaoLida + 1, entityManager.find(Lancamento.class, lancamento.getId()).getVersao());
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> lancamentoRepository.save(desatualizado));
+	}
+
 	@Test
 	public void deveBuscarUmLancamentoPorId() {
 		Lancamento lancamento = criarEPersistirLancamento();
@@ -80,6 +122,226 @@ public class LancamentoRepositoryTest {
 		assertTrue(lancamentoEncontrado.isPresent());
 	}
 
+	@Test
+	public void deveObterOsMovimentosAgrupadosPorPeriodoTipoEStatusDoUsuario() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+
+		persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 50);
+		persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 30);
+
+		List<MovimentoSaldo> movimentos = lancamentoRepository.obterMovimentosAgrupadosPorUsuario(usuario.getId());
+
+		assertEquals(2, movimentos.size());
+		MovimentoSaldo receitas = movimentos.stream().filter(m -> m.getTipo() == TipoLancamento.RECEITA)
+				.findFirst().get();
+		assertEquals(usuario.getId(), receitas.getIdUsuario());
+		assertEquals(StatusLancamento.EFETIVADO, receitas.getStatus());
+		assertEquals(0, receitas.getValor().compareTo(BigDecimal.valueOf(150)));
+	}
+
+	@Test
+	public void deveObterOMovimentoGravadoIgnorandoAlteracoesPendentes() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persistAndFlush(lancamento);
+
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+
+		Optional<MovimentoSaldo> movimento = lancamentoRepository.obterMovimentoPersistido(lancamento.getId());
+
+		assertTrue(movimento.isPresent());
+		assertEquals(StatusLancamento.PENDENTE, movimento.get().getStatus());
+	}
+
+	@Test
+	public void devePaginarOsLancamentosDoUsuarioPorCursor() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento janeiro = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 10);
+		Lancamento fevereiro = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 20);
+		fevereiro.setMes(2);
+		Lancamento marco = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 30);
+		marco.setMes(3);
+		entityManager.flush();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+
+		Slice<Lancamento> primeira = lancamentoRepository.buscarPorUsuario(filtro, null, null, 2, Sort.Direction.ASC);
+		assertEquals(Arrays.asList(janeiro, fevereiro), primeira.getContent());
+		assertTrue(primeira.hasNext());
+
+		CursorLancamento cursor = CursorLancamento.decodificar(CursorLancamento.de(fevereiro).codificar());
+		Slice<Lancamento> segunda = lancamentoRepository.buscarPorUsuario(filtro, null, cursor, 2, Sort.Direction.ASC);
+		assertEquals(Arrays.asList(marco), segunda.getContent());
+		assertFalse(segunda.hasNext());
+
+		Slice<Lancamento> decrescente = lancamentoRepository.buscarPorUsuario(filtro, null,
+				CursorLancamento.de(marco), 2, Sort.Direction.DESC);
+		assertEquals(Arrays.asList(fevereiro, janeiro), decrescente.getContent());
+	}
+
+	@Test
+	public void devePaginarPorCursorAposUmLancamentoSemPeriodo() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento semPeriodo = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 10);
+		semPeriodo.setAno(null);
+		semPeriodo.setMes(null);
+		Lancamento janeiro = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 20);
+		entityManager.flush();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+
+		Slice<Lancamento> primeira = lancamentoRepository.buscarPorUsuario(filtro, null, null, 1, Sort.Direction.ASC);
+		assertEquals(Arrays.asList(semPeriodo), primeira.getContent());
+
+		CursorLancamento cursor = CursorLancamento.decodificar(CursorLancamento.de(semPeriodo).codificar());
+		Slice<Lancamento> segunda = lancamentoRepository.buscarPorUsuario(filtro, null, cursor, 1, Sort.Direction.ASC);
+		assertEquals(Arrays.asList(janeiro), segunda.getContent());
+		assertFalse(segunda.hasNext());
+	}
+
+	@Test
+	public void deveFiltrarOsLancamentosDoUsuarioPelaDescricao() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento salario = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 10);
+		salario.setDescricao("Salário de Janeiro");
+		persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 30);
+		entityManager.flush();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setDescricao("JANEIRO");
+
+		Slice<Lancamento> pagina = lancamentoRepository.buscarPorUsuario(filtro, null, null, 10, Sort.Direction.ASC);
+
+		assertEquals(Arrays.asList(salario), pagina.getContent());
+	}
+
+	@Test
+	public void deveFiltrarOsLancamentosDoUsuarioPorFaixaTipoEStatus() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento novembro = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 10);
+		novembro.setAno(2021);
+		novembro.setMes(11);
+		Lancamento janeiro = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 20);
+		Lancamento marco = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 300);
+		marco.setMes(3);
+		Lancamento abril = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 40);
+		abril.setMes(4);
+		entityManager.flush();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		FaixaLancamento ultimosMeses = FaixaLancamento.builder().anoInicial(2021).mesInicial(11).anoFinal(2022)
+				.mesFinal(3).build();
+
+		assertEquals(Arrays.asList(novembro, janeiro, marco),
+				lancamentoRepository.buscarPorUsuario(filtro, ultimosMeses, null, 10, Sort.Direction.ASC).getContent());
+		ultimosMeses.setValorMinimo(BigDecimal.valueOf(15));
+		ultimosMeses.setValorMaximo(BigDecimal.valueOf(300));
+		assertEquals(Arrays.asList(janeiro, marco),
+				lancamentoRepository.buscarPorUsuario(filtro, ultimosMeses, null, 10, Sort.Direction.ASC).getContent());
+
+		filtro.setStatus(StatusLancamento.PENDENTE);
+		assertEquals(Arrays.asList(marco),
+				lancamentoRepository.buscarPorUsuario(filtro, ultimosMeses, null, 10, Sort.Direction.ASC).getContent());
+		filtro.setStatus(null);
+		filtro.setTipo(TipoLancamento.RECEITA);
+		assertEquals(Arrays.asList(abril), lancamentoRepository
+				.buscarPorUsuario(filtro, FaixaLancamento.builder().anoInicial(2022).build(), null, 10,
+						Sort.Direction.ASC)
+				.getContent());
+	}
+
+	@Test
+	public void deveFiltrarOsLancamentosDoUsuarioPeloAnoOuPeloMesDoPeriodo() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento dezembroPassado = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 10);
+		dezembroPassado.setAno(2021);
+		dezembroPassado.setMes(12);
+		Lancamento janeiro = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 10);
+		Lancamento dezembro = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 10);
+		dezembro.setMes(12);
+		entityManager.flush();
+		entityManager.clear();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setAno(2022);
+		assertEquals(Arrays.asList(janeiro.getId(), dezembro.getId()), ids(filtro));
+		filtro.setMes(12);
+		assertEquals(Arrays.asList(dezembro.getId()), ids(filtro));
+		filtro.setAno(null);
+		assertEquals(Arrays.asList(dezembroPassado.getId(), dezembro.getId()), ids(filtro));
+
+		Lancamento lido = entityManager.find(Lancamento.class, dezembroPassado.getId());
+		assertEquals(202112, lido.getPeriodo());
+		assertEquals(2021, lido.getAno());
+		assertEquals(12, lido.getMes());
+	}
+
+	@Test
+	public void devePercorrerOsLancamentosDoUsuarioEmOrdemDePeriodo() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento marco = persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 30);
+		marco.setMes(3);
+		Lancamento janeiro = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 10);
+		Usuario outroUsuario = UsuarioRepositoryTest.criarUsuario();
+		outroUsuario.setEmail("outro@email.com");
+		entityManager.persist(outroUsuario);
+		persistirLancamento(outroUsuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 20);
+		entityManager.flush();
+
+		try (Stream<Lancamento> lancamentos = lancamentoRepository.percorrerPorUsuario(usuario.getId())) {
+			assertEquals(Arrays.asList(janeiro, marco), lancamentos.collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void deveAtualizarEmLoteApenasOStatusDosLancamentosQueMudam() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		entityManager.persist(usuario);
+		Lancamento pendente = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 10);
+		Lancamento efetivado = persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 20);
+		entityManager.flush();
+		List<Long> ids = Arrays.asList(pendente.getId(), efetivado.getId());
+
+		Long versao = pendente.getVersao();
+		List<MovimentoLancamento> movimentos = lancamentoRepository.obterMovimentosComStatusDiferente(ids,
+				StatusLancamento.EFETIVADO);
+		int atualizados = lancamentoRepository.atualizarStatus(ids, StatusLancamento.EFETIVADO);
+		entityManager.clear();
+
+		assertEquals(1, movimentos.size());
+		assertEquals(pendente.getId(), movimentos.get(0).getId());
+		assertEquals(StatusLancamento.PENDENTE, movimentos.get(0).getStatus());
+		assertEquals(2, atualizados);
+		Lancamento atualizado = entityManager.find(Lancamento.class, pendente.getId());
+		assertEquals(StatusLancamento.EFETIVADO, atualizado.getStatus());
+		assertEquals(versao + 1, atualizado.getVersao());
+	}
+
+	private Lancamento persistirLancamento(Usuario usuario, TipoLancamento tipo, StatusLancamento status, int valor) {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setTipo(tipo);
+		lancamento.setStatus(status);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		entityManager.persist(lancamento);
+		return lancamento;
+	}
+
 	private Lancamento criarEPersistirLancamento() {
 		Lancamento lancamento = criarLancamento();
 		entityManager.persist(lancamento);
@@ -90,4 +352,9 @@ public class LancamentoRepositoryTest {
 		return Lancamento.builder().ano(2022).mes(1).descricao("Lançamento qualquer").valor(BigDecimal.valueOf(10))
 				.tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE).dataCadastro(LocalDate.now()).build();
 	}
+
+	private List<Long> ids(Lancamento filtro) {
+		return lancamentoRepository.listarPorUsuario(filtro, null, null, 10, Sort.Direction.ASC).getContent().stream()
+				.map(LancamentoDTO::getId).collect(Collectors.toList());
+	}
 }
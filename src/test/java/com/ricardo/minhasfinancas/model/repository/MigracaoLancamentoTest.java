@@ -0,0 +1,77 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Migra uma base vazia até a V5 (ano ainda anulável), grava um lançamento sem
+ * ano e o saldo dele, repetido como o upsert com chave nula gravava, e segue até
+ * a última versão. No PostgreSQL só roda com
+ * {@code -Dminhasfinancas.teste.postgresql.url=...}, numa base descartável: o
+ * schema é apagado antes.
+ */
+public class MigracaoLancamentoTest {
+
+	@Test
+	public void deveManterOLancamentoSemAnoAoMigrarNoH2() {
+		migrarComLancamentoSemAno(new DriverManagerDataSource(
+				"jdbc:h2:mem:migracao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "sa"), "h2");
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "minhasfinancas.teste.postgresql.url", matches = ".+")
+	public void deveManterOLancamentoSemAnoAoMigrarNoPostgresql() {
+		migrarComLancamentoSemAno(new DriverManagerDataSource(System.getProperty("minhasfinancas.teste.postgresql.url"),
+				System.getProperty("minhasfinancas.teste.postgresql.usuario", "postgres"),
+				System.getProperty("minhasfinancas.teste.postgresql.senha", "postgres")), "postgresql");
+	}
+
+	private void migrarComLancamentoSemAno(DriverManagerDataSource dataSource, String banco) {
+		// Cenário
+		Flyway ateV5 = flyway(dataSource, banco).target("5").load();
+		if (!"h2".equals(banco))
+			ateV5.clean();
+		ateV5.migrate();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.update("insert into financas.usuario (id, nome, email) values (1, 'Usuário', 'migracao@mail.com')");
+		jdbcTemplate.update(
+				"insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario) values (1, 'Com ano', 3, 2022, 10, 'RECEITA', 'PENDENTE', 1)");
+		jdbcTemplate.update(
+				"insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario) values (2, 'Sem ano', 3, null, 20, 'DESPESA', 'PENDENTE', 1)");
+		jdbcTemplate.update(
+				"insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario) values (3, 'Sem período', null, null, 30, 'DESPESA', 'PENDENTE', 1)");
+		for (int i = 0; i < 2; i++)
+			jdbcTemplate.update(
+					"insert into financas.saldo_usuario (id_usuario, ano, mes, tipo, status, valor) values (1, null, 3, 'DESPESA', 'PENDENTE', 10)");
+
+		// Execução
+		flyway(dataSource, banco).load().migrate();
+
+		// Verificação: a parte ausente do período fica zero nos dois bancos, como em Periodo
+		List<Integer> periodos = jdbcTemplate.queryForList("select periodo from financas.lancamento order by id",
+				Integer.class);
+		assertEquals(Arrays.asList(202203, 3, 0), periodos);
+		List<String> saldos = jdbcTemplate.queryForList(
+				"select ano || ':' || mes || ':' || valor from financas.saldo_usuario", String.class);
+		assertEquals(Arrays.asList("0:3:20.00"), saldos);
+	}
+
+	private static FluentConfiguration flyway(DriverManagerDataSource dataSource, String banco) {
+		FluentConfiguration configuracao = Flyway.configure().dataSource(dataSource)
+				.locations("classpath:db/migration", "classpath:db/vendor/" + banco);
+		// o H2 em memória já nasce vazio; no PostgreSQL o clean precisa alcançar o schema financas
+		if (!"h2".equals(banco))
+			configuracao.schemas("public", "financas").cleanDisabled(false);
+		return configuracao;
+	}
+}
@@ -0,0 +1,103 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@TestInstance(Lifecycle.PER_CLASS)
+public class PlanoDeExecucaoTest {
+	static final long USUARIO_INICIAL = 900000;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	// o ANALYZE do H2 encerra a transação do teste, então a massa é criada uma vez e removida ao final
+	@BeforeAll
+	public void popularBase() {
+		for (int usuario = 1; usuario <= 20; usuario++) {
+			jdbcTemplate.update("insert into financas.usuario (id, nome, email) values (?, 'Usuário', ?)",
+					USUARIO_INICIAL + usuario, "plano" + usuario + "@mail.com");
+			for (int i = 0; i < 100; i++) {
+				jdbcTemplate.update(
+						"insert into financas.lancamento (id, descricao, periodo, valor, tipo, status, id_usuario) values (?, 'Lançamento', ?, 10, ?, ?, ?)",
+						(USUARIO_INICIAL + usuario) * 1000 + i, (2015 + i % 8) * 100 + i % 12 + 1,
+						i % 2 == 0 ? "RECEITA" : "DESPESA", i % 3 == 0 ? "EFETIVADO" : "PENDENTE",
+						USUARIO_INICIAL + usuario);
+			}
+		}
+		jdbcTemplate.execute("analyze");
+	}
+
+	@AfterAll
+	public void limparBase() {
+		jdbcTemplate.update("delete from financas.lancamento where id_usuario > ?", USUARIO_INICIAL);
+		jdbcTemplate.update("delete from financas.usuario where id > ?", USUARIO_INICIAL);
+	}
+
+	@Test
+	public void deveUsarAChaveDoSaldoAoObterOSaldoDoUsuario() {
+		String plano = explicar(
+				"select tipo, status, sum(valor) from financas.saldo_usuario where id_usuario = 900001 group by tipo, status");
+
+		assertThat(plano).contains("UK_SALDO_USUARIO_CHAVE");
+	}
+
+	@Test
+	public void deveUsarOIndiceDeTipoEStatusAoSomarLancamentosDoUsuario() {
+		String plano = explicar(
+				"select sum(valor) from financas.lancamento where id_usuario = 900001 and tipo = 'RECEITA' and status = 'EFETIVADO'");
+
+		assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_TIPO_STATUS");
+	}
+
+	@Test
+	public void deveUsarOIndiceDePeriodoAoBuscarLancamentosDoUsuario() {
+		String plano = explicar(
+				"select * from financas.lancamento where id_usuario = 900001 and periodo = 202201 order by periodo, id fetch first 51 rows only");
+
+		assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_PERIODO");
+	}
+
+	@Test
+	public void deveUsarOIndiceDePeriodoAoBuscarLancamentosDeUmaFaixaDeAnos() {
+		String plano = explicar(
+				"select * from financas.lancamento where id_usuario = 900001 and periodo >= 202111 and periodo <= 202212 order by periodo, id fetch first 51 rows only");
+
+		assertThat(plano).contains("IDX_LANCAMENTO_USUARIO_PERIODO");
+	}
+
+	@Test
+	public void deveUsarUmIndiceDeUsuarioAoBuscarLancamentosSemPeriodo() {
+		String plano = explicar(
+				"select * from financas.lancamento where id_usuario = 900001 order by periodo, id fetch first 51 rows only");
+
+		assertThat(plano).doesNotContain("tableScan").contains("ID_USUARIO = CAST(900001 AS BIGINT) */");
+	}
+
+	@Test
+	public void deveUsarOIndiceUnicoDeEmailAoBuscarUmUsuario() {
+		String plano = explicar("select * from financas.usuario where email = 'usuario1@mail.com'");
+
+		assertThat(plano).contains("UK_USUARIO_EMAIL");
+	}
+
+	private String explicar(String sql) {
+		return jdbcTemplate.queryForObject("explain " + sql, String.class);
+	}
+}
@@ -0,0 +1,109 @@
+package com.ricardo.minhasfinancas.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+import com.ricardo.minhasfinancas.model.entity.SaldoUsuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class SaldoUsuarioRepositoryTest {
+	@Autowired
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void deveAcumularUmValorNoSaldoExistente() {
+		SaldoUsuario saldo = entityManager.persistAndFlush(criarSaldo(TipoLancamento.RECEITA, 100));
+
+		saldoUsuarioRepository.acumular(1l, 2022, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+				Dinheiro.de(BigDecimal.valueOf(-40)));
+		entityManager.clear();
+
+		assertEquals(1, saldoUsuarioRepository.findByIdUsuario(1l).size());
+		assertEquals(0, entityManager.find(SaldoUsuario.class, saldo.getId()).getValor()
+				.compareTo(Dinheiro.de(BigDecimal.valueOf(60))));
+	}
+
+	@Test
+	public void deveCriarOSaldoQuandoNaoExisteParaAChave() {
+		saldoUsuarioRepository.acumular(1l, 2022, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+				Dinheiro.de(BigDecimal.TEN));
+		saldoUsuarioRepository.acumular(1l, 2022, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+				Dinheiro.de(new BigDecimal("2.5")));
+		entityManager.clear();
+
+		List<SaldoUsuario> saldos = saldoUsuarioRepository.findByIdUsuario(1l);
+		assertEquals(1, saldos.size());
+		assertEquals(Dinheiro.de(new BigDecimal("12.5")), saldos.get(0).getValor());
+	}
+
+	@Test
+	public void deveAcumularNumaUnicaChaveOLancamentoSemPeriodo() {
+		saldoUsuarioRepository.acumular(1l, null, null, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				Dinheiro.de(BigDecimal.TEN));
+		saldoUsuarioRepository.acumular(1l, null, null, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				Dinheiro.de(BigDecimal.ONE));
+		entityManager.clear();
+
+		List<SaldoUsuario> saldos = saldoUsuarioRepository.findByIdUsuario(1l);
+		assertEquals(1, saldos.size());
+		assertEquals(0, saldos.get(0).getAno());
+		assertEquals(0, saldos.get(0).getMes());
+		assertEquals(Dinheiro.de(BigDecimal.valueOf(11)), saldos.get(0).getValor());
+	}
+
+	@Test
+	public void deveSomarOsSaldosDosPeriodosPorTipoEStatus() {
+		entityManager.persist(criarSaldo(TipoLancamento.RECEITA, 100));
+		SaldoUsuario outroMes = criarSaldo(TipoLancamento.RECEITA, 50);
+		outroMes.setMes(2);
+		entityManager.persist(outroMes);
+		entityManager.persist(criarSaldo(TipoLancamento.DESPESA, 30));
+
+		List<SaldoPorTipoEStatus> saldos = saldoUsuarioRepository.obterSaldosPorTipoEStatus(1l);
+
+		assertEquals(2, saldos.size());
+		SaldoPorTipoEStatus receitas = saldos.stream().filter(s -> s.getTipo() == TipoLancamento.RECEITA)
+				.findFirst().get();
+		assertEquals(0, receitas.getTotal().compareTo(BigDecimal.valueOf(150)));
+	}
+
+	@Test
+	public void deveObterOsSaldosDoUsuarioNoAno() {
+		entityManager.persist(criarSaldo(TipoLancamento.RECEITA, 100));
+		SaldoUsuario outroAno = criarSaldo(TipoLancamento.RECEITA, 50);
+		outroAno.setAno(2021);
+		entityManager.persist(outroAno);
+
+		List<MovimentoSaldo> movimentos = saldoUsuarioRepository.obterMovimentosPorAno(1l, 2022);
+
+		assertEquals(1, movimentos.size());
+		assertEquals(1, movimentos.get(0).getMes());
+		assertEquals(0, movimentos.get(0).getValor().compareTo(BigDecimal.valueOf(100)));
+	}
+
+	public static SaldoUsuario criarSaldo(TipoLancamento tipo, int valor) {
+		return SaldoUsuario.builder().idUsuario(1l).ano(2022).mes(1).tipo(tipo).status(StatusLancamento.EFETIVADO)
+				.valor(Dinheiro.de(BigDecimal.valueOf(valor))).build();
+	}
+}
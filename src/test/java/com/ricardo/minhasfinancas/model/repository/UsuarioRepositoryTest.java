@@ -1,8 +1,14 @@
 package com.ricardo.minhasfinancas.model.repository;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.EntityManagerFactory;
+
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +18,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ricardo.minhasfinancas.model.entity.Usuario;
 
@@ -26,6 +34,9 @@ public class UsuarioRepositoryTest {
 	@Autowired
 	private TestEntityManager testEntityManager;
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	@Test
 	public void deveVerificarAExistenciaDeUmEmail() {
 		// cenario
@@ -80,6 +91,44 @@ public class UsuarioRepositoryTest {
 		Assertions.assertThat(result.isPresent()).isFalse();
 	}
 
+	@Test
+	public void deveTravarOsUsuariosParaGravarEReconciliarOSaldo() {
+		// cenario
+		Long id = testEntityManager.persistAndFlush(criarUsuario()).getId();
+
+		// ação / execução
+		List<Long> gravacao = usuarioRepository.travarParaGravarSaldo(Arrays.asList(id, id + 1));
+		List<Long> reconciliacao = usuarioRepository.travarParaReconciliarSaldo(id);
+
+		// Verificação
+		Assertions.assertThat(gravacao).containsExactly(id);
+		Assertions.assertThat(reconciliacao).containsExactly(id);
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void deveResolverOUsuarioPeloCacheDeSegundoNivel() {
+		// cenario: o cache só recebe o usuário após o commit, por isso o teste roda fora da transação
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		Usuario usuario = usuarioRepository.save(criarUsuario());
+		usuarioRepository.findById(usuario.getId());
+		usuarioRepository.obterPorEmail(usuario.getEmail());
+		estatisticas.clear();
+
+		// ação / execução
+		usuarioRepository.findById(usuario.getId());
+		usuarioRepository.obterPorEmail(usuario.getEmail());
+		long acertosEntidade = estatisticas.getSecondLevelCacheHitCount();
+		long acertosIdNatural = estatisticas.getNaturalIdCacheHitCount();
+		long carregamentos = estatisticas.getEntityLoadCount();
+		usuarioRepository.deleteById(usuario.getId());
+
+		// Verificação
+		Assertions.assertThat(acertosEntidade).isPositive();
+		Assertions.assertThat(acertosIdNatural).isPositive();
+		Assertions.assertThat(carregamentos).isZero();
+	}
+
 	public static Usuario criarUsuario() {
 		return Usuario.builder().nome("Ricardo").email("usuario@mail.com").senha("senha").build();
 	}
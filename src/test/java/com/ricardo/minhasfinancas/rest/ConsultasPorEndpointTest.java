@@ -0,0 +1,122 @@
+package com.ricardo.minhasfinancas.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.ricardo.minhasfinancas.config.OrcamentoSql;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConsultasPorEndpointTest {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	Usuario usuario;
+	List<Lancamento> lancamentos = new ArrayList<>();
+
+	@BeforeEach
+	public void criarDados() {
+		usuario = usuarioRepository
+				.save(Usuario.builder().nome("consultas").email("consultas@email.com").senha("senha").build());
+		for (int mes = 1; mes <= 3; mes++)
+			lancamentos.add(Lancamento.builder().descricao("Lançamento " + mes).mes(mes).ano(2022)
+					.valor(BigDecimal.TEN).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE)
+					.usuario(usuario).build());
+		lancamentos = lancamentoRepository.saveAll(lancamentos);
+
+		// o mapa de usuários é carregado na primeira consulta; não conta para o endpoint
+		usuarioService.existe(usuario.getId());
+		estatisticas().clear();
+	}
+
+	@AfterEach
+	public void removerDados() {
+		lancamentoRepository.deleteAll(lancamentos);
+		usuarioRepository.delete(usuario);
+	}
+
+	@Test
+	public void deveListarOsLancamentosComUmaUnicaConsulta() throws Exception {
+		mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos?usuario=" + usuario.getId()))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(3))
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].usuario").value(usuario.getId()))
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].tipo").value("DESPESA"))
+				.andExpect(OrcamentoSql.noMaximo(1)).andExpect(OrcamentoSql.semRepeticao());
+
+		assertEquals(1, estatisticas().getPrepareStatementCount());
+		assertEquals(0, estatisticas().getEntityLoadCount());
+	}
+
+	@Test
+	public void deveObterOUsuarioSemCarregarOsLancamentos() throws Exception {
+		mvc.perform(MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId()))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.nome").value("consultas"))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.lancamentos").doesNotExist())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.senha").doesNotExist())
+				.andExpect(OrcamentoSql.noMaximo(1));
+
+		assertEquals(1, estatisticas().getPrepareStatementCount());
+		assertEquals(0, estatisticas().getCollectionLoadCount());
+	}
+
+	@Test
+	public void deveFalharQuandoOEndpointPassarDoOrcamento() throws Exception {
+		// Execução
+		ResultActions resultado = mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos?usuario=" + usuario.getId()));
+
+		// Verificação
+		AssertionError erro = assertThrows(AssertionError.class, () -> resultado.andExpect(OrcamentoSql.noMaximo(0)));
+		assertTrue(erro.getMessage().contains("acima do orçamento de 0"));
+	}
+
+	private Statistics estatisticas() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+}
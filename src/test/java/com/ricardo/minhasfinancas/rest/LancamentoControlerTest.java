@@ -1,5 +1,303 @@
 package com.ricardo.minhasfinancas.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.FaixaLancamento;
+import com.ricardo.minhasfinancas.rest.dto.AtualizacaoStatusLoteDTO;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoAtualizacaoStatusDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoImportacaoDTO;
+import com.ricardo.minhasfinancas.service.AtualizacaoStatusService;
+import com.ricardo.minhasfinancas.service.ImportacaoLancamentoService;
+import com.ricardo.minhasfinancas.service.LancamentoService;
+import com.ricardo.minhasfinancas.service.UsuarioService;
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoControler.class)
+@Import({ ConversorLancamento.class, TokenAcesso.class })
+@AutoConfigureMockMvc
 public class LancamentoControlerTest {
+	static final String API = "/api/lancamentos";
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@MockBean
+	ImportacaoLancamentoService importacaoLancamentoService;
+
+	@MockBean
+	AtualizacaoStatusService atualizacaoStatusService;
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveImportarUmLoteEmNdjsonReportandoLinhasInvalidas() throws Exception {
+		// Cenário
+		List<Object> lidos = new ArrayList<>();
+		Mockito.when(importacaoLancamentoService.importar(Mockito.any(Iterator.class), Mockito.eq(true)))
+				.thenAnswer(invocacao -> {
+					Iterator<LancamentoDTO> linhas = invocacao.getArgument(0);
+					while (linhas.hasNext()) {
+						try {
+							lidos.add(linhas.next());
+						} catch (RegraNegocioException e) {
+							lidos.add(e.getMessage());
+						}
+					}
+					return new ResultadoImportacaoDTO();
+				});
+		String corpo = "{\"descricao\":\"Luz\",\"mes\":1,\"ano\":2022,\"valor\":10,\"usuario\":1,\"tipo\":\"DESPESA\"}\n"
+				+ "\n{nao e json}\n"
+				+ "{\"descricao\":\"Água\",\"mes\":2,\"ano\":2022,\"valor\":20,\"usuario\":1,\"tipo\":\"DESPESA\"}\n";
+
+		// Execução e verificação
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/lote"))
+				.contentType(LeitorLancamentos.NDJSON).accept(MediaType.APPLICATION_JSON).content(corpo);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+		assertThat(lidos).hasSize(3);
+		assertThat(((LancamentoDTO) lidos.get(2)).getDescricao()).isEqualTo("Água");
+		assertThat((String) lidos.get(1)).startsWith("Lançamento inválido");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveImportarUmLoteEmArrayJson() throws Exception {
+		// Cenário
+		List<LancamentoDTO> lidos = new ArrayList<>();
+		Mockito.when(importacaoLancamentoService.importar(Mockito.any(Iterator.class), Mockito.eq(true)))
+				.thenAnswer(invocacao -> {
+					Iterator<LancamentoDTO> linhas = invocacao.getArgument(0);
+					linhas.forEachRemaining(lidos::add);
+					return new ResultadoImportacaoDTO();
+				});
+		String corpo = "[{\"descricao\":\"Luz\",\"mes\":1,\"ano\":2022,\"valor\":10,\"usuario\":1,\"tipo\":\"DESPESA\"},"
+				+ "{\"descricao\":\"Água\",\"mes\":2,\"ano\":2022,\"valor\":20,\"usuario\":1,\"tipo\":\"DESPESA\"}]";
+
+		// Execução e verificação
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/lote"))
+				.contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).content(corpo);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+		assertThat(lidos).extracting(LancamentoDTO::getMes).containsExactly(1, 2);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveExportarOsLancamentosDoUsuarioEmCsv() throws Exception {
+		// Cenário
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarioService.existe(1l)).thenReturn(true);
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+			consumidor.accept(Lancamento.builder().id(5l).descricao("Mercado; centro").mes(1).ano(2022)
+					.valor(BigDecimal.valueOf(12.5)).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE)
+					.usuario(usuario).build());
+			return null;
+		}).when(lancamentoService).percorrerPorUsuario(Mockito.eq(1l), Mockito.any(Consumer.class));
+
+		// Execução
+		MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/export?usuario=1&formato=csv")))
+				.andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+		// Verificação
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().contentType("text/csv"))
+				.andExpect(MockMvcResultMatchers.content().string("id;descricao;mes;ano;valor;tipo;status;usuario\n"
+						+ "5;\"Mercado; centro\";1;2022;12.5;DESPESA;PENDENTE;1\n"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveExportarOsLancamentosDoUsuarioEmNdjsonUmPorLinha() throws Exception {
+		// Cenário
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarioService.existe(1l)).thenReturn(true);
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+			for (long id = 5; id <= 6; id++)
+				consumidor.accept(Lancamento.builder().id(id).descricao("Luz").mes(1).ano(2022)
+						.valor(BigDecimal.valueOf(12.5)).tipo(TipoLancamento.DESPESA)
+						.status(StatusLancamento.PENDENTE).dataCadastro(LocalDate.of(2022, 1, 10)).versao(0l)
+						.usuario(usuario).build());
+			return null;
+		}).when(lancamentoService).percorrerPorUsuario(Mockito.eq(1l), Mockito.any(Consumer.class));
+
+		// Execução
+		MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/export?usuario=1")))
+				.andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+		// Verificação
+		String linha = "{\"id\":%d,\"descricao\":\"Luz\",\"mes\":1,\"ano\":2022,\"valor\":12.5,\"usuario\":1,"
+				+ "\"tipo\":\"DESPESA\",\"status\":\"PENDENTE\",\"dataCadastro\":\"2022-01-10\",\"versao\":0}\n";
+		MvcResult resposta = mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().contentType(LeitorLancamentos.NDJSON)).andReturn();
+		assertThat(resposta.getResponse().getContentAsByteArray())
+				.isEqualTo((String.format(linha, 5) + String.format(linha, 6)).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void naoDeveExportarParaUsuarioInexistente() throws Exception {
+		Mockito.when(usuarioService.existe(2l)).thenReturn(false);
+
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/export?usuario=2")))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	@Test
+	public void deveAtualizarOStatusDeVariosLancamentosDeUmaVez() throws Exception {
+		// Cenário
+		Mockito.when(atualizacaoStatusService.atualizar(Arrays.asList(1l, 2l), StatusLancamento.EFETIVADO))
+				.thenReturn(ResultadoAtualizacaoStatusDTO.builder().situacao("CONCLUIDA").solicitados(2)
+						.processados(2).atualizados(2).build());
+		String json = new ObjectMapper().writeValueAsString(
+				AtualizacaoStatusLoteDTO.builder().ids(Arrays.asList(1l, 2l)).status("EFETIVADO").build());
+
+		// Execução e Verificação
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status")).contentType(MediaType.APPLICATION_JSON)
+				.content(json)).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("atualizados").value(2));
+		Mockito.verify(lancamentoService, Mockito.never()).atualizar(Mockito.any());
+	}
+
+	@Test
+	public void naoDeveAtualizarNemEnfileirarStatusDeLancamentosDeOutroUsuario() throws Exception {
+		// Cenário
+		Mockito.doThrow(new AcessoNegadoException("Acesso negado aos lançamentos de outro usuário."))
+				.when(lancamentoService).conferirAcesso(Arrays.asList(1l, 2l));
+		String json = new ObjectMapper().writeValueAsString(
+				AtualizacaoStatusLoteDTO.builder().ids(Arrays.asList(1l, 2l)).status("EFETIVADO").build());
+
+		// Execução e Verificação
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status?assincrono=true"))
+				.contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isForbidden());
+		Mockito.verifyNoInteractions(atualizacaoStatusService);
+	}
+
+	@Test
+	public void deveEnfileirarAAtualizacaoDeStatusEInformarATarefa() throws Exception {
+		// Cenário
+		Mockito.when(atualizacaoStatusService.enfileirar(Arrays.asList(1l), StatusLancamento.CANCELADO))
+				.thenReturn(ResultadoAtualizacaoStatusDTO.builder().tarefa("abc").situacao("PENDENTE").solicitados(1)
+						.build());
+		String json = new ObjectMapper().writeValueAsString(
+				AtualizacaoStatusLoteDTO.builder().ids(Arrays.asList(1l)).status("CANCELADO").build());
+
+		// Execução e Verificação
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status?assincrono=true"))
+				.contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isAccepted())
+				.andExpect(MockMvcResultMatchers.header().string("Location",
+						"http://localhost/api/lancamentos/atualiza-status/tarefas/abc"));
+	}
+
+	@Test
+	public void deveRepassarAsFaixasETiposDoFiltroDeLancamentos() throws Exception {
+		// Cenário
+		Mockito.when(usuarioService.existe(1l)).thenReturn(true);
+		Mockito.when(lancamentoService.listar(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt(),
+				Mockito.any())).thenReturn(new SliceImpl<>(new ArrayList<>()));
+
+		// Execução
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", "1").param("anoInicial", "2021")
+				.param("mesInicial", "11").param("anoFinal", "2022").param("valorMinimo", "10.50")
+				.param("tipo", "DESPESA").param("status", "PENDENTE"))
+				.andExpect(MockMvcResultMatchers.status().isOk());
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", "1").param("tipo", "QUALQUER"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest())
+				.andExpect(MockMvcResultMatchers.content().string("Informe um tipo de lançamento válido"));
+
+		// Verificação
+		ArgumentCaptor<Lancamento> filtro = ArgumentCaptor.forClass(Lancamento.class);
+		ArgumentCaptor<FaixaLancamento> faixa = ArgumentCaptor.forClass(FaixaLancamento.class);
+		Mockito.verify(lancamentoService).listar(filtro.capture(), faixa.capture(), Mockito.isNull(), Mockito.eq(50),
+				Mockito.eq(Sort.Direction.ASC));
+		assertThat(filtro.getValue().getTipo()).isEqualTo(TipoLancamento.DESPESA);
+		assertThat(filtro.getValue().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		assertThat(faixa.getValue()).isEqualTo(FaixaLancamento.builder().anoInicial(2021).mesInicial(11)
+				.anoFinal(2022).valorMinimo(new BigDecimal("10.50")).build());
+	}
+
+	@Test
+	public void naoDeveAtualizarEmLoteComStatusInvalido() throws Exception {
+		String json = new ObjectMapper().writeValueAsString(
+				AtualizacaoStatusLoteDTO.builder().ids(Arrays.asList(1l)).status("QUALQUER").build());
+
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status")).contentType(MediaType.APPLICATION_JSON)
+				.content(json)).andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	@Test
+	public void deveAlterarParcialmenteUmLancamento() throws Exception {
+		// Cenário
+		Lancamento alterado = Lancamento.builder().id(1l).descricao("Aluguel").mes(1).ano(2022)
+				.valor(BigDecimal.TEN).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE)
+				.usuario(Usuario.builder().id(1l).build()).versao(2l).build();
+		Mockito.when(lancamentoService.alterar(Mockito.eq(1l), Mockito.eq(1l), Mockito.any())).thenReturn(alterado);
+
+		// Execução e Verificação
+		mvc.perform(MockMvcRequestBuilders.patch(API.concat("/1")).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"descricao\":\"Aluguel\",\"versao\":1}"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("descricao").value("Aluguel"))
+				.andExpect(MockMvcResultMatchers.jsonPath("versao").value(2));
+	}
+
+	@Test
+	public void deveResponderConflitoAoAlterarComVersaoDesatualizada() throws Exception {
+		// Cenário
+		Mockito.when(lancamentoService.alterar(Mockito.eq(1l), Mockito.eq(1l), Mockito.any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Lancamento.class, 1l));
 
+		// Execução e Verificação
+		mvc.perform(MockMvcRequestBuilders.patch(API.concat("/1")).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"valor\":20,\"versao\":1}")).andExpect(MockMvcResultMatchers.status().isConflict());
+	}
 }
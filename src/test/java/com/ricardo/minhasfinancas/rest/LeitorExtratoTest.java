@@ -0,0 +1,120 @@
+package com.ricardo.minhasfinancas.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.ricardo.minhasfinancas.exception.RegraNegocioException;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+
+public class LeitorExtratoTest {
+
+	@Test
+	public void deveLerCsvComColunasMapeadasESinalDoValor() throws IOException {
+		// Cenário
+		String csv = "Data;Histórico;Valor\n" + "15/01/2022;\"Mercado; centro\";-1.234,56\n" + "\n"
+				+ "2022-02-05;Salário;3000,00\n" + "31/13/2022;Inválida;10\n" + "01/03/2022;Depois do erro;5\n";
+
+		// Execução
+		LeitorExtrato leitor = LeitorExtrato.de("csv", entrada(csv), StandardCharsets.UTF_8, 7l,
+				"data:Data,descricao:Histórico,valor:Valor");
+
+		// Verificação
+		LancamentoDTO despesa = leitor.next();
+		assertEquals("Mercado; centro", despesa.getDescricao());
+		assertEquals(1, despesa.getMes());
+		assertEquals(2022, despesa.getAno());
+		assertEquals(new BigDecimal("1234.56"), despesa.getValor());
+		assertEquals("DESPESA", despesa.getTipo());
+		assertEquals(7l, despesa.getUsuario());
+
+		LancamentoDTO receita = leitor.next();
+		assertEquals(2, receita.getMes());
+		assertEquals("RECEITA", receita.getTipo());
+
+		// o mês inválido é rejeitado pela validação do lançamento, não pelo leitor
+		assertEquals(13, leitor.next().getMes());
+		assertEquals("Depois do erro", leitor.next().getDescricao());
+		assertFalse(leitor.hasNext());
+	}
+
+	@Test
+	public void deveReportarLinhaCsvInvalidaEContinuarLendo() throws IOException {
+		// Cenário
+		String csv = "descricao,mes,ano,valor,tipo\n" + "Aluguel,1,2022,abc,DESPESA\n" + "Aluguel,2,2022,900,D\n";
+
+		// Execução
+		LeitorExtrato leitor = LeitorExtrato.de("csv", entrada(csv), StandardCharsets.UTF_8, 1l, null);
+
+		// Verificação
+		RegraNegocioException erro = assertThrows(RegraNegocioException.class, leitor::next);
+		assertEquals("Informe um valor válido", erro.getMessage());
+		assertEquals("DESPESA", leitor.next().getTipo());
+		assertFalse(leitor.hasNext());
+	}
+
+	@Test
+	public void deveTomarOUltimoSeparadorComoODecimal() throws IOException {
+		// Cenário
+		String csv = "descricao;mes;ano;valor;tipo\n" + "Americano;1;2022;1,234.56;DESPESA\n"
+				+ "Brasileiro;1;2022;1.234,56;DESPESA\n" + "Só vírgula;1;2022;10,5;RECEITA\n"
+				+ "Milhar depois do decimal;1;2022;1.234,56.7;DESPESA\n";
+
+		// Execução
+		LeitorExtrato leitor = LeitorExtrato.de("csv", entrada(csv), StandardCharsets.UTF_8, 1l, null);
+
+		// Verificação
+		assertEquals(new BigDecimal("1234.56"), leitor.next().getValor());
+		assertEquals(new BigDecimal("1234.56"), leitor.next().getValor());
+		assertEquals(new BigDecimal("10.5"), leitor.next().getValor());
+		assertThrows(RegraNegocioException.class, leitor::next);
+		assertFalse(leitor.hasNext());
+	}
+
+	@Test
+	public void deveRecusarCsvSemAsColunasObrigatorias() {
+		assertThrows(RegraNegocioException.class,
+				() -> LeitorExtrato.de("csv", entrada("descricao;mes\n"), StandardCharsets.UTF_8, 1l, null));
+	}
+
+	@Test
+	public void deveLerTransacoesOfxSgmlEXml() throws IOException {
+		// Cenário
+		String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+				+ "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20220110120000[-3:BRT]\n<TRNAMT>-45.90\n<MEMO>Padaria &amp; Café\n</STMTTRN>\n"
+				+ "<STMTTRN><TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>20220205</DTPOSTED><TRNAMT>1500,00</TRNAMT>"
+				+ "<NAME>Pix recebido</NAME></STMTTRN>\n"
+				+ "<STMTTRN><TRNTYPE>DEBIT<MEMO>Sem data</STMTTRN>\n"
+				+ "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+
+		// Execução
+		LeitorExtrato leitor = LeitorExtrato.de("ofx", entrada(ofx), StandardCharsets.UTF_8, 3l, null);
+
+		// Verificação
+		LancamentoDTO despesa = leitor.next();
+		assertEquals("Padaria & Café", despesa.getDescricao());
+		assertEquals(1, despesa.getMes());
+		assertEquals(2022, despesa.getAno());
+		assertEquals(new BigDecimal("45.90"), despesa.getValor());
+		assertEquals("DESPESA", despesa.getTipo());
+
+		LancamentoDTO receita = leitor.next();
+		assertEquals("Pix recebido", receita.getDescricao());
+		assertEquals(new BigDecimal("1500.00"), receita.getValor());
+		assertEquals("RECEITA", receita.getTipo());
+
+		assertThrows(RegraNegocioException.class, leitor::next);
+		assertFalse(leitor.hasNext());
+	}
+
+	private static ByteArrayInputStream entrada(String conteudo) {
+		return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+	}
+}
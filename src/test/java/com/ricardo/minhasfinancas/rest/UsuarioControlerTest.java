@@ -1,5 +1,10 @@
 package com.ricardo.minhasfinancas.rest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -7,24 +12,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.ricardo.minhasfinancas.config.FiltroTokenAcesso;
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
 import com.ricardo.minhasfinancas.exception.ErroAutenticacao;
 import com.ricardo.minhasfinancas.exception.RegraNegocioException;
 import com.ricardo.minhasfinancas.model.entity.Usuario;
 import com.ricardo.minhasfinancas.service.LancamentoService;
 import com.ricardo.minhasfinancas.service.UsuarioService;
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest(controllers = UsuarioControler.class)
+@Import(TokenAcesso.class)
 @AutoConfigureMockMvc
 public class UsuarioControlerTest {
 	static final String API = "/api/usuarios";
@@ -38,6 +51,9 @@ public class UsuarioControlerTest {
 	@MockBean
 	LancamentoService lancamentoService;
 
+	@Autowired
+	TokenAcesso tokenAcesso;
+
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception {
 		// Cenário
@@ -49,13 +65,58 @@ public class UsuarioControlerTest {
 
 		Mockito.when(service.autenticar(email, senha)).thenReturn(usuarioAutenticado);
 
-		String json = new ObjectMapper().writeValueAsString(usuario);
+		String json = credenciais(email, senha);
 
 		// Execução e verificação
 		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON)
 				.contentType(JSON).content(json);
 
-		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+		MvcResult resultado = mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("id").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("senha").doesNotExist()).andReturn();
+		String token = JsonPath.read(resultado.getResponse().getContentAsString(), "$.token");
+		assertEquals(Optional.of(1l), tokenAcesso.validar(token));
+	}
+
+	@Test
+	public void deveAceitarUmTokenValido() throws Exception {
+		// Cenário
+		Mockito.when(service.existe(1l)).thenReturn(true);
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(BigDecimal.TEN);
+
+		// Execução e verificação
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenAcesso.emitir(1l));
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.request().attribute(FiltroTokenAcesso.USUARIO, 1l));
+	}
+
+	@Test
+	public void deveRecusarComForbiddenOTokenDeOutroUsuario() throws Exception {
+		// Cenário
+		Mockito.when(service.existe(2l)).thenThrow(new AcessoNegadoException("Acesso negado aos dados de outro usuário."));
+
+		// Execução e verificação
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/2/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenAcesso.emitir(1l));
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isForbidden());
+		Mockito.verifyNoInteractions(lancamentoService);
+	}
+
+	@Test
+	public void deveRecusarUmTokenAdulteradoSemChegarAoControlador() throws Exception {
+		// Cenário: token do usuário 1 com o id trocado para 2
+		String token = "2" + tokenAcesso.emitir(1l).substring(1);
+
+		// Execução e verificação
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/2/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isUnauthorized())
+				.andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.WWW_AUTHENTICATE));
+		Mockito.verifyNoInteractions(service, lancamentoService);
 	}
 
 	@Test
@@ -66,13 +127,13 @@ public class UsuarioControlerTest {
 		Usuario usuario = Usuario.builder().email(email).senha(senha).build();
 		Mockito.when(service.autenticar(email, senha)).thenThrow(ErroAutenticacao.class);
 
-		String json = new ObjectMapper().writeValueAsString(usuario);
+		String json = credenciais(email, senha);
 
 		// Execução e verificação
 		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON)
 				.contentType(JSON).content(json);
 
-		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isBadRequest());
 	}
 
 	@Test
@@ -115,4 +176,8 @@ public class UsuarioControlerTest {
 		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isBadRequest());
 	}
 
+	// a senha do Usuario é só de escrita e não sairia no JSON
+	private static String credenciais(String email, String senha) {
+		return new ObjectMapper().createObjectNode().put("email", email).put("senha", senha).toString();
+	}
 }
@@ -0,0 +1,156 @@
+package com.ricardo.minhasfinancas.rest.reativo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.ricardo.minhasfinancas.config.ServidorReativo;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
+import com.ricardo.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.rest.LancamentoControler;
+import com.ricardo.minhasfinancas.service.SaldoUsuarioService;
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+import com.ricardo.minhasfinancas.service.seguranca.TokenAcesso;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.reativo.porta=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class LeituraReativaControlerTest {
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	ServidorReativo servidorReativo;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	SaldoUsuarioService saldoUsuarioService;
+
+	@Autowired
+	SaldoCache saldoCache;
+
+	@Autowired
+	TokenAcesso tokenAcesso;
+
+	WebTestClient cliente;
+	Usuario usuario;
+	List<Lancamento> lancamentos = new ArrayList<>();
+
+	@BeforeEach
+	public void criarDados() {
+		cliente = WebTestClient.bindToServer().baseUrl("http://localhost:" + servidorReativo.getPorta()).build();
+		usuario = usuarioRepository
+				.save(Usuario.builder().nome("reativo").email("reativo@email.com").senha("senha").build());
+		for (int mes = 1; mes <= 3; mes++)
+			lancamentos.add(Lancamento.builder().descricao("Lançamento " + mes).mes(mes).ano(2022)
+					.valor(BigDecimal.valueOf(10 * mes)).tipo(mes == 2 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+					.status(StatusLancamento.EFETIVADO).usuario(usuario).build());
+		lancamentos = lancamentoRepository.saveAll(lancamentos);
+		saldoUsuarioService.registrarTodos(lancamentos);
+	}
+
+	@AfterEach
+	public void removerDados() {
+		saldoCache.invalidar(usuario.getId());
+		saldoUsuarioRepository.deleteAll(saldoUsuarioRepository.findByIdUsuario(usuario.getId()));
+		lancamentoRepository.deleteAll(lancamentos);
+		usuarioRepository.delete(usuario);
+	}
+
+	@Test
+	public void deveResponderComoOsControladoresServlet() throws Exception {
+		String saldo = "/api/usuarios/" + usuario.getId() + "/saldo";
+		String resumo = "/api/usuarios/" + usuario.getId();
+		String primeiraPagina = "/api/lancamentos?usuario=" + usuario.getId() + "&ano=2022&tamanho=2&ordem=desc";
+
+		// Execução: o reativo primeiro, para que o saldo venha do banco e não do cache do servlet
+		EntityExchangeResult<String> saldoReativo = obter(saldo);
+		EntityExchangeResult<String> resumoReativo = obter(resumo);
+		EntityExchangeResult<String> paginaReativa = obter(primeiraPagina);
+		String cursor = paginaReativa.getResponseHeaders().getFirst(LancamentoControler.PROXIMO_CURSOR);
+		EntityExchangeResult<String> segundaPaginaReativa = obter(primeiraPagina + "&cursor=" + cursor);
+
+		// Verificação
+		assertEquals("-20.00", saldoReativo.getResponseBody());
+		JSONAssert.assertEquals(obterNoServlet(saldo).getResponse().getContentAsString(StandardCharsets.UTF_8),
+				saldoReativo.getResponseBody(), true);
+		JSONAssert.assertEquals(obterNoServlet(resumo).getResponse().getContentAsString(StandardCharsets.UTF_8),
+				resumoReativo.getResponseBody(), true);
+
+		MvcResult paginaServlet = obterNoServlet(primeiraPagina);
+		assertNotNull(cursor);
+		assertEquals(paginaServlet.getResponse().getHeader(LancamentoControler.PROXIMO_CURSOR), cursor);
+		JSONAssert.assertEquals(paginaServlet.getResponse().getContentAsString(StandardCharsets.UTF_8), paginaReativa.getResponseBody(),
+				true);
+		String segundaPaginaServlet = obterNoServlet(primeiraPagina + "&cursor=" + cursor).getResponse()
+				.getContentAsString(StandardCharsets.UTF_8);
+		JSONAssert.assertEquals(segundaPaginaServlet, segundaPaginaReativa.getResponseBody(), true);
+
+		for (String filtros : new String[] { "&descricao=lancamento 2",
+				"&anoInicial=2022&mesInicial=2&tipo=DESPESA&valorMaximo=30&status=EFETIVADO" }) {
+			String filtrada = "/api/lancamentos?usuario=" + usuario.getId() + filtros;
+			JSONAssert.assertEquals(
+					obterNoServlet(filtrada).getResponse().getContentAsString(StandardCharsets.UTF_8),
+					obter(filtrada).getResponseBody(), true);
+		}
+	}
+
+	@Test
+	public void deveRecusarUsuarioInexistenteOuDeOutroToken() {
+		long inexistente = usuario.getId() + 1000;
+
+		cliente.get().uri("/api/usuarios/" + inexistente + "/saldo").exchange().expectStatus().isNotFound();
+		cliente.get().uri("/api/lancamentos?usuario=" + inexistente).exchange().expectStatus().isBadRequest()
+				.expectBody(String.class).isEqualTo("Usuário não encontrado para o ID informado.");
+		cliente.get().uri("/api/usuarios/" + usuario.getId()).header(HttpHeaders.AUTHORIZATION,
+				"Bearer " + tokenAcesso.emitir(inexistente)).exchange().expectStatus().isForbidden();
+		cliente.get().uri("/api/lancamentos?usuario=" + usuario.getId()).header(HttpHeaders.AUTHORIZATION,
+				"Bearer " + tokenAcesso.emitir(inexistente)).exchange().expectStatus().isForbidden();
+		cliente.get().uri("/api/usuarios/" + usuario.getId() + "/saldo")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer invalido").exchange().expectStatus().isUnauthorized()
+				.expectHeader().exists(HttpHeaders.WWW_AUTHENTICATE);
+	}
+
+	private EntityExchangeResult<String> obter(String uri) {
+		return cliente.get().uri(uri).exchange().expectStatus().isOk().expectBody(String.class).returnResult();
+	}
+
+	private MvcResult obterNoServlet(String uri) throws Exception {
+		return mvc.perform(MockMvcRequestBuilders.get(uri)).andReturn();
+	}
+}
@@ -0,0 +1,129 @@
+package com.ricardo.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
+import com.ricardo.minhasfinancas.exception.FilaCheiaException;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoAtualizacaoStatusDTO;
+import com.ricardo.minhasfinancas.service.impl.AtualizacaoStatusServiceImpl;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
+
+public class AtualizacaoStatusServiceTest {
+	LancamentoService lancamentoService;
+
+	AtualizacaoStatusService service;
+
+	@BeforeEach
+	public void criarServico() {
+		lancamentoService = Mockito.mock(LancamentoService.class);
+		service = new AtualizacaoStatusServiceImpl(lancamentoService, 2, 5, Duration.ofMinutes(1));
+	}
+
+	@Test
+	public void deveAtualizarEmLotesDoTamanhoConfigurado() {
+		// Cenário
+		Mockito.when(lancamentoService.atualizarStatusEmLote(Mockito.anyCollection(), Mockito.any()))
+				.thenReturn(Arrays.asList(1l, 2l), Collections.singletonList(3l));
+
+		// Execução
+		ResultadoAtualizacaoStatusDTO resultado = service.atualizar(Arrays.asList(1l, 2l, 2l, 3l),
+				StatusLancamento.EFETIVADO);
+
+		// Verificação
+		assertEquals("CONCLUIDA", resultado.getSituacao());
+		assertEquals(3, resultado.getSolicitados());
+		assertEquals(3, resultado.getAtualizados());
+		Mockito.verify(lancamentoService).atualizarStatusEmLote(Arrays.asList(1l, 2l), StatusLancamento.EFETIVADO);
+		Mockito.verify(lancamentoService).atualizarStatusEmLote(Arrays.asList(3l), StatusLancamento.EFETIVADO);
+	}
+
+	@Test
+	public void deveAplicarApenasOUltimoPedidoDeCadaLancamentoEnfileirado() {
+		// Cenário
+		Mockito.when(lancamentoService.atualizarStatusEmLote(Mockito.anyCollection(), Mockito.any()))
+				.thenAnswer(invocacao -> invocacao.getArgument(0));
+		ResultadoAtualizacaoStatusDTO primeira = service.enfileirar(Arrays.asList(1l, 2l), StatusLancamento.EFETIVADO);
+		ResultadoAtualizacaoStatusDTO segunda = service.enfileirar(Arrays.asList(2l), StatusLancamento.CANCELADO);
+
+		// Execução
+		service.aplicarPendentes();
+
+		// Verificação
+		Mockito.verify(lancamentoService).atualizarStatusEmLote(Arrays.asList(1l), StatusLancamento.EFETIVADO);
+		Mockito.verify(lancamentoService).atualizarStatusEmLote(Arrays.asList(2l), StatusLancamento.CANCELADO);
+		ResultadoAtualizacaoStatusDTO tarefa = service.obterTarefa(primeira.getTarefa()).get();
+		assertEquals("CONCLUIDA", tarefa.getSituacao());
+		assertEquals(2, tarefa.getProcessados());
+		assertEquals(1, tarefa.getAtualizados());
+		assertEquals(1, service.obterTarefa(segunda.getTarefa()).get().getAtualizados());
+	}
+
+	@Test
+	public void deveReportarAFalhaNaTarefaDoLoteQueNaoFoiGravado() {
+		// Cenário
+		Mockito.when(lancamentoService.atualizarStatusEmLote(Mockito.anyCollection(), Mockito.any()))
+				.thenThrow(new IllegalStateException("banco indisponível"));
+		ResultadoAtualizacaoStatusDTO pendente = service.enfileirar(Arrays.asList(1l), StatusLancamento.EFETIVADO);
+
+		// Execução
+		service.aplicarPendentes();
+
+		// Verificação
+		assertEquals("PENDENTE", pendente.getSituacao());
+		ResultadoAtualizacaoStatusDTO tarefa = service.obterTarefa(pendente.getTarefa()).get();
+		assertEquals("FALHA", tarefa.getSituacao());
+		assertEquals("banco indisponível", tarefa.getErro());
+	}
+
+	@Test
+	public void naoDeveEnfileirarAlemDoLimiteDePendentes() {
+		// Cenário
+		service.enfileirar(Arrays.asList(1l, 2l, 3l), StatusLancamento.EFETIVADO);
+
+		// Execução
+		Throwable erro = Assertions.catchThrowable(
+				() -> service.enfileirar(Arrays.asList(4l, 5l, 6l), StatusLancamento.EFETIVADO));
+
+		// Verificação
+		Assertions.assertThat(erro).isInstanceOf(FilaCheiaException.class);
+		assertNull(service.obterTarefa("inexistente").orElse(null));
+	}
+
+	@Test
+	public void naoDeveEntregarATarefaEnfileiradaPorOutroUsuarioDoToken() {
+		// Cenário
+		UsuarioAutenticado.definir(1l);
+		String tarefa;
+		try {
+			tarefa = service.enfileirar(Arrays.asList(1l), StatusLancamento.EFETIVADO).getTarefa();
+		} finally {
+			UsuarioAutenticado.limpar();
+		}
+
+		// Execução e verificação
+		UsuarioAutenticado.definir(2l);
+		try {
+			Assertions.assertThatThrownBy(() -> service.obterTarefa(tarefa))
+					.isInstanceOf(AcessoNegadoException.class);
+		} finally {
+			UsuarioAutenticado.limpar();
+		}
+		UsuarioAutenticado.definir(1l);
+		try {
+			Assertions.assertThat(service.obterTarefa(tarefa)).isPresent();
+		} finally {
+			UsuarioAutenticado.limpar();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.ricardo.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.rest.dto.LancamentoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResultadoImportacaoDTO;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.lote.tamanho=2")
+@ActiveProfiles("test")
+public class ImportacaoLancamentoServiceTest {
+	@Autowired
+	ImportacaoLancamentoService service;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveResolverOUsuarioUmaVezEGravarEmLotes() {
+		// Cenário
+		Mockito.when(usuarioService.existe(1l)).thenReturn(true);
+		Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+		Mockito.when(lancamentoService.salvarLote(Mockito.anyList())).thenAnswer(invocacao -> {
+			List<Lancamento> lote = invocacao.getArgument(0);
+			lote.forEach(lancamento -> lancamento.setId((long) lancamento.getMes()));
+			return lote;
+		});
+		List<LancamentoDTO> linhas = Arrays.asList(criarDTO(1), criarDTO(2), criarDTO(3));
+
+		// Execução
+		ResultadoImportacaoDTO resultado = service.importar(linhas.iterator(), true);
+
+		// Verificação
+		Mockito.verify(usuarioService, Mockito.times(1)).obterReferencia(1l);
+		Mockito.verify(lancamentoService, Mockito.times(2)).salvarLote(Mockito.anyList());
+		assertEquals(3, resultado.getTotal());
+		assertEquals(3, resultado.getImportados());
+		assertEquals(3l, resultado.getLinhas().get(2).getId());
+	}
+
+	@Test
+	public void deveRejeitarLinhasInvalidasSemInterromperAImportacao() {
+		// Cenário
+		Mockito.when(usuarioService.existe(1l)).thenReturn(true);
+		Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+		Mockito.when(usuarioService.existe(2l)).thenReturn(false);
+		Mockito.when(lancamentoService.salvarLote(Mockito.anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+		LancamentoDTO usuarioInexistente = criarDTO(1);
+		usuarioInexistente.setUsuario(2l);
+		LancamentoDTO tipoInvalido = criarDTO(2);
+		tipoInvalido.setTipo("TRANSFERENCIA");
+		List<LancamentoDTO> linhas = Arrays.asList(usuarioInexistente, tipoInvalido, criarDTO(3));
+
+		// Execução
+		ResultadoImportacaoDTO resultado = service.importar(linhas.iterator(), false);
+
+		// Verificação
+		assertEquals(3, resultado.getTotal());
+		assertEquals(1, resultado.getImportados());
+		assertEquals(2, resultado.getRejeitados());
+		assertEquals("Usuário não encontrado para o id informado.", resultado.getLinhas().get(0).getErro());
+		assertEquals(2, resultado.getLinhas().get(1).getLinha());
+		assertNull(resultado.getLinhas().get(1).getId());
+	}
+
+	private static LancamentoDTO criarDTO(int mes) {
+		return LancamentoDTO.builder().descricao("Importado").mes(mes).ano(2022).valor(BigDecimal.TEN).usuario(1l)
+				.tipo("DESPESA").build();
+	}
+}
@@ -6,27 +6,37 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
 import com.ricardo.minhasfinancas.exception.RegraNegocioException;
 import com.ricardo.minhasfinancas.model.entity.Lancamento;
 import com.ricardo.minhasfinancas.model.entity.Usuario;
 import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.repository.FaixaLancamento;
 import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
 import com.ricardo.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.ricardo.minhasfinancas.model.repository.MovimentoLancamento;
+import com.ricardo.minhasfinancas.model.repository.MovimentoSaldo;
 import com.ricardo.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -38,6 +48,9 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+
 	@Test
 	public void deveSalvarUmLancamento() {
 		// Cenário
@@ -122,24 +135,69 @@ public class LancamentoServiceTest {
 		Mockito.verify(repository, Mockito.never()).delete(lancamento);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Test
 	public void deveFiltrarLancamentos() {
 		// Cenário
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
 
-		List<Lancamento> lista = Arrays.asList(lancamento);
+		Slice<Lancamento> pagina = new SliceImpl<>(Arrays.asList(lancamento));
 
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		Mockito.when(repository.buscarPorUsuario(lancamento, null, null, 50, Sort.Direction.ASC)).thenReturn(pagina);
 
 		// Excecução
-		List<Lancamento> resultado = service.buscar(lancamento);
+		List<Lancamento> resultado = service.buscar(lancamento, null, null, 50, Sort.Direction.ASC).getContent();
 
 		// Verificação
 		Assertions.assertThat(resultado).isNotEmpty().hasSize(1).contains(lancamento);
 	}
 
+	@Test
+	public void deveLimitarOTamanhoDaPaginaAoFiltrarLancamentos() {
+		// Cenário
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(1l).build());
+
+		// Excecução
+		service.buscar(filtro, null, null, 100000, Sort.Direction.ASC);
+
+		// Verificação
+		Mockito.verify(repository).buscarPorUsuario(filtro, null, null, 500, Sort.Direction.ASC);
+	}
+
+	@Test
+	public void naoDeveFiltrarLancamentosSemUsuario() {
+		Throwable erro = Assertions
+				.catchThrowable(() -> service.buscar(new Lancamento(), null, null, 50, Sort.Direction.ASC));
+
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um usuário");
+	}
+
+	@Test
+	public void naoDeveFiltrarLancamentosComFaixaInvertida() {
+		// Cenário
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(1l).build());
+		FaixaLancamento periodoInvertido = FaixaLancamento.builder().anoInicial(2022).mesInicial(6).anoFinal(2022)
+				.mesFinal(5).build();
+		FaixaLancamento valorInvertido = FaixaLancamento.builder().valorMinimo(BigDecimal.TEN)
+				.valorMaximo(BigDecimal.ONE).build();
+		FaixaLancamento mesSemAno = FaixaLancamento.builder().mesFinal(5).build();
+
+		// Execução e verificação
+		Assertions.assertThat(Assertions.catchThrowable(
+				() -> service.buscar(filtro, periodoInvertido, null, 50, Sort.Direction.ASC)))
+				.hasMessage("O período inicial deve ser anterior ao final");
+		Assertions.assertThat(Assertions.catchThrowable(
+				() -> service.buscar(filtro, valorInvertido, null, 50, Sort.Direction.ASC)))
+				.hasMessage("O valor mínimo deve ser menor que o máximo");
+		Assertions.assertThat(Assertions.catchThrowable(
+				() -> service.buscar(filtro, mesSemAno, null, 50, Sort.Direction.ASC)))
+				.hasMessage("Informe o ano junto com o mês do período");
+		Mockito.verifyNoInteractions(repository);
+	}
+
 	@Test
 	public void deveAtualizarOStatusDeUmLancamento() {
 		// Cenário
@@ -158,6 +216,26 @@ public class LancamentoServiceTest {
 		Mockito.verify(service).atualizar(lancamento);
 	}
 
+	@Test
+	public void deveAtualizarEmLoteSomenteOsLancamentosQueMudamDeStatus() {
+		// Cenário
+		List<Long> ids = Arrays.asList(1l, 2l);
+		MovimentoLancamento movimento = Mockito.mock(MovimentoLancamento.class);
+		Mockito.when(movimento.getId()).thenReturn(2l);
+		List<MovimentoLancamento> movimentos = Collections.singletonList(movimento);
+		Mockito.when(repository.obterMovimentosComStatusDiferente(ids, StatusLancamento.EFETIVADO))
+				.thenReturn(movimentos);
+
+		// Execução
+		List<Long> alterados = service.atualizarStatusEmLote(ids, StatusLancamento.EFETIVADO);
+
+		// Verificação
+		assertEquals(Collections.singletonList(2l), alterados);
+		Mockito.verify(repository).atualizarStatus(alterados, StatusLancamento.EFETIVADO);
+		Mockito.verify(saldoUsuarioService).alterarStatus(movimentos, StatusLancamento.EFETIVADO);
+		Mockito.verify(service, Mockito.never()).validar(Mockito.any());
+	}
+
 	@Test
 	public void deveObterUmLancamentoPorId() {
 		// Cenário
@@ -175,6 +253,29 @@ public class LancamentoServiceTest {
 		assertTrue(resultado.isPresent());
 	}
 
+	@Test
+	public void naoDeveEntregarNemAlterarOLancamentoDeOutroUsuarioDoToken() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(41l).build());
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+		Mockito.when(repository.contarDeOutroUsuario(Arrays.asList(1l, 2l), 40l)).thenReturn(1l);
+		UsuarioAutenticado.definir(40l);
+
+		try {
+			// Execução e verificação
+			Assertions.catchThrowableOfType(() -> service.findById(1l), AcessoNegadoException.class);
+			Assertions.catchThrowableOfType(() -> service.alterar(1l, null, l -> l.setDescricao("Outra")),
+					AcessoNegadoException.class);
+			Assertions.catchThrowableOfType(() -> service.conferirAcesso(Arrays.asList(1l, 2l)),
+					AcessoNegadoException.class);
+			assertEquals("Lançamento qualquer", lancamento.getDescricao());
+		} finally {
+			UsuarioAutenticado.limpar();
+		}
+	}
+
 	@Test
 	public void deveRetornarVazioQuandoUmLancamentoNaoExiste() {
 		// Cenário
@@ -236,4 +337,129 @@ public class LancamentoServiceTest {
 		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class)
 				.hasMessage("Informe um tipo de lançamento");
 	}
+
+	@Test
+	public void naoDeveAceitarMesOuAnoQueNaoCabemNoPeriodo() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+
+		// Execução: 112 não pode virar dezembro do ano seguinte
+		lancamento.setMes(112);
+
+		// Verificação
+		Assertions.assertThat(lancamento.getAno()).isEqualTo(2022);
+		Assertions.assertThat(Assertions.catchThrowable(() -> service.validar(lancamento)))
+				.isInstanceOf(RegraNegocioException.class).hasMessage("Informe um mês válido");
+
+		lancamento.setMes(12);
+		lancamento.setAno(-2022);
+		Assertions.assertThat(lancamento.getMes()).isEqualTo(12);
+		Assertions.assertThat(Assertions.catchThrowable(() -> service.validar(lancamento)))
+				.isInstanceOf(RegraNegocioException.class).hasMessage("Informe um ano válido");
+
+		lancamento.setAno(2022);
+		Assertions.assertThat(lancamento.getPeriodo()).isEqualTo(202212);
+		service.validar(lancamento);
+	}
+
+	@Test
+	public void deveRegistrarNoSaldoDoUsuarioAoSalvarUmLancamento() {
+		// Cenário
+		Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
+		Mockito.doNothing().when(service).validar(lancamentoASalvar);
+		Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoASalvar);
+
+		// Execução
+		service.salvar(lancamentoASalvar);
+
+		// Verificação
+		Mockito.verify(saldoUsuarioService).registrar(lancamentoASalvar);
+	}
+
+	@Test
+	public void deveEstornarOEstadoAnteriorERegistrarONovoAoAtualizarUmLancamento() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		MovimentoSaldo anterior = Mockito.mock(MovimentoSaldo.class);
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.obterMovimentoPersistido(1l)).thenReturn(Optional.of(anterior));
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+		// Execução
+		service.atualizar(lancamento);
+
+		// Verificação
+		Mockito.verify(saldoUsuarioService).estornar(anterior);
+		Mockito.verify(saldoUsuarioService).registrar(lancamento);
+	}
+
+	@Test
+	public void deveAplicarSomenteOsCamposAlteradosNoLancamentoCarregado() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setVersao(3l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+
+		// Execução
+		Lancamento alterado = service.alterar(1l, 3l, l -> l.setDescricao("Nova descrição"));
+
+		// Verificação
+		assertEquals("Nova descrição", alterado.getDescricao());
+		assertEquals(StatusLancamento.PENDENTE, alterado.getStatus());
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+		Mockito.verifyNoInteractions(saldoUsuarioService);
+	}
+
+	@Test
+	public void deveMoverOSaldoQuandoOPatchAlterarOValor() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+
+		// Execução
+		service.alterar(1l, null, l -> l.setValor(BigDecimal.valueOf(25)));
+
+		// Verificação
+		ArgumentCaptor<MovimentoSaldo> anterior = ArgumentCaptor.forClass(MovimentoSaldo.class);
+		Mockito.verify(saldoUsuarioService).estornar(anterior.capture());
+		assertEquals(0, anterior.getValue().getValor().compareTo(BigDecimal.valueOf(10)));
+		Mockito.verify(saldoUsuarioService).registrar(lancamento);
+	}
+
+	@Test
+	public void naoDeveAlterarUmLancamentoComVersaoDesatualizada() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setVersao(4l);
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+
+		// Execução
+		Throwable erro = Assertions.catchThrowable(() -> service.alterar(1l, 3l, l -> l.setDescricao("Outra")));
+
+		// Verificação
+		Assertions.assertThat(erro).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertEquals("Lançamento qualquer", lancamento.getDescricao());
+	}
+
+	@Test
+	public void deveEstornarDoSaldoDoUsuarioAoDeletarUmLancamento() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1l);
+		MovimentoSaldo anterior = Mockito.mock(MovimentoSaldo.class);
+		Mockito.when(repository.obterMovimentoPersistido(1l)).thenReturn(Optional.of(anterior));
+
+		// Execução
+		service.deletar(lancamento);
+
+		// Verificação
+		Mockito.verify(saldoUsuarioService).estornar(anterior);
+	}
 }
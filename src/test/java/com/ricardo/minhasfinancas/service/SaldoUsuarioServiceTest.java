@@ -0,0 +1,236 @@
+package com.ricardo.minhasfinancas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.ricardo.minhasfinancas.model.entity.Dinheiro;
+import com.ricardo.minhasfinancas.model.entity.Lancamento;
+import com.ricardo.minhasfinancas.model.entity.Usuario;
+import com.ricardo.minhasfinancas.model.enums.StatusLancamento;
+import com.ricardo.minhasfinancas.model.enums.TipoLancamento;
+import com.ricardo.minhasfinancas.model.repository.LancamentoRepository;
+import com.ricardo.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.ricardo.minhasfinancas.model.repository.MovimentoSaldo;
+import com.ricardo.minhasfinancas.model.repository.SaldoPorTipoEStatus;
+import com.ricardo.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.ricardo.minhasfinancas.model.repository.SaldoUsuarioRepositoryTest;
+import com.ricardo.minhasfinancas.rest.dto.DivergenciaSaldoDTO;
+import com.ricardo.minhasfinancas.rest.dto.ResumoAnualDTO;
+import com.ricardo.minhasfinancas.rest.dto.SaldoDetalhadoDTO;
+import com.ricardo.minhasfinancas.service.cache.SaldoCache;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+	@Autowired
+	SaldoUsuarioService service;
+
+	@MockBean
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	SaldoCache saldoCache;
+
+	@BeforeEach
+	public void limparCache() {
+		saldoCache.getCache().invalidateAll();
+	}
+
+	@Test
+	public void deveAcumularNaChaveDoLancamentoNumaUnicaInstrucao() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+
+		// Execução
+		service.registrar(lancamento);
+
+		// Verificação: o upsert cria a chave se preciso, sem um save separado
+		Mockito.verify(saldoUsuarioRepository).acumular(1l, 2022, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+				Dinheiro.de(BigDecimal.valueOf(10)));
+		Mockito.verifyNoMoreInteractions(saldoUsuarioRepository);
+	}
+
+	@Test
+	public void deveCalcularOSaldoDetalhadoDeUmUsuario() {
+		// Cenário
+		Long idUsuario = 1l;
+		List<SaldoPorTipoEStatus> saldos = Arrays.asList(saldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100),
+				saldo(TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 40),
+				saldo(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30),
+				saldo(TipoLancamento.DESPESA, StatusLancamento.CANCELADO, 10));
+		Mockito.when(saldoUsuarioRepository.obterSaldosPorTipoEStatus(idUsuario)).thenReturn(saldos);
+
+		// Execução
+		SaldoDetalhadoDTO saldo = service.obterSaldoDetalhado(idUsuario);
+
+		// Verificação
+		assertEquals(0, saldo.getSaldo().compareTo(Dinheiro.de(BigDecimal.valueOf(70))));
+		assertEquals(0, saldo.getReceitas().getPendente().compareTo(Dinheiro.de(BigDecimal.valueOf(40))));
+		assertEquals(0, saldo.getDespesas().getCancelado().compareTo(Dinheiro.de(BigDecimal.valueOf(10))));
+	}
+
+	@Test
+	public void deveServirOSaldoDoCacheAteUmaAlteracaoDoUsuario() {
+		// Cenário
+		Long idUsuario = 1l;
+		List<SaldoPorTipoEStatus> saldos = Arrays.asList(saldo(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100));
+		Mockito.when(saldoUsuarioRepository.obterSaldosPorTipoEStatus(idUsuario)).thenReturn(saldos);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(idUsuario).build());
+
+		// Execução
+		service.obterSaldoDetalhado(idUsuario);
+		service.obterSaldoDetalhado(idUsuario);
+		service.registrar(lancamento);
+		service.obterSaldoDetalhado(idUsuario);
+
+		// Verificação
+		Mockito.verify(saldoUsuarioRepository, Mockito.times(2)).obterSaldosPorTipoEStatus(idUsuario);
+		assertEquals(1, saldoCache.obterEstatisticas().getAcertos());
+	}
+
+	@Test
+	public void deveInvalidarOCacheDosDoisUsuariosAoMoverUmLancamento() {
+		// Cenário
+		Mockito.when(saldoUsuarioRepository.obterSaldosPorTipoEStatus(Mockito.anyLong()))
+				.thenReturn(Collections.emptyList());
+		service.obterSaldoDetalhado(1l);
+		service.obterSaldoDetalhado(2l);
+		MovimentoSaldo anterior = movimento(TipoLancamento.RECEITA, 100);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(2l).build());
+
+		// Execução
+		service.estornar(anterior);
+		service.registrar(lancamento);
+
+		// Verificação
+		assertNull(saldoCache.getCache().getIfPresent(1l));
+		assertNull(saldoCache.getCache().getIfPresent(2l));
+	}
+
+	@Test
+	public void deveMoverOSaldoParaONovoStatusNumUnicoUpdatePorChave() {
+		// Cenário
+		List<MovimentoSaldo> movimentos = Arrays.asList(movimento(TipoLancamento.RECEITA, 100),
+				movimento(TipoLancamento.RECEITA, 50));
+		// Execução
+		service.alterarStatus(movimentos, StatusLancamento.CANCELADO);
+
+		// Verificação
+		Mockito.verify(saldoUsuarioRepository).acumular(1l, 2022, 1, TipoLancamento.RECEITA,
+				StatusLancamento.EFETIVADO, Dinheiro.de(BigDecimal.valueOf(-150)));
+		Mockito.verify(saldoUsuarioRepository).acumular(1l, 2022, 1, TipoLancamento.RECEITA,
+				StatusLancamento.CANCELADO, Dinheiro.de(BigDecimal.valueOf(150)));
+		Mockito.verifyNoMoreInteractions(saldoUsuarioRepository);
+	}
+
+	@Test
+	public void deveMontarOResumoAnualAPartirDoSaldoAcumulado() {
+		// Cenário
+		List<MovimentoSaldo> movimentos = Arrays.asList(movimento(TipoLancamento.RECEITA, 100),
+				movimento(TipoLancamento.DESPESA, 30));
+		Mockito.when(saldoUsuarioRepository.obterMovimentosPorAno(1l, 2022)).thenReturn(movimentos);
+
+		// Execução
+		ResumoAnualDTO resumo = service.obterResumoAnual(1l, 2022);
+
+		// Verificação
+		assertEquals(12, resumo.getMeses().size());
+		assertEquals(0, resumo.getMeses().get(0).getReceitas().getEfetivado().compareTo(Dinheiro.de(BigDecimal.valueOf(100))));
+		assertEquals(0, resumo.getMeses().get(0).getDespesas().getEfetivado().compareTo(Dinheiro.de(BigDecimal.valueOf(30))));
+		assertEquals(0, resumo.getMeses().get(1).getReceitas().getEfetivado().compareTo(Dinheiro.de(BigDecimal.ZERO)));
+		Mockito.verify(lancamentoRepository, Mockito.never()).obterMovimentosAgrupadosPorUsuarioEAno(1l, 2022);
+	}
+
+	@Test
+	public void deveAgregarOsLancamentosQuandoOSaldoDoAnoNaoExistir() {
+		// Cenário
+		List<MovimentoSaldo> movimentos = Collections.singletonList(movimento(TipoLancamento.DESPESA, 45));
+		Mockito.when(saldoUsuarioRepository.obterMovimentosPorAno(1l, 2022)).thenReturn(Collections.emptyList());
+		Mockito.when(lancamentoRepository.obterMovimentosAgrupadosPorUsuarioEAno(1l, 2022)).thenReturn(movimentos);
+
+		// Execução
+		ResumoAnualDTO resumo = service.obterResumoAnual(1l, 2022);
+
+		// Verificação
+		assertEquals(0, resumo.getMeses().get(0).getDespesas().getEfetivado().compareTo(Dinheiro.de(BigDecimal.valueOf(45))));
+	}
+
+	@Test
+	public void deveReconstruirOSaldoEReportarDivergencias() {
+		// Cenário
+		MovimentoSaldo movimento = movimento(TipoLancamento.RECEITA, 100);
+		List<MovimentoSaldo> movimentos = Collections.singletonList(movimento);
+		Mockito.when(lancamentoRepository.obterMovimentosAgrupadosPorUsuario(1l)).thenReturn(movimentos);
+		Mockito.when(saldoUsuarioRepository.findByIdUsuario(1l)).thenReturn(
+				Collections.singletonList(SaldoUsuarioRepositoryTest.criarSaldo(TipoLancamento.RECEITA, 90)));
+
+		// Execução
+		List<DivergenciaSaldoDTO> divergencias = service.reconciliar(1l);
+
+		// Verificação
+		assertEquals(1, divergencias.size());
+		assertEquals(0, divergencias.get(0).getValorEsperado().compareTo(Dinheiro.de(BigDecimal.valueOf(100))));
+		assertEquals(0, divergencias.get(0).getValorRegistrado().compareTo(Dinheiro.de(BigDecimal.valueOf(90))));
+		Mockito.verify(saldoUsuarioRepository).removerPorUsuario(1l);
+		Mockito.verify(saldoUsuarioRepository).saveAll(Mockito.anyList());
+	}
+
+	@Test
+	public void naoDeveReconstruirOSaldoQuandoNaoHouverDivergencias() {
+		// Cenário
+		MovimentoSaldo movimento = movimento(TipoLancamento.RECEITA, 100);
+		List<MovimentoSaldo> movimentos = Collections.singletonList(movimento);
+		Mockito.when(lancamentoRepository.obterMovimentosAgrupadosPorUsuario(1l)).thenReturn(movimentos);
+		Mockito.when(saldoUsuarioRepository.findByIdUsuario(1l)).thenReturn(
+				Collections.singletonList(SaldoUsuarioRepositoryTest.criarSaldo(TipoLancamento.RECEITA, 100)));
+
+		// Execução
+		List<DivergenciaSaldoDTO> divergencias = service.reconciliar(1l);
+
+		// Verificação
+		assertTrue(divergencias.isEmpty());
+		Mockito.verify(saldoUsuarioRepository, Mockito.never()).removerPorUsuario(1l);
+	}
+
+	private static SaldoPorTipoEStatus saldo(TipoLancamento tipo, StatusLancamento status, int total) {
+		SaldoPorTipoEStatus saldo = Mockito.mock(SaldoPorTipoEStatus.class);
+		Mockito.when(saldo.getTipo()).thenReturn(tipo);
+		Mockito.when(saldo.getStatus()).thenReturn(status);
+		Mockito.when(saldo.getTotal()).thenReturn(BigDecimal.valueOf(total));
+		return saldo;
+	}
+
+	private static MovimentoSaldo movimento(TipoLancamento tipo, int valor) {
+		MovimentoSaldo movimento = Mockito.mock(MovimentoSaldo.class);
+		Mockito.when(movimento.getIdUsuario()).thenReturn(1l);
+		Mockito.when(movimento.getAno()).thenReturn(2022);
+		Mockito.when(movimento.getMes()).thenReturn(1);
+		Mockito.when(movimento.getTipo()).thenReturn(tipo);
+		Mockito.when(movimento.getStatus()).thenReturn(StatusLancamento.EFETIVADO);
+		Mockito.when(movimento.getValor()).thenReturn(BigDecimal.valueOf(valor));
+		return movimento;
+	}
+}
@@ -1,6 +1,7 @@
 package com.ricardo.minhasfinancas.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -10,16 +11,20 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.ricardo.minhasfinancas.exception.AcessoNegadoException;
 import com.ricardo.minhasfinancas.exception.ErroAutenticacao;
 import com.ricardo.minhasfinancas.exception.RegraNegocioException;
 import com.ricardo.minhasfinancas.model.entity.Usuario;
 import com.ricardo.minhasfinancas.model.repository.UsuarioRepository;
+import com.ricardo.minhasfinancas.service.seguranca.CodificadorSenha;
+import com.ricardo.minhasfinancas.service.seguranca.UsuarioAutenticado;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -31,6 +36,9 @@ public class UsuarioServiceTest {
 	@MockBean
 	private UsuarioRepository usuarioRepository;
 
+	@Autowired
+	private CodificadorSenha codificadorSenha;
+
 	@Test
 	public void deveSalvarUmUsuario() {
 		Assertions.assertDoesNotThrow(() -> {
@@ -78,18 +86,63 @@ public class UsuarioServiceTest {
 
 			Usuario usuario = Usuario.builder().email(email).senha(senha).id(1l).build();
 
-			Mockito.when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
+			Mockito.when(usuarioRepository.obterPorEmail(email)).thenReturn(Optional.of(usuario));
 
 			// Ação
 			usuarioService.autenticar(email, senha);
 		});
 	}
 
+	@Test
+	public void deveRecodificarASenhaLegadaAoAutenticar() {
+		// Cenário
+		Usuario usuario = Usuario.builder().email("email@email.com").senha("senha").id(1l).build();
+		Mockito.when(usuarioRepository.obterPorEmail("email@email.com")).thenReturn(Optional.of(usuario));
+
+		// Ação
+		usuarioService.autenticar("email@email.com", "senha");
+
+		// Verificação
+		Mockito.verify(usuarioRepository).save(usuario);
+		assertTrue(usuario.getSenha().startsWith("$2a$"));
+		assertTrue(codificadorSenha.conferir("senha", usuario.getSenha()));
+	}
+
+	@Test
+	public void naoDeveRegravarUmaSenhaJaCodificadaAoAutenticar() {
+		// Cenário
+		Usuario usuario = Usuario.builder().email("email@email.com").senha(codificadorSenha.codificar("senha"))
+				.id(1l).build();
+		Mockito.when(usuarioRepository.obterPorEmail("email@email.com")).thenReturn(Optional.of(usuario));
+
+		// Ação
+		Usuario autenticado = usuarioService.autenticar("email@email.com", "senha");
+
+		// Verificação
+		assertEquals(usuario, autenticado);
+		Mockito.verify(usuarioRepository, Mockito.never()).save(Mockito.any());
+	}
+
+	@Test
+	public void deveGravarASenhaCodificadaAoSalvarUmUsuario() {
+		// Cenário
+		Mockito.doNothing().when(usuarioService).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().nome("nome").email("email@email.com").senha("senha").build();
+
+		// Ação
+		usuarioService.salvarUsuario(usuario);
+
+		// Verificação
+		Mockito.verify(usuarioRepository).save(usuario);
+		assertTrue(codificadorSenha.conferir("senha", usuario.getSenha()));
+		assertFalse(codificadorSenha.precisaRecodificar(usuario.getSenha()));
+	}
+
 	@Test
 	public void deveLancarErroQuandoNaoEncontrarUsuarioCadastradoComOEmailInformado() {
 		Exception exception = Assertions.assertThrows(ErroAutenticacao.class, () -> {
 			// cenario
-			Mockito.when(usuarioRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
+			Mockito.when(usuarioRepository.obterPorEmail(Mockito.anyString())).thenReturn(Optional.empty());
 
 			// acao
 			usuarioService.autenticar("email@email.com", "senha");
@@ -104,7 +157,7 @@ public class UsuarioServiceTest {
 			// cenario
 			String senha = "senha";
 			Usuario usuario = Usuario.builder().email("email@email.com").senha(senha).build();
-			Mockito.when(usuarioRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
+			Mockito.when(usuarioRepository.obterPorEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
 
 			// acao
 			usuarioService.autenticar("email@email.com", "123");
@@ -136,4 +189,92 @@ public class UsuarioServiceTest {
 
 	}
 
+	@Test
+	public void deveConfirmarUmUsuarioNoBancoUmaUnicaVez() {
+		// Cenário
+		Mockito.when(usuarioRepository.existsById(10l)).thenReturn(true);
+
+		// Execução
+		boolean primeira = usuarioService.existe(10l);
+		boolean segunda = usuarioService.existe(10l);
+
+		// Verificação
+		assertTrue(primeira);
+		assertTrue(segunda);
+		Mockito.verify(usuarioRepository, Mockito.times(1)).existsById(10l);
+	}
+
+	@Test
+	public void deveReconhecerUmUsuarioRecemCadastradoSemConsultarOBanco() {
+		// Cenário
+		Mockito.doNothing().when(usuarioService).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().nome("nome").email("novo@email.com").senha("senha").id(20l).build();
+		Mockito.when(usuarioRepository.save(Mockito.any(Usuario.class))).thenReturn(usuario);
+
+		// Execução
+		usuarioService.salvarUsuario(usuario);
+
+		// Verificação
+		assertTrue(usuarioService.existe(20l));
+		Mockito.verify(usuarioRepository, Mockito.never()).existsById(20l);
+	}
+
+	@Test
+	public void deveLembrarQueUmUsuarioNaoExisteSemVoltarAoBanco() {
+		// Cenário
+		Mockito.when(usuarioRepository.existsById(50l)).thenReturn(false);
+
+		// Execução
+		boolean primeira = usuarioService.existe(50l);
+		boolean segunda = usuarioService.existe(50l);
+
+		// Verificação
+		assertFalse(primeira);
+		assertFalse(segunda);
+		Mockito.verify(usuarioRepository, Mockito.times(1)).existsById(50l);
+	}
+
+	@Test
+	public void deveDescartarAAusenciaQuandoOUsuarioForCadastrado() {
+		// Cenário
+		Mockito.doNothing().when(usuarioService).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().nome("nome").email("ausente@email.com").senha("senha").id(60l).build();
+		Mockito.when(usuarioRepository.existsById(60l)).thenReturn(false);
+		Mockito.when(usuarioRepository.save(Mockito.any(Usuario.class))).thenReturn(usuario);
+		assertFalse(usuarioService.existe(60l));
+
+		// Execução
+		usuarioService.salvarUsuario(usuario);
+
+		// Verificação
+		assertTrue(usuarioService.existe(60l));
+		Mockito.verify(usuarioRepository, Mockito.times(1)).existsById(60l);
+	}
+
+	@Test
+	public void naoDeveObterReferenciaDeUsuarioInexistente() {
+		// Cenário
+		Mockito.when(usuarioRepository.existsById(30l)).thenReturn(false);
+
+		// Execução e verificação
+		Assertions.assertThrows(RegraNegocioException.class, () -> usuarioService.obterReferencia(30l));
+		Mockito.verify(usuarioRepository, Mockito.never()).getReferenceById(30l);
+	}
+
+	@Test
+	public void deveAceitarSomenteOUsuarioDoTokenSemConsultarOBanco() {
+		// Cenário
+		UsuarioAutenticado.definir(40l);
+
+		try {
+			// Execução e verificação
+			assertTrue(usuarioService.existe(40l));
+			Assertions.assertThrows(AcessoNegadoException.class, () -> usuarioService.existe(41l));
+			Assertions.assertThrows(AcessoNegadoException.class, () -> usuarioService.obterResumo(41l));
+			Mockito.verifyNoInteractions(usuarioRepository);
+		} finally {
+			UsuarioAutenticado.limpar();
+		}
+	}
+
 }
@@ -0,0 +1,80 @@
+package com.ricardo.minhasfinancas.service.seguranca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.ricardo.minhasfinancas.exception.FilaCheiaException;
+
+public class CodificadorSenhaTest {
+	CodificadorSenha codificador = new CodificadorSenha(4, 1, 1, Duration.ofSeconds(5));
+
+	@AfterEach
+	public void encerrar() {
+		codificador.encerrar();
+	}
+
+	@Test
+	public void deveConferirASenhaCodificada() {
+		// Execução
+		String hash = codificador.codificar("senha");
+
+		// Verificação
+		assertNotEquals("senha", hash);
+		assertTrue(codificador.conferir("senha", hash));
+		assertFalse(codificador.conferir("outra", hash));
+		assertFalse(codificador.precisaRecodificar(hash));
+	}
+
+	@Test
+	public void deveAceitarASenhaLegadaEmTextoPuroPedindoRecodificacao() {
+		assertTrue(codificador.conferir("senha", "senha"));
+		assertFalse(codificador.conferir("senha", "Senha"));
+		assertTrue(codificador.precisaRecodificar("senha"));
+	}
+
+	@Test
+	public void devePedirRecodificacaoDeHashComCustoMenor() {
+		// Cenário
+		CodificadorSenha maisForte = new CodificadorSenha(5, 1, 1, Duration.ofSeconds(5));
+		String hashAntigo = codificador.codificar("senha");
+
+		// Execução e Verificação
+		assertTrue(maisForte.conferir("senha", hashAntigo));
+		assertTrue(maisForte.precisaRecodificar(hashAntigo));
+		maisForte.encerrar();
+	}
+
+	@Test
+	public void deveRecusarNaHoraQuandoAFilaEstiverCheia() throws InterruptedException {
+		// Cenário: a única thread ocupada e a fila de uma posição preenchida
+		CountDownLatch liberar = new CountDownLatch(1);
+		codificador.getExecutor().execute(() -> aguardar(liberar));
+		codificador.getExecutor().execute(() -> aguardar(liberar));
+
+		// Execução
+		Throwable erro = Assertions.catchThrowable(() -> codificador.codificar("senha"));
+
+		// Verificação
+		Assertions.assertThat(erro).isInstanceOf(FilaCheiaException.class);
+		assertEquals(1, codificador.obterEstatisticas().getRejeitadas());
+		assertEquals(1, codificador.obterEstatisticas().getFila());
+		liberar.countDown();
+	}
+
+	private static void aguardar(CountDownLatch liberar) {
+		try {
+			liberar.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
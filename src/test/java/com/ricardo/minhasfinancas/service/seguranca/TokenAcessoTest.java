@@ -0,0 +1,50 @@
+package com.ricardo.minhasfinancas.service.seguranca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenAcessoTest {
+	TokenAcesso tokenAcesso = new TokenAcesso("segredo-de-teste", Duration.ofMinutes(5));
+
+	@Test
+	public void deveValidarOTokenEmitido() {
+		// Execução
+		String token = tokenAcesso.emitir(7l);
+
+		// Verificação
+		assertEquals(Optional.of(7l), tokenAcesso.validar(token));
+	}
+
+	@Test
+	public void deveRecusarTokenExpirado() {
+		// Cenário
+		String token = tokenAcesso.emitir(7l, Instant.now().minusSeconds(1));
+
+		// Execução e Verificação
+		assertFalse(tokenAcesso.validar(token).isPresent());
+	}
+
+	@Test
+	public void deveRecusarTokenAssinadoComOutroSegredo() {
+		// Cenário
+		String token = new TokenAcesso("outro-segredo", Duration.ofMinutes(5)).emitir(7l);
+
+		// Execução e Verificação
+		assertFalse(tokenAcesso.validar(token).isPresent());
+	}
+
+	@Test
+	public void deveRecusarTokenMalformado() {
+		assertFalse(tokenAcesso.validar("").isPresent());
+		assertFalse(tokenAcesso.validar("7").isPresent());
+		assertFalse(tokenAcesso.validar("7.").isPresent());
+		assertFalse(tokenAcesso.validar("7.123.%%%").isPresent());
+		assertFalse(tokenAcesso.validar(".123.abc").isPresent());
+	}
+}